@@ -1,2 +1,5 @@
 CREATE SCHEMA IF NOT EXISTS library_db;
-\echo 'Schema library_db created or already exists';
\ No newline at end of file
+\echo 'Schema library_db created or already exists';
+CREATE EXTENSION IF NOT EXISTS unaccent WITH SCHEMA public;
+CREATE EXTENSION IF NOT EXISTS pg_trgm WITH SCHEMA public;
+\echo 'Extensions unaccent and pg_trgm created or already exist';
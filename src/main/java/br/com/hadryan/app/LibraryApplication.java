@@ -5,7 +5,14 @@ import br.com.hadryan.app.controller.LivroController;
 import br.com.hadryan.app.model.repository.LivroRepository;
 import br.com.hadryan.app.service.LivroService;
 import br.com.hadryan.app.service.OpenLibraryService;
+import br.com.hadryan.app.service.dicionario.DicionarioAutores;
+import br.com.hadryan.app.service.dicionario.IndiceWorks;
+import br.com.hadryan.app.service.execucao.AgendadorIO;
+import br.com.hadryan.app.service.execucao.AgendadorIO.Via;
+import br.com.hadryan.app.service.http.CacheHttp;
+import br.com.hadryan.app.service.http.TransporteHttp;
 import br.com.hadryan.app.service.importacao.ImportService;
+import br.com.hadryan.app.service.relacionados.CacheRelacionados;
 import br.com.hadryan.app.view.MainFrame;
 
 import javax.swing.*;
@@ -30,12 +37,14 @@ public class LibraryApplication {
         SwingUtilities.invokeLater(() -> {
             try {
                 UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+                TransporteHttp.getInstance().aquecer();
                 inicializarBancoDados();
                 LivroRepository livroRepository = new LivroRepository();
                 OpenLibraryService openLibraryService = new OpenLibraryService();
 
                 LivroService livroService = new LivroService(livroRepository, openLibraryService);
-                ImportService importService = new ImportService(livroRepository);
+                iniciarIndicePesquisa(livroService);
+                ImportService importService = new ImportService(livroRepository, openLibraryService);
 
                 LivroController livroController = new LivroController(livroService);
 
@@ -67,11 +76,24 @@ public class LibraryApplication {
         LOGGER.info("Conexão com o banco de dados estabelecida com sucesso.");
     }
 
+    /**
+     * Carrega o índice de pesquisa em segundo plano para não atrasar a abertura da janela
+     */
+    private static void iniciarIndicePesquisa(LivroService livroService) {
+        AgendadorIO.getInstance().getExecutor(Via.SEGUNDO_PLANO).execute(livroService::inicializarIndicePesquisa);
+    }
+
     /**
      * Libera recursos utilizados pela aplicação
      */
     public static void liberarRecursos() {
         try {
+            CacheHttp.getInstance().registrarEstatisticas();
+            CacheHttp.getInstance().fechar();
+            TransporteHttp.getInstance().fechar();
+            DicionarioAutores.getInstance().fechar();
+            IndiceWorks.getInstance().fechar();
+            CacheRelacionados.getInstance().fechar();
             JpaConfig.getInstance().close();
             LOGGER.info("Recursos liberados com sucesso.");
         } catch (Exception e) {
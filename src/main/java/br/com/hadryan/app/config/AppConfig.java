@@ -0,0 +1,44 @@
+package br.com.hadryan.app.config;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+/**
+ * Configurações da aplicação carregadas do arquivo application.conf.
+ * Qualquer valor pode ser sobrescrito por propriedade de sistema (-Dlibrary.chave=valor).
+ * Implementa o padrão Singleton.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public final class AppConfig {
+
+    private static final String RAIZ = "library";
+
+    private static AppConfig instance;
+    private final Config config;
+
+    /**
+     * Construtor privado - padrão Singleton
+     */
+    private AppConfig() {
+        this.config = ConfigFactory.load().getConfig(RAIZ);
+    }
+
+    /**
+     * Retorna a instância única das configurações
+     */
+    public static synchronized AppConfig getInstance() {
+        if (instance == null) {
+            instance = new AppConfig();
+        }
+        return instance;
+    }
+
+    /**
+     * Retorna a seção de configuração informada (ex.: "datasource")
+     */
+    public Config getConfig(String secao) {
+        return config.getConfig(secao);
+    }
+}
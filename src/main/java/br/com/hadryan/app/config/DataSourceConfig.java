@@ -0,0 +1,52 @@
+package br.com.hadryan.app.config;
+
+import com.typesafe.config.Config;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fábrica do DataSource com pool de conexões (HikariCP) usado pelo JPA.
+ * Os parâmetros são lidos da seção "library.datasource" do application.conf.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public final class DataSourceConfig {
+
+    private static final String POOL_NAME = "library-pool";
+
+    private DataSourceConfig() {
+    }
+
+    /**
+     * Cria o DataSource configurado, registrando as métricas no coletor informado
+     */
+    public static HikariDataSource criarDataSource(Config config, MetricasPool metricas) {
+        Config pool = config.getConfig("pool");
+        Config statements = config.getConfig("prepared-statements");
+
+        HikariConfig hikari = new HikariConfig();
+        hikari.setPoolName(POOL_NAME);
+        hikari.setDriverClassName("org.postgresql.Driver");
+        hikari.setJdbcUrl(config.getString("url"));
+        hikari.setUsername(config.getString("user"));
+        hikari.setPassword(config.getString("password"));
+
+        hikari.setMaximumPoolSize(pool.getInt("maximum-size"));
+        hikari.setMinimumIdle(pool.getInt("minimum-idle"));
+        hikari.setConnectionTimeout(pool.getDuration("connection-timeout", TimeUnit.MILLISECONDS));
+        hikari.setIdleTimeout(pool.getDuration("idle-timeout", TimeUnit.MILLISECONDS));
+        hikari.setMaxLifetime(pool.getDuration("max-lifetime", TimeUnit.MILLISECONDS));
+        hikari.setLeakDetectionThreshold(pool.getDuration("leak-detection-threshold", TimeUnit.MILLISECONDS));
+
+        // Cache de prepared statements do lado do servidor (driver PostgreSQL)
+        hikari.addDataSourceProperty("prepareThreshold", statements.getInt("prepare-threshold"));
+        hikari.addDataSourceProperty("preparedStatementCacheQueries", statements.getInt("cache-queries"));
+        hikari.addDataSourceProperty("preparedStatementCacheSizeMiB", statements.getInt("cache-size-mib"));
+
+        hikari.setMetricsTrackerFactory(metricas);
+        return new HikariDataSource(hikari);
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.hadryan.app.config;
+
+/**
+ * Retrato do estado do pool de conexões em um determinado momento.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public class EstatisticasPool {
+
+    private final int ativas;
+    private final int ociosas;
+    private final int pendentes;
+    private final int total;
+    private final long timeouts;
+    private final double esperaP50Ms;
+    private final double esperaP95Ms;
+    private final double esperaP99Ms;
+
+    /**
+     * Construtor com todos os valores coletados
+     */
+    public EstatisticasPool(int ativas, int ociosas, int pendentes, int total, long timeouts,
+                            double esperaP50Ms, double esperaP95Ms, double esperaP99Ms) {
+        this.ativas = ativas;
+        this.ociosas = ociosas;
+        this.pendentes = pendentes;
+        this.total = total;
+        this.timeouts = timeouts;
+        this.esperaP50Ms = esperaP50Ms;
+        this.esperaP95Ms = esperaP95Ms;
+        this.esperaP99Ms = esperaP99Ms;
+    }
+
+    // Getters
+
+    public int getAtivas() {
+        return ativas;
+    }
+
+    public int getOciosas() {
+        return ociosas;
+    }
+
+    public int getPendentes() {
+        return pendentes;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    public double getEsperaP50Ms() {
+        return esperaP50Ms;
+    }
+
+    public double getEsperaP95Ms() {
+        return esperaP95Ms;
+    }
+
+    public double getEsperaP99Ms() {
+        return esperaP99Ms;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Pool de conexões: %d ativas, %d ociosas, %d pendentes (total %d), %d timeouts; "
+                        + "espera p50=%.2fms p95=%.2fms p99=%.2fms",
+                ativas, ociosas, pendentes, total, timeouts, esperaP50Ms, esperaP95Ms, esperaP99Ms);
+    }
+}
@@ -1,14 +1,29 @@
 package br.com.hadryan.app.config;
 
+import br.com.hadryan.app.model.entity.Livro;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.NaturalIdStatistics;
+import org.hibernate.stat.Statistics;
+
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
 import javax.persistence.Persistence;
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Classe responsável por gerenciar a configuração JPA e fornecer acesso centralizado
- * aos EntityManagers. Implementa o padrão Singleton.
+ * aos EntityManagers. Cada operação é executada em uma unidade de trabalho própria
+ * (inTransaction/readOnly), cujo EntityManager é fechado ao final.
+ * Implementa o padrão Singleton.
  *
  * @author Hadryan Silva
  * @since 21-03-2025
@@ -20,19 +35,30 @@ public class JpaConfig {
 
     private static JpaConfig instance;
     private final EntityManagerFactory entityManagerFactory;
+    private final MetricasPool metricasPool = new MetricasPool();
+    private HikariDataSource dataSource;
 
-    // ThreadLocal para garantir que cada thread tenha seu próprio EntityManager
-    private final ThreadLocal<EntityManager> threadLocalEntityManager = new ThreadLocal<>();
+    // Unidade de trabalho em andamento na thread atual, permitindo que operações aninhadas
+    // compartilhem o mesmo EntityManager
+    private final ThreadLocal<UnidadeTrabalho> unidadeAtual = new ThreadLocal<>();
 
     /**
      * Construtor privado - padrão Singleton
      */
     private JpaConfig() {
         try {
-            entityManagerFactory = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT);
+            dataSource = DataSourceConfig.criarDataSource(
+                    AppConfig.getInstance().getConfig("datasource"), metricasPool);
+
+            Map<String, Object> propriedades = new HashMap<>();
+            propriedades.put("hibernate.connection.datasource", dataSource);
+            entityManagerFactory = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT, propriedades);
             LOGGER.info("EntityManagerFactory inicializado com sucesso");
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Erro ao inicializar EntityManagerFactory", e);
+            if (dataSource != null) {
+                dataSource.close();
+            }
             throw new RuntimeException("Erro ao inicializar banco de dados", e);
         }
     }
@@ -48,76 +74,135 @@ public class JpaConfig {
     }
 
     /**
-     * Obtém o EntityManager associado à thread atual ou cria um novo se necessário
+     * Retorna o DataSource do pool de conexões, para acesso JDBC direto
      */
-    public EntityManager getEntityManager() {
-        EntityManager em = threadLocalEntityManager.get();
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * Executa a operação em uma transação de escrita.
+     * Um EntityManager é aberto para a operação e fechado ao final, com commit em caso
+     * de sucesso e rollback em caso de erro. Se a thread já estiver dentro de uma unidade
+     * de trabalho, a operação participa dela.
+     */
+    public <T> T inTransaction(Function<EntityManager, T> operacao) {
+        return executar(operacao, false);
+    }
+
+    /**
+     * Executa uma operação de leitura em um EntityManager aberto apenas para ela.
+     * As entidades são carregadas em modo somente leitura (sem snapshot para dirty checking)
+     * e o flush é manual, de modo que nenhuma alteração feita nas entidades é gravada no banco.
+     */
+    public <T> T readOnly(Function<EntityManager, T> operacao) {
+        return executar(operacao, true);
+    }
 
-        if (em == null || !em.isOpen()) {
-            em = entityManagerFactory.createEntityManager();
-            threadLocalEntityManager.set(em);
+    /**
+     * Obtém o EntityManager da unidade de trabalho em andamento na thread atual
+     *
+     * @throws IllegalStateException se não houver unidade de trabalho ativa
+     */
+    public EntityManager getEntityManager() {
+        UnidadeTrabalho unidade = unidadeAtual.get();
+        if (unidade == null) {
+            throw new IllegalStateException("Nenhuma unidade de trabalho ativa. Utilize inTransaction ou readOnly.");
         }
+        return unidade.entityManager;
+    }
 
-        return em;
+    /**
+     * Indica se a unidade de trabalho em andamento na thread atual é somente leitura
+     */
+    public boolean isSomenteLeitura() {
+        UnidadeTrabalho unidade = unidadeAtual.get();
+        return unidade != null && unidade.somenteLeitura;
     }
 
     /**
-     * Fecha o EntityManager da thread atual
+     * Abre, executa e encerra uma unidade de trabalho, ou participa da que já estiver em andamento
      */
-    public void closeEntityManager() {
-        EntityManager em = threadLocalEntityManager.get();
-        if (em != null && em.isOpen()) {
-            try {
-                if (em.getTransaction().isActive()) {
-                    em.getTransaction().rollback();
-                    LOGGER.warning("Transação ativa encontrada ao fechar EntityManager. Realizando rollback.");
+    private <T> T executar(Function<EntityManager, T> operacao, boolean somenteLeitura) {
+        UnidadeTrabalho atual = unidadeAtual.get();
+        if (atual != null) {
+            if (atual.somenteLeitura && !somenteLeitura) {
+                throw new IllegalStateException("Operação de escrita dentro de uma unidade de trabalho somente leitura");
+            }
+            return operacao.apply(atual.entityManager);
+        }
+
+        EntityManager em = entityManagerFactory.createEntityManager();
+        if (somenteLeitura) {
+            Session session = em.unwrap(Session.class);
+            session.setDefaultReadOnly(true);
+            session.setHibernateFlushMode(FlushMode.MANUAL);
+        }
+        unidadeAtual.set(new UnidadeTrabalho(em, somenteLeitura));
+        EntityTransaction transacao = em.getTransaction();
+        try {
+            transacao.begin();
+            T resultado = operacao.apply(em);
+            if (somenteLeitura) {
+                transacao.rollback();
+            } else {
+                transacao.commit();
+            }
+            return resultado;
+        } catch (RuntimeException e) {
+            if (transacao.isActive()) {
+                try {
+                    transacao.rollback();
+                } catch (Exception erroRollback) {
+                    LOGGER.log(Level.WARNING, "Erro ao realizar rollback da transação", erroRollback);
                 }
-                em.close();
-            } catch (Exception e) {
-                LOGGER.log(Level.WARNING, "Erro ao fechar EntityManager", e);
-            } finally {
-                threadLocalEntityManager.remove();
             }
+            throw e;
+        } finally {
+            unidadeAtual.remove();
+            em.clear();
+            em.close();
         }
     }
 
     /**
-     * Inicia uma transação no EntityManager da thread atual
+     * Retorna as estatísticas do Hibernate, incluindo acertos e falhas
+     * do cache de segundo nível e do cache de natural id
      */
-    public void beginTransaction() {
-        EntityManager em = getEntityManager();
-        if (!em.getTransaction().isActive()) {
-            em.getTransaction().begin();
-        }
+    public Statistics getEstatisticas() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
     }
 
     /**
-     * Commit da transação atual
+     * Registra no log o resumo de uso do cache de segundo nível
      */
-    public void commitTransaction() {
-        EntityManager em = threadLocalEntityManager.get();
-        if (em != null && em.getTransaction().isActive()) {
-            em.getTransaction().commit();
-        }
+    public void registrarEstatisticasCache() {
+        Statistics estatisticas = getEstatisticas();
+        NaturalIdStatistics isbn = estatisticas.getNaturalIdStatistics(Livro.class.getName());
+
+        LOGGER.info("Cache de segundo nível: " + estatisticas.getSecondLevelCacheHitCount() + " acertos, "
+                + estatisticas.getSecondLevelCacheMissCount() + " falhas, "
+                + estatisticas.getSecondLevelCachePutCount() + " inserções");
+        LOGGER.info("Cache de ISBN (natural id): " + estatisticas.getNaturalIdCacheHitCount() + " acertos, "
+                + estatisticas.getNaturalIdCacheMissCount() + " falhas, "
+                + isbn.getExecutionCount() + " consultas ao banco");
     }
 
     /**
-     * Rollback da transação atual
+     * Retorna o estado atual do pool de conexões: conexões ativas, ociosas,
+     * threads aguardando e percentis do tempo de espera por conexão
      */
-    public void rollbackTransaction() {
-        EntityManager em = threadLocalEntityManager.get();
-        if (em != null && em.getTransaction().isActive()) {
-            em.getTransaction().rollback();
-        }
+    public EstatisticasPool getEstatisticasPool() {
+        return metricasPool.getEstatisticas();
     }
 
     /**
      * Fecha todos os recursos
      */
     public void close() {
-        closeEntityManager();
-
         if (entityManagerFactory != null && entityManagerFactory.isOpen()) {
+            registrarEstatisticasCache();
+            LOGGER.info(getEstatisticasPool().toString());
             try {
                 entityManagerFactory.close();
                 LOGGER.info("EntityManagerFactory fechado com sucesso");
@@ -125,6 +210,11 @@ public class JpaConfig {
                 LOGGER.log(Level.SEVERE, "Erro ao fechar EntityManagerFactory", e);
             }
         }
+
+        if (dataSource != null && !dataSource.isClosed()) {
+            dataSource.close();
+            LOGGER.info("Pool de conexões fechado com sucesso");
+        }
     }
 
     /**
@@ -132,12 +222,25 @@ public class JpaConfig {
      */
     public boolean testarConexao() {
         try {
-            EntityManager em = getEntityManager();
-            em.createNativeQuery("SELECT 1").getSingleResult();
+            readOnly(em -> em.createNativeQuery("SELECT 1").getSingleResult());
             return true;
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Erro ao testar conexão com banco de dados", e);
             return false;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * EntityManager de uma unidade de trabalho e o modo em que ela foi aberta
+     */
+    private static final class UnidadeTrabalho {
+
+        private final EntityManager entityManager;
+        private final boolean somenteLeitura;
+
+        private UnidadeTrabalho(EntityManager entityManager, boolean somenteLeitura) {
+            this.entityManager = entityManager;
+            this.somenteLeitura = somenteLeitura;
+        }
+    }
+}
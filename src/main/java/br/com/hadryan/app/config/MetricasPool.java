@@ -0,0 +1,62 @@
+package br.com.hadryan.app.config;
+
+import br.com.hadryan.app.util.JanelaLatencias;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coletor de métricas do pool de conexões HikariCP.
+ * Registra o tempo de espera para obter uma conexão e os timeouts,
+ * e lê do próprio pool o número de conexões ativas, ociosas e pendentes.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public class MetricasPool implements MetricsTrackerFactory {
+
+    private static final int AMOSTRAS_ESPERA = 2048;
+    private static final double NANOS_POR_MS = 1_000_000.0;
+
+    private final JanelaLatencias esperas = new JanelaLatencias(AMOSTRAS_ESPERA);
+    private final AtomicLong timeouts = new AtomicLong();
+    private volatile PoolStats poolStats;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                esperas.registrar(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.incrementAndGet();
+            }
+        };
+    }
+
+    /**
+     * Retorna o estado atual do pool e os percentis de espera por conexão
+     */
+    public EstatisticasPool getEstatisticas() {
+        PoolStats stats = poolStats;
+        return new EstatisticasPool(
+                stats != null ? stats.getActiveConnections() : 0,
+                stats != null ? stats.getIdleConnections() : 0,
+                stats != null ? stats.getPendingThreads() : 0,
+                stats != null ? stats.getTotalConnections() : 0,
+                timeouts.get(),
+                emMilissegundos(esperas.percentil(50)),
+                emMilissegundos(esperas.percentil(95)),
+                emMilissegundos(esperas.percentil(99)));
+    }
+
+    private double emMilissegundos(long nanos) {
+        return nanos < 0 ? 0 : nanos / NANOS_POR_MS;
+    }
+}
@@ -5,6 +5,7 @@ import br.com.hadryan.app.service.LivroService;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -74,10 +75,10 @@ public class LivroController {
     }
 
     /**
-     * Pesquisa livros com base em critérios
+     * Pesquisa livros com base em critérios, retornando no máximo maxResultados livros
      */
-    public List<Livro> pesquisar(Livro filtro) {
-        return livroService.pesquisar(filtro);
+    public List<Livro> pesquisar(Livro filtro, int maxResultados) {
+        return livroService.pesquisar(filtro, maxResultados);
     }
 
     /**
@@ -115,8 +116,16 @@ public class LivroController {
      * Busca livros relacionados por subjects via API
      */
     public List<Livro> buscarLivrosRelacionadosPorSubjects(String isbn, int maxResultados) {
+        return buscarLivrosRelacionadosPorSubjects(isbn, maxResultados, livro -> { });
+    }
+
+    /**
+     * Busca livros relacionados por subjects via API, entregando cada livro
+     * ao consumidor assim que ele é encontrado
+     */
+    public List<Livro> buscarLivrosRelacionadosPorSubjects(String isbn, int maxResultados, Consumer<Livro> aoEncontrar) {
         try {
-            return livroService.buscarLivrosRelacionadosPorSubjects(isbn, maxResultados);
+            return livroService.buscarLivrosRelacionadosPorSubjects(isbn, maxResultados, aoEncontrar);
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Erro ao buscar livros relacionados por subjects: " + isbn, e);
             throw new RuntimeException("Erro na consulta de livros relacionados: " + e.getMessage(), e);
@@ -0,0 +1,299 @@
+package br.com.hadryan.app.ferramentas;
+
+import br.com.hadryan.app.config.AppConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.typesafe.config.Config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Servidor HTTP local que simula a API do OpenLibrary para testes de carga e de latência.
+ * As respostas são lidas de arquivos gravados (fixtures), um por URL; no modo de gravação,
+ * URLs sem fixture são buscadas na API real e salvas. URLs sem fixture respondem 404.
+ * Cada resposta sofre uma latência sorteada da distribuição configurada e pode ser
+ * substituída por um erro 503 (taxa de erro) ou por 429 durante as rajadas periódicas
+ * de limite de taxa, com Retry-After.
+ *
+ * <p>Uso: inicie o simulador e execute a aplicação com
+ * {@code -Dlibrary.openlibrary.url-base=http://localhost:<porta>}.</p>
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public class SimuladorOpenLibrary {
+
+    private static final Logger LOGGER = Logger.getLogger(SimuladorOpenLibrary.class.getName());
+
+    private static final int MAX_NOME_ARQUIVO = 120;
+
+    private final Config config;
+    private final Path diretorioFixtures;
+    private final boolean gravar;
+    private final String urlOrigem;
+    private final double taxaErro;
+    private final long intervaloRajadaMillis;
+    private final long duracaoRajadaMillis;
+    private final long retryAfterSegundos;
+    private final long inicioMillis = System.currentTimeMillis();
+
+    private final Map<Integer, AtomicLong> respostasPorStatus = new ConcurrentHashMap<>();
+    private HttpServer servidor;
+    private ExecutorService executor;
+
+    /**
+     * Cria o simulador com a configuração informada (seção library.simulador)
+     */
+    public SimuladorOpenLibrary(Config config) {
+        this.config = config;
+        this.diretorioFixtures = Paths.get(config.getString("diretorio-fixtures"));
+        this.gravar = config.getBoolean("gravar");
+        this.urlOrigem = config.getString("url-origem");
+        this.taxaErro = config.getDouble("taxa-erro");
+        this.intervaloRajadaMillis = config.getDuration("rajada-429.intervalo", TimeUnit.MILLISECONDS);
+        this.duracaoRajadaMillis = config.getDuration("rajada-429.duracao", TimeUnit.MILLISECONDS);
+        this.retryAfterSegundos = config.getDuration("rajada-429.retry-after", TimeUnit.SECONDS);
+    }
+
+    /**
+     * Inicia o simulador com a configuração do application.conf
+     */
+    public static void main(String[] args) throws IOException {
+        SimuladorOpenLibrary simulador = new SimuladorOpenLibrary(AppConfig.getInstance().getConfig("simulador"));
+        simulador.iniciar();
+        Runtime.getRuntime().addShutdownHook(new Thread(simulador::parar));
+    }
+
+    /**
+     * Abre a porta configurada e passa a atender as requisições
+     */
+    public void iniciar() throws IOException {
+        Files.createDirectories(diretorioFixtures);
+        executor = Executors.newCachedThreadPool();
+        servidor = HttpServer.create(new InetSocketAddress(config.getInt("porta")), 0);
+        servidor.setExecutor(executor);
+        servidor.createContext("/", this::atender);
+        servidor.start();
+        LOGGER.info("Simulador do OpenLibrary em http://localhost:" + servidor.getAddress().getPort()
+                + " (fixtures em " + diretorioFixtures.toAbsolutePath() + (gravar ? ", gravando" : "") + ")");
+    }
+
+    /**
+     * Encerra o servidor e registra o total de respostas por status
+     */
+    public void parar() {
+        if (servidor != null) {
+            servidor.stop(0);
+            executor.shutdownNow();
+            servidor = null;
+            LOGGER.info("Simulador encerrado. Respostas por status: " + respostasPorStatus);
+        }
+    }
+
+    /**
+     * Retorna a porta em uso
+     */
+    public int getPorta() {
+        return servidor.getAddress().getPort();
+    }
+
+    private void atender(HttpExchange troca) throws IOException {
+        try {
+            aguardarLatencia();
+
+            if (isEmRajada()) {
+                troca.getResponseHeaders().set("Retry-After", String.valueOf(retryAfterSegundos));
+                responder(troca, 429, null);
+                return;
+            }
+
+            if (taxaErro > 0 && ThreadLocalRandom.current().nextDouble() < taxaErro) {
+                responder(troca, 503, null);
+                return;
+            }
+
+            String recurso = troca.getRequestURI().getRawPath();
+            if (troca.getRequestURI().getRawQuery() != null) {
+                recurso += "?" + troca.getRequestURI().getRawQuery();
+            }
+
+            byte[] corpo = carregarFixture(recurso);
+            if (corpo == null) {
+                responder(troca, 404, null);
+                return;
+            }
+
+            String etag = "\"" + hash(corpo).substring(0, 16) + "\"";
+            troca.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(troca.getRequestHeaders().getFirst("If-None-Match"))) {
+                responder(troca, 304, null);
+                return;
+            }
+
+            troca.getResponseHeaders().set("Content-Type", "application/json");
+            responder(troca, 200, "HEAD".equals(troca.getRequestMethod()) ? null : corpo);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            responder(troca, 503, null);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Erro ao atender " + troca.getRequestURI(), e);
+            responder(troca, 500, null);
+        } finally {
+            troca.close();
+        }
+    }
+
+    private void responder(HttpExchange troca, int status, byte[] corpo) throws IOException {
+        respostasPorStatus.computeIfAbsent(status, s -> new AtomicLong()).incrementAndGet();
+        if (corpo == null) {
+            troca.sendResponseHeaders(status, -1);
+            return;
+        }
+        troca.sendResponseHeaders(status, corpo.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(corpo);
+        }
+    }
+
+    /**
+     * Aguarda a latência sorteada para a resposta
+     */
+    private void aguardarLatencia() throws InterruptedException {
+        long latencia = sortearLatencia(ThreadLocalRandom.current());
+        if (latencia > 0) {
+            Thread.sleep(latencia);
+        }
+    }
+
+    /**
+     * Sorteia a latência, em milissegundos, conforme a distribuição configurada:
+     * fixa (sempre a mediana), uniforme (entre mínimo e máximo) ou lognormal
+     * (mediana e sigma, limitada ao mínimo e ao máximo)
+     */
+    long sortearLatencia(Random aleatorio) {
+        long minimo = config.getDuration("latencia.minimo", TimeUnit.MILLISECONDS);
+        long maximo = config.getDuration("latencia.maximo", TimeUnit.MILLISECONDS);
+        long mediana = config.getDuration("latencia.mediana", TimeUnit.MILLISECONDS);
+        String distribuicao = config.getString("latencia.distribuicao").toLowerCase(Locale.ROOT);
+
+        long latencia;
+        switch (distribuicao) {
+            case "fixa":
+                return mediana;
+            case "uniforme":
+                latencia = minimo + (long) (aleatorio.nextDouble() * (maximo - minimo));
+                break;
+            case "lognormal":
+                latencia = Math.round(mediana * Math.exp(config.getDouble("latencia.sigma") * aleatorio.nextGaussian()));
+                break;
+            default:
+                throw new IllegalArgumentException("Distribuição de latência desconhecida: " + distribuicao);
+        }
+        return Math.max(minimo, Math.min(maximo, latencia));
+    }
+
+    /**
+     * Indica se o simulador está dentro de uma rajada de respostas 429
+     */
+    private boolean isEmRajada() {
+        if (intervaloRajadaMillis <= 0 || duracaoRajadaMillis <= 0) {
+            return false;
+        }
+        return (System.currentTimeMillis() - inicioMillis) % intervaloRajadaMillis >= intervaloRajadaMillis - duracaoRajadaMillis;
+    }
+
+    /**
+     * Lê a fixture do recurso; no modo de gravação, busca na origem e grava quando não existir
+     */
+    private byte[] carregarFixture(String recurso) throws IOException {
+        Path arquivo = diretorioFixtures.resolve(nomeFixture(recurso));
+        if (Files.exists(arquivo)) {
+            return Files.readAllBytes(arquivo);
+        }
+        if (!gravar) {
+            return null;
+        }
+
+        byte[] corpo = buscarNaOrigem(recurso);
+        if (corpo != null) {
+            Files.write(arquivo, corpo);
+            LOGGER.info("Fixture gravada: " + recurso + " -> " + arquivo.getFileName());
+        }
+        return corpo;
+    }
+
+    /**
+     * Busca o recurso na API real, retornando null quando a resposta não é 200
+     */
+    private byte[] buscarNaOrigem(String recurso) throws IOException {
+        HttpURLConnection conexao = (HttpURLConnection) new URL(urlOrigem + recurso).openConnection();
+        conexao.setConnectTimeout(10000);
+        conexao.setReadTimeout(30000);
+        try {
+            if (conexao.getResponseCode() != 200) {
+                return null;
+            }
+            try (InputStream entrada = conexao.getInputStream()) {
+                ByteArrayOutputStream saida = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                int lidos;
+                while ((lidos = entrada.read(buffer)) != -1) {
+                    saida.write(buffer, 0, lidos);
+                }
+                return saida.toByteArray();
+            }
+        } finally {
+            conexao.disconnect();
+        }
+    }
+
+    /**
+     * Nome do arquivo da fixture: o caminho legível, seguido de um hash quando há parâmetros
+     * ou quando o nome ficaria longo demais (ex.: isbn_9780140328721.json)
+     */
+    static String nomeFixture(String recurso) {
+        int inicioParametros = recurso.indexOf('?');
+        String caminho = inicioParametros >= 0 ? recurso.substring(0, inicioParametros) : recurso;
+        String nome = caminho.replaceAll("^/+", "").replaceAll("[^A-Za-z0-9._-]", "_");
+        if (inicioParametros >= 0 || nome.length() > MAX_NOME_ARQUIVO) {
+            nome = nome.substring(0, Math.min(nome.length(), MAX_NOME_ARQUIVO)) + "__"
+                    + hash(recurso.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+        }
+        return nome.endsWith(".json") ? nome : nome + ".json";
+    }
+
+    private static String hash(byte[] dados) {
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(dados)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível", e);
+        }
+    }
+}
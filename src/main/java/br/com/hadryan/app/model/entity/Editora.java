@@ -1,5 +1,8 @@
 package br.com.hadryan.app.model.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import java.io.Serializable;
@@ -15,6 +18,8 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "editora")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "editora")
 public class Editora implements Serializable {
 
     private static final long serialVersionUID = 1L;
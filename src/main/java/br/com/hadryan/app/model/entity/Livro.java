@@ -1,5 +1,10 @@
 package br.com.hadryan.app.model.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import java.io.Serializable;
@@ -9,12 +14,18 @@ import java.util.Set;
 
 /**
  * Entidade que representa um livro no sistema.
+ * O ISBN é mapeado como natural id, permitindo que a busca por ISBN
+ * seja resolvida pelo cache de segundo nível sem consulta ao banco.
+ * O work do OpenLibrary (work_key) agrupa as edições da mesma obra.
  *
  * @author Hadryan Silva
  * @since 21-03-2025
  */
 @Entity
-@Table(name = "livro")
+@Table(name = "livro", indexes = @Index(name = "idx_livro_work_key", columnList = "work_key"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "livro")
+@NaturalIdCache(region = "livro-isbn")
 public class Livro implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -28,17 +39,22 @@ public class Livro implements Serializable {
     private String titulo;
 
     @NotBlank(message = "O ISBN do livro é obrigatório")
+    @NaturalId(mutable = true)
     @Column(name = "isbn", unique = true, length = 20)
     private String isbn;
 
     @Column(name = "data_publicacao", length = 50)
     private String dataPublicacao;
 
+    @Column(name = "work_key", length = 32)
+    private String workKey;
+
     @ManyToOne(fetch = FetchType.EAGER, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JoinColumn(name = "editora_id")
     private Editora editora;
 
     @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "livro-autores")
     @JoinTable(
             name = "livro_autor",
             joinColumns = @JoinColumn(name = "livro_id"),
@@ -47,6 +63,7 @@ public class Livro implements Serializable {
     private Set<Autor> autores = new HashSet<>();
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "livro-similares")
     @JoinTable(
             name = "livros_similares",
             joinColumns = @JoinColumn(name = "livro_id"),
@@ -102,6 +119,14 @@ public class Livro implements Serializable {
         this.dataPublicacao = dataPublicacao;
     }
 
+    public String getWorkKey() {
+        return workKey;
+    }
+
+    public void setWorkKey(String workKey) {
+        this.workKey = workKey;
+    }
+
     public Editora getEditora() {
         return editora;
     }
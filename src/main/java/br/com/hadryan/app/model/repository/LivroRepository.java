@@ -1,14 +1,14 @@
 package br.com.hadryan.app.model.repository;
 
+import br.com.hadryan.app.config.JpaConfig;
 import br.com.hadryan.app.model.entity.Autor;
 import br.com.hadryan.app.model.entity.Livro;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
 
-import javax.persistence.NoResultException;
-import javax.persistence.TypedQuery;
+import javax.persistence.Query;
 import javax.persistence.criteria.*;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -22,22 +22,30 @@ public class LivroRepository implements Repository<Livro, Long> {
 
     private static final Logger LOGGER = Logger.getLogger(LivroRepository.class.getName());
 
+    private static final String TS_CONFIG = "'portuguese'";
+
+    private volatile Boolean buscaTextualDisponivel;
+
     @Override
     public Class<Livro> getEntityClass() {
         return Livro.class;
     }
 
     /**
-     * Busca um livro pelo ISBN
+     * Busca um livro pelo ISBN.
+     * O ISBN é o natural id de Livro, então a resolução passa primeiro pelo
+     * cache de natural id e pelo cache de entidades antes de ir ao banco.
+     * Os autores são carregados junto, pois o livro é usado fora da unidade de trabalho.
      */
     public Optional<Livro> findByIsbn(String isbn) {
         try {
-            TypedQuery<Livro> query = getEntityManager().createQuery(
-                    "SELECT l FROM Livro l WHERE l.isbn = :isbn", Livro.class);
-            query.setParameter("isbn", isbn);
-            return Optional.of(query.getSingleResult());
-        } catch (NoResultException e) {
-            return Optional.empty();
+            return JpaConfig.getInstance().readOnly(em -> {
+                Optional<Livro> livro = em.unwrap(Session.class)
+                        .bySimpleNaturalId(Livro.class)
+                        .loadOptional(isbn);
+                livro.ifPresent(l -> Hibernate.initialize(l.getAutores()));
+                return livro;
+            });
         } catch (Exception e) {
             LOGGER.log(Level.WARNING, "Erro ao buscar livro por ISBN: " + isbn, e);
             return Optional.empty();
@@ -45,13 +53,210 @@ public class LivroRepository implements Repository<Livro, Long> {
     }
 
     /**
-     * Busca livros com base em critérios de pesquisa
+     * Lista todos os livros já com autores e editora carregados
+     */
+    public List<Livro> findAllComAutores() {
+        return JpaConfig.getInstance().readOnly(em -> modoLeitura(em.createQuery(
+                        "SELECT DISTINCT l FROM Livro l LEFT JOIN FETCH l.autores LEFT JOIN FETCH l.editora", Livro.class))
+                .getResultList());
+    }
+
+    /**
+     * Busca um livro pelo ID com autores, editora e livros similares carregados,
+     * para exibição e edição fora da unidade de trabalho
+     */
+    public Optional<Livro> findByIdCompleto(Long id) {
+        return JpaConfig.getInstance().readOnly(em -> modoLeitura(em.createQuery(
+                        "SELECT DISTINCT l FROM Livro l LEFT JOIN FETCH l.autores LEFT JOIN FETCH l.editora " +
+                                "LEFT JOIN FETCH l.livrosSimilares WHERE l.id = :id", Livro.class))
+                .setParameter("id", id)
+                .getResultList()
+                .stream()
+                .findFirst());
+    }
+
+    /**
+     * Lista os livros (edições) do acervo que pertencem ao mesmo work do OpenLibrary
+     */
+    public List<Livro> findByWorkKey(String workKey) {
+        return JpaConfig.getInstance().readOnly(em -> modoLeitura(em.createQuery(
+                        "SELECT DISTINCT l FROM Livro l LEFT JOIN FETCH l.autores LEFT JOIN FETCH l.editora " +
+                                "WHERE l.workKey = :workKey ORDER BY l.titulo", Livro.class))
+                .setParameter("workKey", workKey)
+                .getResultList());
+    }
+
+    /**
+     * Busca livros pelos IDs, preservando a ordem informada
+     */
+    public List<Livro> findByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Livro> livros = JpaConfig.getInstance().readOnly(em -> modoLeitura(em.createQuery(
+                        "SELECT DISTINCT l FROM Livro l LEFT JOIN FETCH l.autores LEFT JOIN FETCH l.editora " +
+                                "WHERE l.id IN :ids", Livro.class))
+                .setParameter("ids", ids)
+                .getResultList());
+
+        Map<Long, Livro> livrosPorId = new HashMap<>();
+        for (Livro livro : livros) {
+            livrosPorId.put(livro.getId(), livro);
+        }
+
+        List<Livro> ordenados = new ArrayList<>(livros.size());
+        for (Long id : ids) {
+            Livro livro = livrosPorId.get(id);
+            if (livro != null) {
+                ordenados.add(livro);
+            }
+        }
+        return ordenados;
+    }
+
+    /**
+     * Busca livros com base em critérios de pesquisa.
+     * Quando o banco possui as extensões de busca textual, utiliza full-text search
+     * e índices de trigramas com resultados ordenados por relevância; caso contrário,
+     * recorre à busca por LIKE via Criteria.
+     * Cada tentativa usa sua própria unidade de trabalho, já que um erro na consulta
+     * textual invalida a transação em que ela foi executada.
+     * Retorna no máximo maxResultados livros.
+     */
+    public List<Livro> search(Livro filtro, int maxResultados) {
+        if (isBuscaTextualDisponivel()) {
+            try {
+                return JpaConfig.getInstance().readOnly(em -> findByIds(searchIdsPorTexto(filtro, maxResultados)));
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Erro na busca textual. Utilizando busca por critérios.", e);
+            }
+        }
+        return JpaConfig.getInstance().readOnly(em -> findByIds(searchIdsPorCriteria(filtro, maxResultados)));
+    }
+
+    /**
+     * Verifica uma única vez se as extensões e a função de apoio à busca textual estão instaladas
+     */
+    private boolean isBuscaTextualDisponivel() {
+        if (buscaTextualDisponivel == null) {
+            try {
+                Object resultado = JpaConfig.getInstance().readOnly(em -> em.createNativeQuery(
+                        "SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm') " +
+                                "AND to_regprocedure('f_unaccent(text)') IS NOT NULL").getSingleResult());
+                buscaTextualDisponivel = Boolean.TRUE.equals(resultado);
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Não foi possível verificar o suporte à busca textual", e);
+                buscaTextualDisponivel = false;
+            }
+            if (!buscaTextualDisponivel) {
+                LOGGER.warning("Extensões pg_trgm/unaccent indisponíveis. A pesquisa utilizará LIKE sem índice.");
+            }
+        }
+        return buscaTextualDisponivel;
+    }
+
+    /**
+     * Monta e executa a consulta textual, retornando os IDs ordenados por relevância
+     */
+    private List<Long> searchIdsPorTexto(Livro filtro, int maxResultados) {
+        StringBuilder sql = new StringBuilder("SELECT l.id FROM livro l LEFT JOIN editora e ON e.id = l.editora_id WHERE 1 = 1");
+        List<String> relevancia = new ArrayList<>();
+        Map<String, String> parametros = new LinkedHashMap<>();
+
+        String titulo = filtro.getTitulo();
+        if (titulo != null && !titulo.isEmpty()) {
+            sql.append(" AND ").append(predicadoTextual("l.titulo", "titulo"));
+            relevancia.add(relevanciaTextual("l.titulo", "titulo"));
+            parametros.put("titulo", titulo);
+        }
+
+        if (filtro.getIsbn() != null && !filtro.getIsbn().isEmpty()) {
+            sql.append(" AND l.isbn LIKE '%' || :isbn || '%'");
+            relevancia.add("similarity(l.isbn, :isbn)");
+            parametros.put("isbn", escaparLike(filtro.getIsbn()));
+        }
+
+        if (filtro.getDataPublicacao() != null && !filtro.getDataPublicacao().isEmpty()) {
+            sql.append(" AND lower(l.data_publicacao) LIKE '%' || lower(:data) || '%'");
+            parametros.put("data", escaparLike(filtro.getDataPublicacao()));
+        }
+
+        if (filtro.getAutores() != null && !filtro.getAutores().isEmpty()) {
+            String nomeAutor = filtro.getAutores().iterator().next().getNome();
+            String subconsultaAutor = "FROM livro_autor la JOIN autor a ON a.id = la.autor_id WHERE la.livro_id = l.id";
+            sql.append(" AND EXISTS (SELECT 1 ").append(subconsultaAutor)
+                    .append(" AND ").append(predicadoTextual("a.nome", "autor")).append(")");
+            relevancia.add("COALESCE((SELECT max(" + relevanciaTextual("a.nome", "autor") + ") "
+                    + subconsultaAutor + "), 0)");
+            parametros.put("autor", nomeAutor);
+        }
+
+        if (filtro.getEditora() != null && filtro.getEditora().getNome() != null) {
+            sql.append(" AND ").append(predicadoTextual("e.nome", "editora"));
+            relevancia.add(relevanciaTextual("e.nome", "editora"));
+            parametros.put("editora", filtro.getEditora().getNome());
+        }
+
+        for (String parametro : Arrays.asList("titulo", "autor", "editora")) {
+            if (parametros.containsKey(parametro)) {
+                parametros.put(parametro + "Like", escaparLike(parametros.get(parametro)));
+            }
+        }
+
+        sql.append(" ORDER BY ");
+        if (!relevancia.isEmpty()) {
+            sql.append(String.join(" + ", relevancia)).append(" DESC, ");
+        }
+        sql.append("l.titulo");
+
+        Query query = getEntityManager().createNativeQuery(sql.toString()).setMaxResults(maxResultados);
+        parametros.forEach(query::setParameter);
+
+        @SuppressWarnings("unchecked")
+        List<Number> ids = query.getResultList();
+        List<Long> resultado = new ArrayList<>(ids.size());
+        for (Number id : ids) {
+            resultado.add(id.longValue());
+        }
+        return resultado;
+    }
+
+    /**
+     * Predicado que combina o full-text search (com stemming e sem acentos)
+     * e a busca por substring atendida pelo índice de trigramas
+     */
+    private String predicadoTextual(String coluna, String parametro) {
+        return "(to_tsvector(" + TS_CONFIG + ", f_unaccent(" + coluna + ")) @@ plainto_tsquery(" + TS_CONFIG
+                + ", f_unaccent(:" + parametro + "))"
+                + " OR f_unaccent(lower(" + coluna + ")) LIKE '%' || f_unaccent(lower(:" + parametro + "Like)) || '%')";
+    }
+
+    /**
+     * Expressão de relevância de uma coluna textual para ordenação dos resultados
+     */
+    private String relevanciaTextual(String coluna, String parametro) {
+        return "(ts_rank(to_tsvector(" + TS_CONFIG + ", f_unaccent(" + coluna + ")), plainto_tsquery(" + TS_CONFIG
+                + ", f_unaccent(:" + parametro + "))) + similarity(f_unaccent(lower(" + coluna + ")), f_unaccent(lower(:"
+                + parametro + "))))";
+    }
+
+    /**
+     * Escapa os curingas do LIKE presentes no termo digitado
+     */
+    private String escaparLike(String termo) {
+        return termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Busca os IDs dos livros que atendem aos critérios de pesquisa utilizando LIKE
      */
-    public List<Livro> search(Livro filtro) {
+    private List<Long> searchIdsPorCriteria(Livro filtro, int maxResultados) {
         try {
             CriteriaBuilder cb = getEntityManager().getCriteriaBuilder();
-            CriteriaQuery<Livro> cq = cb.createQuery(Livro.class);
+            CriteriaQuery<Long> cq = cb.createQuery(Long.class);
             Root<Livro> root = cq.from(Livro.class);
+            cq.select(root.<Long>get("id")).distinct(true);
 
             List<Predicate> predicates = new ArrayList<>();
 
@@ -96,7 +301,7 @@ public class LivroRepository implements Repository<Livro, Long> {
                 cq.where(cb.and(predicates.toArray(new Predicate[0])));
             }
 
-            return getEntityManager().createQuery(cq).getResultList();
+            return modoLeitura(getEntityManager().createQuery(cq)).setMaxResults(maxResultados).getResultList();
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Erro ao pesquisar livros", e);
             return new ArrayList<>();
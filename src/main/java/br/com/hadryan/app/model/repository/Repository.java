@@ -1,8 +1,10 @@
 package br.com.hadryan.app.model.repository;
 
 import br.com.hadryan.app.config.JpaConfig;
+import org.hibernate.annotations.QueryHints;
 
 import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
@@ -14,7 +16,7 @@ import java.util.logging.Logger;
 
 /**
  * Interface genérica para implementação do padrão Repository.
- * Define operações básicas de CRUD.
+ * Define operações básicas de CRUD, cada uma executada em uma unidade de trabalho do JpaConfig.
  *
  * @param <T> Tipo da entidade
  * @param <ID> Tipo do identificador da entidade
@@ -27,24 +29,32 @@ public interface Repository<T, ID extends Serializable> {
     Class<T> getEntityClass();
 
     /**
-     * Obtém o EntityManager atual
+     * Obtém o EntityManager da unidade de trabalho atual
      */
     default EntityManager getEntityManager() {
         return JpaConfig.getInstance().getEntityManager();
     }
 
+    /**
+     * Aplica à consulta as dicas de leitura (entidades somente leitura e flush manual)
+     * quando a unidade de trabalho atual é somente leitura. Dentro de uma transação de
+     * escrita a consulta é mantida como está, pois as entidades podem ser alteradas.
+     */
+    default <R> TypedQuery<R> modoLeitura(TypedQuery<R> query) {
+        if (JpaConfig.getInstance().isSomenteLeitura()) {
+            query.setHint(QueryHints.READ_ONLY, true);
+            query.setHint(QueryHints.FLUSH_MODE, "MANUAL");
+        }
+        return query;
+    }
+
     /**
      * Salva ou atualiza uma entidade
      */
     default T save(T entity) {
-        EntityManager em = getEntityManager();
         try {
-            JpaConfig.getInstance().beginTransaction();
-            T savedEntity = em.merge(entity);
-            JpaConfig.getInstance().commitTransaction();
-            return savedEntity;
+            return JpaConfig.getInstance().inTransaction(em -> em.merge(entity));
         } catch (Exception e) {
-            JpaConfig.getInstance().rollbackTransaction();
             Logger.getLogger(getClass().getName()).log(Level.SEVERE, "Erro ao salvar entidade", e);
             throw new RuntimeException("Erro ao salvar: " + e.getMessage(), e);
         }
@@ -54,37 +64,35 @@ public interface Repository<T, ID extends Serializable> {
      * Busca uma entidade pelo ID
      */
     default Optional<T> findById(ID id) {
-        EntityManager em = getEntityManager();
-        T entity = em.find(getEntityClass(), id);
-        return Optional.ofNullable(entity);
+        return JpaConfig.getInstance().readOnly(em -> Optional.ofNullable(em.find(getEntityClass(), id)));
     }
 
     /**
      * Lista todas as entidades
      */
     default List<T> findAll() {
-        EntityManager em = getEntityManager();
-        CriteriaBuilder cb = em.getCriteriaBuilder();
-        CriteriaQuery<T> cq = cb.createQuery(getEntityClass());
-        Root<T> root = cq.from(getEntityClass());
-        cq.select(root);
-        return em.createQuery(cq).getResultList();
+        return JpaConfig.getInstance().readOnly(em -> {
+            CriteriaBuilder cb = em.getCriteriaBuilder();
+            CriteriaQuery<T> cq = cb.createQuery(getEntityClass());
+            Root<T> root = cq.from(getEntityClass());
+            cq.select(root);
+            return modoLeitura(em.createQuery(cq)).getResultList();
+        });
     }
 
     /**
      * Exclui uma entidade
      */
     default void delete(ID id) {
-        EntityManager em = getEntityManager();
         try {
-            JpaConfig.getInstance().beginTransaction();
-            T entity = em.find(getEntityClass(), id);
-            if (entity != null) {
-                em.remove(entity);
-            }
-            JpaConfig.getInstance().commitTransaction();
+            JpaConfig.getInstance().inTransaction(em -> {
+                T entity = em.find(getEntityClass(), id);
+                if (entity != null) {
+                    em.remove(entity);
+                }
+                return null;
+            });
         } catch (Exception e) {
-            JpaConfig.getInstance().rollbackTransaction();
             Logger.getLogger(getClass().getName()).log(Level.SEVERE, "Erro ao excluir entidade", e);
             throw new RuntimeException("Erro ao excluir: " + e.getMessage(), e);
         }
@@ -94,10 +102,11 @@ public interface Repository<T, ID extends Serializable> {
      * Retorna o número de entidades
      */
     default long count() {
-        EntityManager em = getEntityManager();
-        CriteriaBuilder cb = em.getCriteriaBuilder();
-        CriteriaQuery<Long> cq = cb.createQuery(Long.class);
-        cq.select(cb.count(cq.from(getEntityClass())));
-        return em.createQuery(cq).getSingleResult();
+        return JpaConfig.getInstance().readOnly(em -> {
+            CriteriaBuilder cb = em.getCriteriaBuilder();
+            CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+            cq.select(cb.count(cq.from(getEntityClass())));
+            return modoLeitura(em.createQuery(cq)).getSingleResult();
+        });
     }
 }
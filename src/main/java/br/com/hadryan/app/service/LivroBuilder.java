@@ -47,6 +47,14 @@ public class LivroBuilder {
         return this;
     }
 
+    /**
+     * Define o work do OpenLibrary ao qual a edição pertence (/works/OL123W)
+     */
+    public LivroBuilder comWorkKey(String workKey) {
+        livro.setWorkKey(workKey);
+        return this;
+    }
+
     /**
      * Define a editora do livro
      */
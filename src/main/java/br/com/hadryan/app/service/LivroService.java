@@ -1,11 +1,19 @@
 package br.com.hadryan.app.service;
 
+import br.com.hadryan.app.config.JpaConfig;
 import br.com.hadryan.app.model.entity.Livro;
 import br.com.hadryan.app.model.repository.LivroRepository;
+import br.com.hadryan.app.service.busca.IndiceLivros;
+import br.com.hadryan.app.service.dicionario.IndiceWorks;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -22,6 +30,8 @@ public class LivroService {
     private final LivroRepository livroRepository;
     private final OpenLibraryService openLibraryService;
     private final WorkSubjectService workSubjectService;
+    private final IndiceLivros indiceLivros;
+    private final IndiceWorks indiceWorks;
 
     /**
      * Construtor com injeção de dependências
@@ -29,14 +39,28 @@ public class LivroService {
     public LivroService(LivroRepository livroRepository, OpenLibraryService openLibraryService) {
         this.livroRepository = livroRepository;
         this.openLibraryService = openLibraryService;
-        this.workSubjectService = new WorkSubjectService(openLibraryService);
+        this.workSubjectService = new WorkSubjectService();
+        this.indiceLivros = IndiceLivros.getInstance();
+        this.indiceWorks = IndiceWorks.getInstance();
     }
 
     /**
-     * Salva um livro
+     * Carrega o índice de pesquisa em memória com todos os livros cadastrados
+     */
+    public void inicializarIndicePesquisa() {
+        try {
+            indiceLivros.reconstruir(livroRepository::findAllComAutores);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Erro ao carregar índice de pesquisa. A pesquisa utilizará o banco de dados.", e);
+        }
+    }
+
+    /**
+     * Salva um livro, preenchendo o work do OpenLibrary quando ele já é conhecido pelo índice de works
      */
     public Livro salvar(Livro livro) {
         try {
+            preencherWorkKey(livro);
             return livroRepository.save(livro);
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Erro ao salvar livro", e);
@@ -45,10 +69,22 @@ public class LivroService {
     }
 
     /**
-     * Busca um livro pelo ID
+     * Busca um livro pelo ID, com autores, editora e livros similares carregados
      */
     public Optional<Livro> buscarPorId(Long id) {
-        return livroRepository.findById(id);
+        return livroRepository.findByIdCompleto(id);
+    }
+
+    /**
+     * Lista as outras edições do acervo que pertencem ao mesmo work do livro
+     */
+    public List<Livro> buscarLivrosDoMesmoWork(Livro livro) {
+        if (livro == null || livro.getWorkKey() == null) {
+            return new ArrayList<>();
+        }
+        List<Livro> edicoes = livroRepository.findByWorkKey(livro.getWorkKey());
+        edicoes.remove(livro);
+        return edicoes;
     }
 
     /**
@@ -62,7 +98,7 @@ public class LivroService {
      * Lista todos os livros
      */
     public List<Livro> listarTodos() {
-        return livroRepository.findAll();
+        return livroRepository.findAllComAutores();
     }
 
     /**
@@ -78,10 +114,17 @@ public class LivroService {
     }
 
     /**
-     * Pesquisa livros com base em critérios
+     * Pesquisa livros com base em critérios.
+     * Critérios de título, autor ou editora são respondidos pelo índice em memória,
+     * que tolera erros de digitação; os demais casos consultam o banco de dados.
+     * Nos dois casos são retornados no máximo maxResultados livros; quem exibe o resultado
+     * pode pedir um a mais para saber se a pesquisa foi limitada.
      */
-    public List<Livro> pesquisar(Livro filtro) {
-        return livroRepository.search(filtro);
+    public List<Livro> pesquisar(Livro filtro, int maxResultados) {
+        if (indiceLivros.isPronto() && indiceLivros.suporta(filtro)) {
+            return livroRepository.findByIds(indiceLivros.pesquisar(filtro, maxResultados));
+        }
+        return livroRepository.search(filtro, maxResultados);
     }
 
     /**
@@ -96,24 +139,41 @@ public class LivroService {
     }
 
     /**
-     * Atualiza livros similares
+     * Atualiza livros similares, cadastrando os selecionados que ainda não estão no banco.
+     * Os dados dos novos livros são buscados antes da transação, e os livros e as associações
+     * são gravados juntos, de modo que uma falha não deixa livros cadastrados sem associação.
      */
     public void atualizarLivrosSimilares(Livro livro, List<String> isbns) {
         if (livro == null || livro.getId() == null) {
             throw new IllegalArgumentException("Livro precisa estar salvo para atualizar livros similares");
         }
+        Map<String, Livro> novos = buscarLivrosSelecionados(livro, isbns);
         try {
-            livro.getLivrosSimilares().clear();
-            for (String isbn : isbns) {
-                if (isbn == null || isbn.trim().isEmpty()) {
-                    continue;
+            JpaConfig.getInstance().inTransaction(em -> {
+                Livro gerenciado = em.find(Livro.class, livro.getId());
+                if (gerenciado == null) {
+                    throw new IllegalArgumentException("Livro não encontrado: " + livro.getId());
                 }
-                if (isbn.equals(livro.getIsbn())) {
-                    continue;
+                gerenciado.getLivrosSimilares().clear();
+                for (String isbn : isbns) {
+                    if (isbn == null || isbn.trim().isEmpty()) {
+                        continue;
+                    }
+                    if (isbn.trim().equals(gerenciado.getIsbn())) {
+                        continue;
+                    }
+                    Optional<Livro> similar = livroRepository.findByIsbn(isbn.trim());
+                    String chave = isbn.trim().replaceAll("[^0-9X]", "");
+                    if (!similar.isPresent() && novos.containsKey(chave)) {
+                        // A instância gerenciada substitui a buscada, para um ISBN repetido não ser inserido duas vezes
+                        Livro gravado = em.merge(novos.get(chave));
+                        novos.put(chave, gravado);
+                        similar = Optional.of(gravado);
+                    }
+                    similar.ifPresent(gerenciado::adicionarLivroSimilar);
                 }
-                livroRepository.findByIsbn(isbn.trim()).ifPresent(livro::adicionarLivroSimilar);
-            }
-            livroRepository.save(livro);
+                return gerenciado;
+            });
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Erro ao atualizar livros similares", e);
             throw new RuntimeException("Erro ao atualizar livros similares: " + e.getMessage(), e);
@@ -121,20 +181,70 @@ public class LivroService {
     }
 
     /**
-     * Sugere livros similares com base em autores comuns
+     * Busca no OpenLibrary os livros selecionados que ainda não existem no banco, indexados pelo ISBN normalizado.
+     * Os livros relacionados chegam como candidatos leves (título, ISBN e autores da busca),
+     * então os dados completos só são buscados aqui, para os livros que o usuário escolheu.
+     * A consulta é feita antes da transação, para que nenhuma conexão fique presa durante a rede;
+     * os livros retornados só são gravados junto com as associações.
+     */
+    private Map<String, Livro> buscarLivrosSelecionados(Livro livro, List<String> isbns) {
+        Set<String> faltantes = new LinkedHashSet<>();
+        for (String isbn : isbns) {
+            if (isbn == null || isbn.trim().isEmpty() || isbn.trim().equals(livro.getIsbn())) {
+                continue;
+            }
+            if (!livroRepository.findByIsbn(isbn.trim()).isPresent()) {
+                faltantes.add(isbn.trim());
+            }
+        }
+        if (faltantes.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Livro> encontrados = openLibraryService.buscarLivrosPorIsbns(faltantes);
+        for (Livro encontrado : encontrados.values()) {
+            preencherWorkKey(encontrado);
+        }
+        if (encontrados.size() < faltantes.size()) {
+            LOGGER.log(Level.INFO, (faltantes.size() - encontrados.size())
+                    + " livro(s) similar(es) não encontrado(s) no OpenLibrary");
+        }
+        return encontrados;
+    }
+
+    /**
+     * Preenche o work do livro a partir do índice de works, se ainda não estiver definido
+     */
+    private void preencherWorkKey(Livro livro) {
+        if (livro.getWorkKey() == null) {
+            indiceWorks.buscar(livro.getIsbn()).ifPresent(livro::setWorkKey);
+        }
+    }
+
+    /**
+     * Sugere livros similares: primeiro as outras edições do mesmo work, depois os livros com autores em comum
      */
     public List<Livro> sugerirLivrosSimilares(Livro livro, int maxResultados) {
         if (livro == null || livro.getId() == null) {
             return new ArrayList<>();
         }
 
-        List<Livro> sugestoes = new ArrayList<>();
+        Set<Livro> sugestoes = new LinkedHashSet<>();
+        for (Livro edicao : buscarLivrosDoMesmoWork(livro)) {
+            if (sugestoes.size() >= maxResultados) {
+                break;
+            }
+            sugestoes.add(edicao);
+        }
 
-        if (livro.getAutores() == null || livro.getAutores().isEmpty()) {
-            return sugestoes;
+        if (sugestoes.size() >= maxResultados || livro.getAutores() == null || livro.getAutores().isEmpty()) {
+            return new ArrayList<>(sugestoes);
         }
-        List<Livro> todosLivros = livroRepository.findAll();
+        List<Livro> todosLivros = livroRepository.findAllComAutores();
         for (Livro candidato : todosLivros) {
+            if (sugestoes.size() >= maxResultados) {
+                break;
+            }
             if (candidato.getId().equals(livro.getId())) {
                 continue;
             }
@@ -144,21 +254,26 @@ public class LivroService {
 
             if (temAutorEmComum) {
                 sugestoes.add(candidato);
-                if (sugestoes.size() >= maxResultados) {
-                    break;
-                }
             }
         }
 
-        return sugestoes;
+        return new ArrayList<>(sugestoes);
     }
 
     /**
      * Busca livros relacionados por assuntos (subjects) via API
      */
     public List<Livro> buscarLivrosRelacionadosPorSubjects(String isbn, int maxResultados) {
+        return buscarLivrosRelacionadosPorSubjects(isbn, maxResultados, livro -> { });
+    }
+
+    /**
+     * Busca livros relacionados por assuntos (subjects) via API, entregando cada livro
+     * ao consumidor assim que ele é encontrado
+     */
+    public List<Livro> buscarLivrosRelacionadosPorSubjects(String isbn, int maxResultados, Consumer<Livro> aoEncontrar) {
         try {
-            return workSubjectService.buscarLivrosRelacionados(isbn, maxResultados);
+            return workSubjectService.buscarLivrosRelacionados(isbn, maxResultados, aoEncontrar);
         } catch (Exception e) {
             LOGGER.log(Level.WARNING, "Erro ao buscar livros relacionados por subjects", e);
             return new ArrayList<>();
@@ -1,21 +1,49 @@
 package br.com.hadryan.app.service;
 
+import br.com.hadryan.app.config.AppConfig;
 import br.com.hadryan.app.model.entity.Autor;
 import br.com.hadryan.app.model.entity.Livro;
+import br.com.hadryan.app.service.dicionario.DicionarioAutores;
+import br.com.hadryan.app.service.dicionario.IndiceWorks;
+import br.com.hadryan.app.service.execucao.AgendadorIO;
 import br.com.hadryan.app.service.http.HttpClientWrapper;
+import br.com.hadryan.app.service.json.AutorDto;
+import br.com.hadryan.app.service.json.AutorWorkDto;
+import br.com.hadryan.app.service.json.EdicaoDto;
+import br.com.hadryan.app.service.json.LivroApiDto;
+import br.com.hadryan.app.service.json.NomeDto;
 import br.com.hadryan.app.service.json.OpenLibraryJsonParser;
-import com.fasterxml.jackson.databind.JsonNode;
+import br.com.hadryan.app.service.json.ReferenciaDto;
+import br.com.hadryan.app.service.json.WorkDto;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Serviço para acessar a API do OpenLibrary.
  * Implementa o padrão Adapter para comunicação com serviço externo.
+ * Os autores de uma edição (e os works, quando a edição não lista autores) são
+ * resolvidos em paralelo, cada consulta com seu próprio prazo, e adicionados ao
+ * livro na mesma ordem em que aparecem na resposta.
+ * Para vários ISBNs de uma vez, a API /api/books é consultada em lotes,
+ * já com os nomes dos autores e editoras embutidos.
+ * Os nomes dos autores ficam no DicionarioAutores, e só são buscados na API
+ * quando a key ainda não é conhecida.
  *
  * @author Hadryan Silva
  * @since 22-03-2025
@@ -23,12 +51,19 @@ import java.util.logging.Logger;
 public class OpenLibraryService {
 
     private static final Logger LOGGER = Logger.getLogger(OpenLibraryService.class.getName());
-    private static final String API_ISBN_URL = "https://openlibrary.org/isbn/";
-    private static final String API_BASE_URL = "https://openlibrary.org";
+    private static final String API_BASE_URL = AppConfig.getInstance().getConfig("openlibrary").getString("url-base");
+    private static final String API_ISBN_URL = API_BASE_URL + "/isbn/";
     private static final String API_FORMAT = ".json";
+    private static final String API_BOOKS_URL = API_BASE_URL + "/api/books?jscmd=data&format=json&bibkeys=";
+    private static final String PREFIXO_BIBKEY_ISBN = "ISBN:";
+    private static final int TAMANHO_LOTE_ISBN = 50;
+    private static final long PRAZO_CONSULTA_AUTOR_MS = 5000;
+    private static final long PRAZO_CONSULTA_LOTE_MS = 15000;
 
     private final HttpClientWrapper httpClient;
     private final OpenLibraryJsonParser jsonParser;
+    private final DicionarioAutores dicionarioAutores;
+    private final IndiceWorks indiceWorks;
 
     /**
      * Construtor padrão que inicializa as dependências
@@ -38,6 +73,8 @@ public class OpenLibraryService {
         this.httpClient.setUseCache(true);
         this.httpClient.setTimeouts(6000, 6000);
         this.jsonParser = new OpenLibraryJsonParser();
+        this.dicionarioAutores = DicionarioAutores.getInstance();
+        this.indiceWorks = IndiceWorks.getInstance();
     }
 
     /**
@@ -50,33 +87,33 @@ public class OpenLibraryService {
         }
 
         try {
-            isbn = isbn.replaceAll("[^0-9X]", "");
+            isbn = normalizarIsbn(isbn);
 
-            String jsonResponse = httpClient.fazerRequisicaoGet(API_ISBN_URL + isbn + API_FORMAT);
+            Optional<EdicaoDto> optEdicao = jsonParser.lerEdicao(
+                    httpClient.fazerRequisicaoGetBytes(API_ISBN_URL + isbn + API_FORMAT));
 
-            if (jsonResponse == null || jsonResponse.isEmpty()) {
+            if (!optEdicao.isPresent()) {
                 return Optional.empty();
             }
 
-            Optional<JsonNode> optRootNode = jsonParser.parseJsonToNode(jsonResponse);
-
-            if (!optRootNode.isPresent()) {
-                return Optional.empty();
-            }
-
-            JsonNode rootNode = optRootNode.get();
+            EdicaoDto edicao = optEdicao.get();
 
             LivroBuilder builder = new LivroBuilder()
                     .comIsbn(isbn)
-                    .comTitulo(jsonParser.getTextFieldOrEmpty(rootNode, OpenLibraryJsonParser.JSON_FIELD_TITLE))
-                    .comDataPublicacao(jsonParser.getTextFieldOrEmpty(rootNode, OpenLibraryJsonParser.JSON_FIELD_PUBLISH_DATE));
+                    .comTitulo(valorOuVazio(edicao.getTitulo()))
+                    .comDataPublicacao(valorOuVazio(edicao.getDataPublicacao()));
+
+            if (!edicao.getWorks().isEmpty() && edicao.getWorks().get(0).getKey() != null) {
+                String workKey = edicao.getWorks().get(0).getKey();
+                indiceWorks.registrar(isbn, workKey);
+                builder.comWorkKey(workKey);
+            }
 
-            JsonNode publishers = jsonParser.getArrayNodeOrEmpty(rootNode, OpenLibraryJsonParser.JSON_FIELD_PUBLISHERS);
-            if (!publishers.isEmpty()) {
-                builder.comEditora(publishers.get(0).asText());
+            if (!edicao.getEditoras().isEmpty()) {
+                builder.comEditora(edicao.getEditoras().get(0));
             }
 
-            processarAutores(rootNode, builder);
+            processarAutores(edicao, builder);
 
             return Optional.of(builder.build());
 
@@ -90,38 +127,160 @@ public class OpenLibraryService {
     }
 
     /**
-     * Processa os autores de um livro a partir do JsonNode
+     * Busca vários livros pelo ISBN usando a API /api/books, que aceita muitos ISBNs por
+     * requisição e já retorna autores e editoras. Os ISBNs são divididos em lotes
+     * consultados em paralelo.
+     *
+     * @param isbns ISBNs a buscar (duplicados e inválidos são ignorados)
+     * @return Livros encontrados, indexados pelo ISBN normalizado, na ordem informada
      */
-    private void processarAutores(JsonNode rootNode, LivroBuilder builder) {
-        JsonNode authors = jsonParser.getArrayNodeOrEmpty(rootNode, OpenLibraryJsonParser.JSON_FIELD_AUTHORS);
-
-        if (!authors.isEmpty()) {
-            for (JsonNode authorNode : authors) {
-                if (authorNode.has(OpenLibraryJsonParser.JSON_FIELD_KEY)) {
-                    String authorKey = authorNode.get(OpenLibraryJsonParser.JSON_FIELD_KEY).asText();
-                    buscarDetalheAutor(authorKey).ifPresent(builder::comAutor);
+    public Map<String, Livro> buscarLivrosPorIsbns(Collection<String> isbns) {
+        Set<String> normalizados = new LinkedHashSet<>();
+        for (String isbn : isbns) {
+            if (isbn != null) {
+                String normalizado = normalizarIsbn(isbn);
+                if (!normalizado.isEmpty()) {
+                    normalizados.add(normalizado);
                 }
             }
+        }
+
+        List<String> listaIsbns = new ArrayList<>(normalizados);
+        List<Future<Map<String, Livro>>> consultas = new ArrayList<>();
+        for (int inicio = 0; inicio < listaIsbns.size(); inicio += TAMANHO_LOTE_ISBN) {
+            List<String> lote = listaIsbns.subList(inicio, Math.min(inicio + TAMANHO_LOTE_ISBN, listaIsbns.size()));
+            consultas.add(iniciarConsulta(() -> buscarLoteIsbns(lote)));
+        }
+
+        Map<String, Livro> encontrados = new LinkedHashMap<>();
+        for (Map<String, Livro> resultado : aguardarEmOrdem(consultas, PRAZO_CONSULTA_LOTE_MS, "lote de ISBNs")) {
+            encontrados.putAll(resultado);
+        }
+
+        Map<String, Livro> livros = new LinkedHashMap<>();
+        for (String isbn : listaIsbns) {
+            Livro livro = encontrados.get(isbn);
+            if (livro != null) {
+                livros.put(isbn, livro);
+            }
+        }
+
+        LOGGER.log(Level.INFO, "Busca em lote: {0} de {1} ISBNs encontrados em {2} requisições",
+                new Object[]{livros.size(), listaIsbns.size(), consultas.size()});
+        return livros;
+    }
+
+    /**
+     * Consulta um lote de ISBNs em uma única requisição
+     */
+    private Map<String, Livro> buscarLoteIsbns(List<String> isbns) {
+        Map<String, Livro> livros = new LinkedHashMap<>();
+
+        StringBuilder bibkeys = new StringBuilder();
+        for (String isbn : isbns) {
+            if (bibkeys.length() > 0) {
+                bibkeys.append(',');
+            }
+            bibkeys.append(PREFIXO_BIBKEY_ISBN).append(isbn);
+        }
+
+        try {
+            Optional<Map<String, LivroApiDto>> optResultado = jsonParser.lerLivrosApi(
+                    httpClient.fazerRequisicaoGetBytes(API_BOOKS_URL + bibkeys));
+            if (!optResultado.isPresent()) {
+                return livros;
+            }
+
+            for (Map.Entry<String, LivroApiDto> entrada : optResultado.get().entrySet()) {
+                if (entrada.getValue() == null || !entrada.getKey().startsWith(PREFIXO_BIBKEY_ISBN)) {
+                    continue;
+                }
+                String isbn = entrada.getKey().substring(PREFIXO_BIBKEY_ISBN.length());
+                livros.put(isbn, criarLivro(isbn, entrada.getValue()));
+            }
+
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Erro de IO ao buscar lote de " + isbns.size() + " ISBNs", e);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Erro inesperado ao buscar lote de " + isbns.size() + " ISBNs", e);
+        }
+
+        return livros;
+    }
+
+    /**
+     * Monta o livro a partir da resposta de /api/books
+     */
+    private Livro criarLivro(String isbn, LivroApiDto dto) {
+        LivroBuilder builder = new LivroBuilder()
+                .comIsbn(isbn)
+                .comTitulo(valorOuVazio(dto.getTitulo()))
+                .comDataPublicacao(valorOuVazio(dto.getDataPublicacao()))
+                .comWorkKey(indiceWorks.buscar(isbn).orElse(null));
+
+        if (!dto.getEditoras().isEmpty()) {
+            builder.comEditora(dto.getEditoras().get(0).getNome());
+        }
+
+        for (NomeDto autor : dto.getAutores()) {
+            dicionarioAutores.registrar(autor.getUrl(), autor.getNome());
+            builder.comAutor(autor.getNome());
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Processa os autores de um livro a partir da edição
+     */
+    private void processarAutores(EdicaoDto edicao, LivroBuilder builder) {
+        if (!edicao.getAutores().isEmpty()) {
+            buscarDetalhesAutores(edicao.getAutores()).forEach(builder::comAutor);
         } else {
-            JsonNode works = jsonParser.getArrayNodeOrEmpty(rootNode, OpenLibraryJsonParser.JSON_FIELD_WORKS);
-            for (JsonNode workNode : works) {
-                if (workNode.has(OpenLibraryJsonParser.JSON_FIELD_KEY)) {
-                    String workKey = workNode.get(OpenLibraryJsonParser.JSON_FIELD_KEY).asText();
-                    buscarAutoresPorWork(workKey).forEach(builder::comAutor);
+            List<Future<List<Autor>>> consultas = new ArrayList<>();
+            for (ReferenciaDto work : edicao.getWorks()) {
+                if (work.getKey() != null) {
+                    consultas.add(iniciarConsulta(() -> buscarAutoresPorWork(work.getKey())));
                 }
             }
+            for (List<Autor> autores : aguardarEmOrdem(consultas, PRAZO_CONSULTA_AUTOR_MS, "autores do work")) {
+                autores.forEach(builder::comAutor);
+            }
         }
     }
 
+    /**
+     * Busca os detalhes de vários autores em paralelo, retornando-os na ordem das referências
+     */
+    private List<Autor> buscarDetalhesAutores(List<ReferenciaDto> referencias) {
+        List<Future<Optional<Autor>>> consultas = new ArrayList<>();
+        for (ReferenciaDto referencia : referencias) {
+            if (referencia.getKey() != null) {
+                consultas.add(iniciarConsulta(() -> buscarDetalheAutor(referencia.getKey())));
+            }
+        }
+
+        List<Autor> autores = new ArrayList<>();
+        for (Optional<Autor> autor : aguardarEmOrdem(consultas, PRAZO_CONSULTA_AUTOR_MS, "detalhes do autor")) {
+            autor.ifPresent(autores::add);
+        }
+        return autores;
+    }
+
     /**
      * Busca informações detalhadas de um autor pelo ID/key
      */
     public Optional<Autor> buscarDetalheAutor(String authorKey) {
-        try {
-            String jsonResponse = httpClient.fazerRequisicaoGet(API_BASE_URL + authorKey + API_FORMAT);
+        Optional<String> nomeConhecido = dicionarioAutores.buscar(authorKey);
+        if (nomeConhecido.isPresent()) {
+            return nomeConhecido.map(Autor::new);
+        }
 
-            return jsonParser.parseJsonToNode(jsonResponse)
-                    .flatMap(jsonParser::extrairAutorDeNode);
+        try {
+            Optional<String> nome = jsonParser.lerAutor(httpClient.fazerRequisicaoGetBytes(API_BASE_URL + authorKey + API_FORMAT))
+                    .map(AutorDto::getNome);
+            nome.ifPresent(n -> dicionarioAutores.registrar(authorKey, n));
+            return nome.map(Autor::new);
 
         } catch (IOException e) {
             LOGGER.log(Level.WARNING, "Erro de IO ao buscar detalhes do autor: " + authorKey, e);
@@ -139,22 +298,16 @@ public class OpenLibraryService {
         List<Autor> autores = new ArrayList<>();
 
         try {
-            String jsonResponse = httpClient.fazerRequisicaoGet(API_BASE_URL + workKey + API_FORMAT);
-            Optional<JsonNode> optWorkNode = jsonParser.parseJsonToNode(jsonResponse);
-            if (optWorkNode.isPresent()) {
-                JsonNode workNode = optWorkNode.get();
-
-                JsonNode authors = jsonParser.getArrayNodeOrEmpty(workNode, OpenLibraryJsonParser.JSON_FIELD_AUTHORS);
-                for (JsonNode authorNode : authors) {
-                    if (authorNode.has(OpenLibraryJsonParser.JSON_FIELD_AUTHOR) &&
-                            authorNode.get(OpenLibraryJsonParser.JSON_FIELD_AUTHOR).has(OpenLibraryJsonParser.JSON_FIELD_KEY)) {
-
-                        String authorKey = authorNode.get(OpenLibraryJsonParser.JSON_FIELD_AUTHOR)
-                                .get(OpenLibraryJsonParser.JSON_FIELD_KEY).asText();
-
-                        buscarDetalheAutor(authorKey).ifPresent(autores::add);
+            Optional<WorkDto> optWork = jsonParser.lerWork(
+                    httpClient.fazerRequisicaoGetBytes(API_BASE_URL + workKey + API_FORMAT));
+            if (optWork.isPresent()) {
+                List<ReferenciaDto> referencias = new ArrayList<>();
+                for (AutorWorkDto autorWork : optWork.get().getAutores()) {
+                    if (autorWork.getAutor() != null && autorWork.getAutor().getKey() != null) {
+                        referencias.add(autorWork.getAutor());
                     }
                 }
+                autores.addAll(buscarDetalhesAutores(referencias));
             }
 
         } catch (Exception e) {
@@ -163,4 +316,59 @@ public class OpenLibraryService {
 
         return autores;
     }
+
+    /**
+     * Inicia uma consulta em paralelo na mesma via do agendador da tarefa atual, de modo que
+     * um enriquecimento em lote não ocupa as vagas das consultas interativas. Consultas aninhadas
+     * (work -> autores) são enfileiradas à frente das tarefas novas da via, e a tarefa que as
+     * aguarda libera sua vaga enquanto espera.
+     */
+    private <T> Future<T> iniciarConsulta(Callable<T> consulta) {
+        FutureTask<T> tarefa = new FutureTask<>(consulta);
+        AgendadorIO.getInstance().getExecutorAtual().execute(tarefa);
+        return tarefa;
+    }
+
+    /**
+     * Aguarda as consultas na ordem em que foram iniciadas. Como todas começam juntas,
+     * cada uma tem o mesmo prazo contado a partir do início; consultas que não terminam
+     * a tempo ou que falham são canceladas e ignoradas. O cancelamento interrompe a thread
+     * da consulta, o que também cancela a requisição HTTP em andamento.
+     * Enquanto aguarda, a tarefa atual não ocupa vaga na via do agendador.
+     */
+    private <T> List<T> aguardarEmOrdem(List<Future<T>> consultas, long prazoMillis, String descricao) {
+        long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(prazoMillis);
+        List<T> resultados = new ArrayList<>(consultas.size());
+        try (AgendadorIO.Espera espera = AgendadorIO.iniciarEspera()) {
+            for (Future<T> consulta : consultas) {
+                try {
+                    resultados.add(consulta.get(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS));
+                } catch (TimeoutException e) {
+                    LOGGER.log(Level.WARNING, "Prazo esgotado ao buscar " + descricao);
+                    consulta.cancel(true);
+                } catch (ExecutionException e) {
+                    LOGGER.log(Level.WARNING, "Erro ao buscar " + descricao, e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    consultas.forEach(c -> c.cancel(true));
+                    break;
+                }
+            }
+        }
+        return resultados;
+    }
+
+    /**
+     * Remove do ISBN tudo que não for dígito ou X
+     */
+    private String normalizarIsbn(String isbn) {
+        return isbn.replaceAll("[^0-9X]", "");
+    }
+
+    /**
+     * Retorna o texto informado ou vazio se for nulo
+     */
+    private String valorOuVazio(String valor) {
+        return valor != null ? valor : "";
+    }
 }
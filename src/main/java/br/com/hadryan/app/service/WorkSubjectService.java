@@ -1,13 +1,29 @@
 package br.com.hadryan.app.service;
 
+import br.com.hadryan.app.config.AppConfig;
 import br.com.hadryan.app.model.entity.Livro;
+import br.com.hadryan.app.service.dicionario.IndiceWorks;
+import br.com.hadryan.app.service.execucao.AgendadorIO;
 import br.com.hadryan.app.service.http.HttpClientWrapper;
+import br.com.hadryan.app.service.json.AutorWorkDto;
+import br.com.hadryan.app.service.json.DocumentoBuscaDto;
+import br.com.hadryan.app.service.json.EdicaoDto;
+import br.com.hadryan.app.service.json.LinkDto;
+import br.com.hadryan.app.service.json.ListaObrasDto;
 import br.com.hadryan.app.service.json.OpenLibraryJsonParser;
+import br.com.hadryan.app.service.json.ReferenciaDto;
+import br.com.hadryan.app.service.json.ResultadoBuscaDto;
+import br.com.hadryan.app.service.json.WorkDto;
+import br.com.hadryan.app.service.relacionados.CacheRelacionados;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import java.io.IOException;
+import java.net.URLEncoder;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -15,6 +31,10 @@ import java.util.stream.Collectors;
 /**
  * Serviço responsável por buscar livros relacionados por assuntos (subjects)
  * utilizando a API do OpenLibrary.
+ * As estratégias de busca formam um grafo de tarefas assíncronas que respeita um prazo único.
+ * Os livros retornados são candidatos leves, montados com os campos da busca /search.json
+ * (título, primeiro ISBN e autores); os dados completos só são buscados quando o usuário
+ * seleciona o livro.
  *
  * @author Hadryan Silva
  * @since 24-03-2025
@@ -22,43 +42,69 @@ import java.util.stream.Collectors;
 public class WorkSubjectService {
 
     private static final Logger LOGGER = Logger.getLogger(WorkSubjectService.class.getName());
-    private static final String API_WORK_URL = "https://openlibrary.org";
+    private static final String API_WORK_URL = AppConfig.getInstance().getConfig("openlibrary").getString("url-base");
     private static final String API_FORMAT = ".json";
-    private static final int SEARCH_TIMEOUT_SECONDS = 10;
+    private static final long PRAZO_BUSCA_MS = 10000;
 
-    private final HttpClientWrapper httpClient;
+    // Campos da busca suficientes para montar um candidato sem outras consultas
+    private static final String CAMPOS_CANDIDATO = "key,title,isbn,author_name";
+    private static final int RESULTADOS_POR_BUSCA = 5;
+
+    // Prioridade de cada estratégia na ordem do resultado (menor vem primeiro)
+    private static final int PRIORIDADE_SERIE = 0;
+    private static final int PRIORIDADE_AUTOR = 1;
+    private static final int PRIORIDADE_OBRAS_LIGADAS = 2;
+    private static final int PRIORIDADE_ASSUNTOS = 3;
+
+    // Livros aproveitados de cada lista de obras
+    private static final int LIMITE_POR_SERIE = 3;
+    private static final int LIMITE_POR_AUTOR = 2;
+    private static final int LIMITE_POR_TERMO = 2;
+
+    // ISBNs com recálculo em segundo plano em andamento
+    private static final Set<String> REVALIDANDO = ConcurrentHashMap.newKeySet();
+
+    private final Requisicao requisicao;
     private final OpenLibraryJsonParser jsonParser;
-    private final OpenLibraryService openLibraryService;
+    private final CacheRelacionados cacheRelacionados;
+    private final IndiceWorks indiceWorks;
+    private final Executor executor;
+    private final long prazoBuscaMs;
 
     /**
      * Construtor que inicializa as dependências
      */
-    public WorkSubjectService(OpenLibraryService openLibraryService) {
-        this.openLibraryService = openLibraryService;
-        this.httpClient = new HttpClientWrapper();
-        this.httpClient.setUseCache(true);
-        this.httpClient.setTimeouts(10000, 10000);
+    public WorkSubjectService() {
+        this(criarRequisicao(), CacheRelacionados.getInstance(), IndiceWorks.getInstance(), null, PRAZO_BUSCA_MS);
+    }
+
+    /**
+     * Construtor com as dependências informadas. Sem executor, as tarefas da busca rodam no
+     * agendador de I/O, na via de quem iniciou a busca.
+     */
+    WorkSubjectService(Requisicao requisicao, CacheRelacionados cacheRelacionados, IndiceWorks indiceWorks,
+                       Executor executor, long prazoBuscaMs) {
+        this.requisicao = requisicao;
         this.jsonParser = new OpenLibraryJsonParser();
+        this.cacheRelacionados = cacheRelacionados;
+        this.indiceWorks = indiceWorks;
+        this.executor = executor;
+        this.prazoBuscaMs = prazoBuscaMs;
+    }
+
+    private static Requisicao criarRequisicao() {
+        HttpClientWrapper httpClient = new HttpClientWrapper();
+        httpClient.setUseCache(true);
+        httpClient.setTimeouts(10000, 10000);
+        return httpClient::fazerRequisicaoGetBytes;
     }
 
     /**
-     * Busca workKey de um livro pelo ISBN
+     * Busca workKey de um livro pelo ISBN, consultando primeiro o índice persistente de works
      */
     public Optional<String> buscarWorkKey(String isbn) {
         try {
-            String jsonResponse = httpClient.fazerRequisicaoGet(API_WORK_URL + "/isbn/" + isbn + API_FORMAT);
-            Optional<JsonNode> optRootNode = jsonParser.parseJsonToNode(jsonResponse);
-            if (!optRootNode.isPresent()) {
-                return Optional.empty();
-            }
-
-            JsonNode rootNode = optRootNode.get();
-            JsonNode worksNode = jsonParser.getArrayNodeOrEmpty(rootNode, "works");
-            if (!worksNode.isEmpty() && worksNode.get(0).has("key")) {
-                return Optional.of(worksNode.get(0).get("key").asText());
-            }
-
-            return Optional.empty();
+            return consultarWorkKey(isbn);
         } catch (IOException e) {
             LOGGER.log(Level.WARNING, "Erro ao buscar work key para ISBN: " + isbn, e);
             return Optional.empty();
@@ -66,145 +112,302 @@ public class WorkSubjectService {
     }
 
     /**
-     * Busca livros relacionados diretamente pelo endpoint /works
-     * usando todas as informações disponíveis no objeto work
+     * Busca o workKey como em {@link #buscarWorkKey(String)}, propagando as falhas de rede
+     */
+    private Optional<String> consultarWorkKey(String isbn) throws IOException {
+        Optional<String> conhecido = indiceWorks.buscar(isbn);
+        if (conhecido.isPresent()) {
+            return conhecido;
+        }
+
+        Optional<EdicaoDto> optEdicao = jsonParser.lerEdicao(
+                requisicao.executar(API_WORK_URL + "/isbn/" + isbn + API_FORMAT));
+        if (!optEdicao.isPresent()) {
+            return Optional.empty();
+        }
+
+        List<ReferenciaDto> works = optEdicao.get().getWorks();
+        if (!works.isEmpty() && works.get(0).getKey() != null) {
+            indiceWorks.registrar(isbn, works.get(0).getKey());
+            return Optional.of(works.get(0).getKey());
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Busca livros relacionados a partir do work do livro: mesma série, mesmo autor,
+     * obras ligadas e assuntos em comum.
+     * As estratégias rodam em paralelo e cada uma resolve seus candidatos com uma única busca.
+     * A busca termina assim que maxResultados livros são confirmados ou quando o prazo total
+     * acaba, e as tarefas pendentes são canceladas.
+     * O resultado segue a prioridade das estratégias (série, autor, obras ligadas, assuntos).
+     * Os livros retornados não são persistidos e trazem apenas título, ISBN e autores.
+     * O resultado fica no cache de livros relacionados: uma nova busca pelo mesmo ISBN é atendida
+     * pelo cache e, se o resultado guardado estiver vencido, ele é recalculado em segundo plano.
+     * Buscas interrompidas pelo prazo ou por falhas na API (ex.: circuito aberto) não são guardadas.
      */
     public List<Livro> buscarLivrosRelacionados(String isbn, int maxResultados) {
-        if (isbn == null || isbn.trim().isEmpty()) {
+        return buscarLivrosRelacionados(isbn, maxResultados, livro -> { });
+    }
+
+    /**
+     * Busca livros relacionados como em {@link #buscarLivrosRelacionados(String, int)}, entregando
+     * cada livro ao consumidor assim que ele é confirmado, na ordem de chegada. O consumidor é
+     * chamado pelas threads da busca e recebe exatamente os livros do resultado final.
+     */
+    public List<Livro> buscarLivrosRelacionados(String isbn, int maxResultados, Consumer<Livro> aoEncontrar) {
+        if (isbn == null || isbn.trim().isEmpty() || maxResultados <= 0) {
             return Collections.emptyList();
         }
 
+        Optional<CacheRelacionados.Entrada> emCache = cacheRelacionados.buscar(isbn);
+        if (emCache.isPresent() && emCache.get().getMaxResultados() >= maxResultados) {
+            if (emCache.get().isVencida()) {
+                revalidar(isbn, emCache.get().getMaxResultados());
+            }
+            LOGGER.log(Level.FINE, "Livros relacionados do ISBN {0} atendidos pelo cache", isbn);
+            List<Livro> livros = emCache.get().getLivros(maxResultados);
+            livros.forEach(aoEncontrar);
+            return livros;
+        }
+
+        return pesquisarLivrosRelacionados(isbn, maxResultados, aoEncontrar);
+    }
+
+    /**
+     * Recalcula em segundo plano os livros relacionados de um ISBN com resultado vencido no cache
+     */
+    private void revalidar(String isbn, int maxResultados) {
+        if (!REVALIDANDO.add(isbn)) {
+            return;
+        }
+        AgendadorIO.getInstance().getExecutor(AgendadorIO.Via.SEGUNDO_PLANO).execute(() -> {
+            try {
+                pesquisarLivrosRelacionados(isbn, maxResultados, livro -> { });
+            } finally {
+                REVALIDANDO.remove(isbn);
+            }
+        });
+    }
+
+    /**
+     * Executa a busca de livros relacionados na API, guardando o resultado no cache somente
+     * se a busca terminou normalmente, para que um resultado parcial não substitua um completo
+     */
+    private List<Livro> pesquisarLivrosRelacionados(String isbn, int maxResultados, Consumer<Livro> aoEncontrar) {
         LOGGER.log(Level.INFO, "Iniciando busca de livros relacionados para ISBN: " + isbn);
-        Optional<String> workKeyOpt = buscarWorkKey(isbn);
+        BuscaRelacionados busca = new BuscaRelacionados(isbn, maxResultados, aoEncontrar,
+                executor != null ? executor : AgendadorIO.getInstance().getExecutorAtual(), prazoBuscaMs);
+        busca.executar(() -> iniciarBusca(busca));
+        List<Livro> resultado = busca.aguardar();
+
+        LOGGER.log(Level.INFO, "Total de livros relacionados encontrados: " + resultado.size());
+        if (busca.isInterrompida()) {
+            LOGGER.log(Level.FINE, "Busca de livros relacionados do ISBN {0} incompleta, não será guardada no cache", isbn);
+        } else {
+            cacheRelacionados.armazenar(isbn, maxResultados, resultado);
+        }
+        return resultado;
+    }
+
+    /**
+     * Localiza o work do livro e dispara as estratégias de busca, cada uma em sua tarefa
+     */
+    private void iniciarBusca(BuscaRelacionados busca) throws IOException {
+        Optional<String> workKeyOpt = consultarWorkKey(busca.isbnOriginal);
         if (!workKeyOpt.isPresent()) {
-            LOGGER.log(Level.INFO, "Não foi possível encontrar workKey para o ISBN: " + isbn);
-            return Collections.emptyList();
+            LOGGER.log(Level.INFO, "Não foi possível encontrar workKey para o ISBN: " + busca.isbnOriginal);
+            return;
         }
 
         String workKey = workKeyOpt.get();
         LOGGER.log(Level.INFO, "WorkKey encontrado: " + workKey);
 
-        try {
-            String jsonResponse = httpClient.fazerRequisicaoGet(API_WORK_URL + workKey + API_FORMAT);
-            Optional<JsonNode> optRootNode = jsonParser.parseJsonToNode(jsonResponse);
-            if (!optRootNode.isPresent()) {
-                LOGGER.log(Level.WARNING, "Não foi possível obter detalhes do work: " + workKey);
-                return Collections.emptyList();
-            }
+        Optional<WorkDto> optWork = jsonParser.lerWork(
+                requisicao.executar(API_WORK_URL + workKey + API_FORMAT));
+        if (!optWork.isPresent()) {
+            LOGGER.log(Level.WARNING, "Não foi possível obter detalhes do work: " + workKey);
+            return;
+        }
 
-            JsonNode rootNode = optRootNode.get();
-            Set<Livro> livrosRelacionados;
-            List<Livro> livrosDaSerie = buscarLivrosDaMesmaSerie(rootNode, isbn);
-            LOGGER.log(Level.INFO, "Encontrados " + livrosDaSerie.size() + " livros da mesma série");
-            livrosRelacionados = new LinkedHashSet<>(livrosDaSerie);
-            if (livrosRelacionados.size() < maxResultados && rootNode.has("authors")) {
-                List<Livro> livrosDoAutor = buscarLivrosDoMesmoAutor(rootNode, isbn);
-                LOGGER.log(Level.INFO, "Encontrados " + livrosDoAutor.size() + " livros do mesmo autor");
-                livrosRelacionados.addAll(livrosDoAutor);
-            }
+        WorkDto work = optWork.get();
+        busca.registrarObra(workKey);
 
-            if (livrosRelacionados.size() < maxResultados) {
-                List<Livro> obrasRelacionadas = buscarObrasRelacionadas(rootNode, isbn);
-                LOGGER.log(Level.INFO, "Encontradas " + obrasRelacionadas.size() + " obras relacionadas diretamente");
-                livrosRelacionados.addAll(obrasRelacionadas);
-            }
+        for (String serieUrl : obterLinksDasSeries(work.getSeries())) {
+            Ramo ramo = new Ramo(PRIORIDADE_SERIE, LIMITE_POR_SERIE);
+            busca.executar(() -> resolverObras(busca, ramo, listarObrasDaSerie(serieUrl)));
+        }
+
+        String authorKey = obterKeyDoPrimeiroAutor(work);
+        if (authorKey != null) {
+            Ramo ramo = new Ramo(PRIORIDADE_AUTOR, LIMITE_POR_AUTOR);
+            busca.executar(() -> confirmarDocumentos(busca, ramo,
+                    buscarDocumentos("author_key:" + authorKey.substring(authorKey.lastIndexOf('/') + 1))));
+        }
 
-            if (livrosRelacionados.size() < maxResultados) {
-                int remaining = maxResultados - livrosRelacionados.size();
-                List<Livro> livrosPorSubjects = buscarLivrosPorSubjects(rootNode, isbn, remaining);
-                LOGGER.log(Level.INFO, "Encontrados " + livrosPorSubjects.size() + " livros por subjects similares");
-                livrosRelacionados.addAll(livrosPorSubjects);
+        List<String> obrasLigadas = listarObrasLigadas(work);
+        if (!obrasLigadas.isEmpty()) {
+            Ramo ramo = new Ramo(PRIORIDADE_OBRAS_LIGADAS, Integer.MAX_VALUE);
+            busca.executar(() -> resolverObras(busca, ramo, obrasLigadas));
+        }
+
+        iniciarBuscaPorTermos(busca, work.getSubjectPeople(), "subject_people");
+        iniciarBuscaPorTermos(busca, work.getSubjectPlaces(), "subject_places");
+        iniciarBuscaPorTermos(busca, work.getSubjectTimes(), "subject_times");
+
+        List<String> subjects = selecionarSubjects(work.getSubjects());
+        if (!subjects.isEmpty()) {
+            List<String> subjectWorks = new ArrayList<>();
+            for (ReferenciaDto subjectWork : work.getSubjectWorks()) {
+                if (subjectWork.getKey() != null) {
+                    subjectWorks.add(subjectWork.getKey());
+                }
+            }
+            if (!subjectWorks.isEmpty()) {
+                Ramo ramo = new Ramo(PRIORIDADE_ASSUNTOS, Integer.MAX_VALUE);
+                busca.executar(() -> resolverObras(busca, ramo, subjectWorks));
             }
 
-            List<Livro> resultado = livrosRelacionados.stream()
-                    .limit(maxResultados)
-                    .collect(Collectors.toList());
+            for (String subject : subjects) {
+                Ramo ramo = new Ramo(PRIORIDADE_ASSUNTOS, LIMITE_POR_TERMO);
+                busca.executar(() -> buscarPorSubject(busca, ramo, subject));
+            }
+        }
+    }
 
-            LOGGER.log(Level.INFO, "Total de livros relacionados encontrados: " + resultado.size());
-            return resultado;
-        } catch (IOException e) {
-            LOGGER.log(Level.WARNING, "Erro ao buscar livros relacionados para work: " + workKey, e);
-            return Collections.emptyList();
+    /**
+     * Dispara a busca pelos primeiros termos especializados do work
+     * (subject_people, subject_places, subject_times)
+     */
+    private void iniciarBuscaPorTermos(BuscaRelacionados busca, List<String> termos, String propertyName) {
+        for (String termo : termos.subList(0, Math.min(2, termos.size()))) {
+            Ramo ramo = new Ramo(PRIORIDADE_ASSUNTOS, LIMITE_POR_TERMO);
+            busca.executar(() -> confirmarDocumentos(busca, ramo, buscarDocumentos(termoDeBusca(propertyName, termo))));
         }
     }
 
     /**
-     * Busca livros do mesmo autor
+     * Resolve uma lista de obras em uma única busca por key, ignorando as obras que outra
+     * estratégia já visitou. Os candidatos são confirmados na ordem da lista.
      */
-    private List<Livro> buscarLivrosDoMesmoAutor(JsonNode workNode, String isbnOriginal) {
-        List<Livro> resultado = new ArrayList<>();
-        try {
-            JsonNode authorsNode = jsonParser.getArrayNodeOrEmpty(workNode, "authors");
-            if (authorsNode.isEmpty()) {
-                return resultado;
+    private void resolverObras(BuscaRelacionados busca, Ramo ramo, List<String> workKeys) throws IOException {
+        List<String> novas = new ArrayList<>();
+        for (String workKey : workKeys) {
+            if (ramo.isCompleto()) {
+                break;
             }
-
-            JsonNode firstAuthor = authorsNode.get(0);
-            String authorKey = null;
-            if (firstAuthor.has("author") && firstAuthor.get("author").has("key")) {
-                authorKey = firstAuthor.get("author").get("key").asText();
-            } else if (firstAuthor.has("key")) {
-                authorKey = firstAuthor.get("key").asText();
+            if (!workKey.startsWith("/works/")) {
+                workKey = "/works/" + workKey;
             }
+            if (busca.registrarObra(workKey)) {
+                novas.add(workKey);
+            }
+        }
+        if (novas.isEmpty()) {
+            return;
+        }
 
-            if (authorKey == null) {
-                return resultado;
+        Map<String, DocumentoBuscaDto> porKey = new HashMap<>();
+        String consulta = "key:(" + String.join(" OR ", novas) + ")";
+        for (DocumentoBuscaDto doc : buscarDocumentos(consulta, novas.size())) {
+            porKey.put(doc.getKey(), doc);
+        }
+
+        for (String workKey : novas) {
+            DocumentoBuscaDto doc = porKey.get(workKey);
+            if (doc != null) {
+                confirmarCandidato(busca, ramo, doc);
             }
+        }
+    }
 
-            String authorWorksUrl = API_WORK_URL + authorKey + "/works.json?limit=5";
-            String jsonResponse = httpClient.fazerRequisicaoGet(authorWorksUrl);
-            Optional<JsonNode> optAuthorWorks = jsonParser.parseJsonToNode(jsonResponse);
-            if (!optAuthorWorks.isPresent()) {
-                return resultado;
+    /**
+     * Confirma os candidatos encontrados por uma busca, ignorando as obras já visitadas
+     */
+    private void confirmarDocumentos(BuscaRelacionados busca, Ramo ramo, List<DocumentoBuscaDto> documentos) {
+        for (DocumentoBuscaDto doc : documentos) {
+            if (ramo.isCompleto()) {
+                return;
+            }
+            if (busca.registrarObra(doc.getKey())) {
+                confirmarCandidato(busca, ramo, doc);
             }
+        }
+    }
 
-            JsonNode authorWorksNode = optAuthorWorks.get();
-            JsonNode entriesNode = jsonParser.getArrayNodeOrEmpty(authorWorksNode, "entries");
-            for (JsonNode entry : entriesNode) {
-                if (entry.has("key")) {
-                    String workKey = entry.get("key").asText();
-                    Optional<Livro> livroOpt = buscarLivroProWorkKey(workKey, isbnOriginal);
-                    if (livroOpt.isPresent()) {
-                        resultado.add(livroOpt.get());
-
-                        if (resultado.size() >= 2) {
-                            break;
-                        }
-                    }
-                }
+    /**
+     * Monta o candidato leve do documento e o confirma no ramo
+     */
+    private void confirmarCandidato(BuscaRelacionados busca, Ramo ramo, DocumentoBuscaDto doc) {
+        String isbn = selecionarIsbn(doc.getIsbns());
+        if (isbn == null || doc.getTitulo() == null) {
+            return;
+        }
+
+        // O documento já informa o work do ISBN escolhido
+        indiceWorks.registrar(isbn, doc.getKey());
+
+        LivroBuilder builder = new LivroBuilder()
+                .comIsbn(isbn)
+                .comTitulo(doc.getTitulo())
+                .comWorkKey(doc.getKey());
+        for (String autor : doc.getAutores()) {
+            builder.comAutor(autor);
+        }
+        busca.confirmar(ramo, builder.build());
+    }
+
+    /**
+     * Seleciona o ISBN do candidato, preferindo o primeiro ISBN-13
+     */
+    private String selecionarIsbn(List<String> isbns) {
+        for (String isbn : isbns) {
+            if (isbn.length() == 13) {
+                return isbn;
             }
-        } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Erro ao buscar livros do mesmo autor", e);
         }
-        return resultado;
+        return isbns.isEmpty() ? null : isbns.get(0);
     }
 
     /**
-     * Busca livros da mesma série
+     * Retorna a key do primeiro autor do work, ou null
      */
-    private List<Livro> buscarLivrosDaMesmaSerie(JsonNode workNode, String isbnOriginal) {
-        List<Livro> resultado = new ArrayList<>();
-        try {
-            if (workNode.has("series")) {
-                JsonNode seriesNode = workNode.get("series");
-                if (seriesNode.isArray()) {
-                    for (JsonNode serie : seriesNode) {
-                        String serieUrl = obterLinkDaSerie(serie);
-                        if (serieUrl != null) {
-                            resultado.addAll(buscarLivrosNaSerie(serieUrl, isbnOriginal));
-                        }
-                    }
-                } else {
-                    String serieUrl = obterLinkDaSerie(seriesNode);
-                    if (serieUrl != null) {
-                        resultado.addAll(buscarLivrosNaSerie(serieUrl, isbnOriginal));
-                    }
+    private String obterKeyDoPrimeiroAutor(WorkDto work) {
+        if (work.getAutores().isEmpty()) {
+            return null;
+        }
+
+        AutorWorkDto firstAuthor = work.getAutores().get(0);
+        if (firstAuthor.getAutor() != null && firstAuthor.getAutor().getKey() != null) {
+            return firstAuthor.getAutor().getKey();
+        }
+        return firstAuthor.getKey();
+    }
+
+    /**
+     * Obtém os links das séries do work, que podem vir como objeto único ou lista
+     */
+    private List<String> obterLinksDasSeries(JsonNode seriesNode) {
+        List<String> links = new ArrayList<>();
+        if (seriesNode == null || seriesNode.isNull()) {
+            return links;
+        }
+
+        if (seriesNode.isArray()) {
+            for (JsonNode serie : seriesNode) {
+                String serieUrl = obterLinkDaSerie(serie);
+                if (serieUrl != null) {
+                    links.add(serieUrl);
                 }
             }
-        } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Erro ao buscar livros da mesma série", e);
+        } else {
+            String serieUrl = obterLinkDaSerie(seriesNode);
+            if (serieUrl != null) {
+                links.add(serieUrl);
+            }
         }
-        return resultado;
+        return links;
     }
 
     /**
@@ -222,75 +425,37 @@ public class WorkSubjectService {
     }
 
     /**
-     * Busca livros em uma série específica
+     * Lista as obras de uma série específica
      */
-    private List<Livro> buscarLivrosNaSerie(String serieUrl, String isbnOriginal) {
-        List<Livro> resultado = new ArrayList<>();
-
-        try {
-            if (!serieUrl.startsWith("http")) {
-                serieUrl = API_WORK_URL + serieUrl + API_FORMAT;
-            }
-
-            String jsonResponse = httpClient.fazerRequisicaoGet(serieUrl);
-            Optional<JsonNode> optSerieNode = jsonParser.parseJsonToNode(jsonResponse);
-            if (!optSerieNode.isPresent()) {
-                return resultado;
-            }
-
-            JsonNode serieNode = optSerieNode.get();
-            JsonNode worksNode = jsonParser.getArrayNodeOrEmpty(serieNode, "works");
-            if (worksNode.isEmpty() && serieNode.has("entries")) {
-                worksNode = serieNode.get("entries");
-            }
+    private List<String> listarObrasDaSerie(String serieUrl) throws IOException {
+        if (!serieUrl.startsWith("http")) {
+            serieUrl = API_WORK_URL + serieUrl + API_FORMAT;
+        }
 
-            for (JsonNode workEntry : worksNode) {
-                if (workEntry.has("key")) {
-                    String workKey = workEntry.get("key").asText();
-                    Optional<Livro> livroOpt = buscarLivroProWorkKey(workKey, isbnOriginal);
-                    if (livroOpt.isPresent()) {
-                        resultado.add(livroOpt.get());
-                        if (resultado.size() >= 3) {
-                            break;
-                        }
-                    }
-                }
-            }
-        } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Erro ao buscar livros na série: " + serieUrl, e);
+        Optional<ListaObrasDto> optSerie = jsonParser.lerObras(requisicao.executar(serieUrl));
+        if (!optSerie.isPresent()) {
+            return Collections.emptyList();
         }
 
-        return resultado;
+        List<ReferenciaDto> works = optSerie.get().getWorks();
+        if (works.isEmpty()) {
+            works = optSerie.get().getEntries();
+        }
+        return extrairKeys(works);
     }
 
     /**
-     * Busca obras relacionadas diretamente listadas no nó work
+     * Lista as obras relacionadas diretamente nos links do work
      */
-    private List<Livro> buscarObrasRelacionadas(JsonNode workNode, String isbnOriginal) {
-        List<Livro> resultado = new ArrayList<>();
-
-        try {
-            if (workNode.has("links")) {
-                JsonNode linksNode = workNode.get("links");
-                for (JsonNode link : linksNode) {
-                    if (link.has("title") && link.has("url")) {
-                        String linkType = link.has("type") ? link.get("type").asText() : "";
-                        if ("related".equalsIgnoreCase(linkType)) {
-                            String url = link.get("url").asText();
-                            if (url.contains("/works/")) {
-                                String workKey = extrairWorkKeyDeUrl(url);
-                                Optional<Livro> livroOpt = buscarLivroProWorkKey(workKey, isbnOriginal);
-                                livroOpt.ifPresent(resultado::add);
-                            }
-                        }
-                    }
-                }
+    private List<String> listarObrasLigadas(WorkDto work) {
+        List<String> workKeys = new ArrayList<>();
+        for (LinkDto link : work.getLinks()) {
+            if (link.getTitulo() != null && link.getUrl() != null
+                    && "related".equalsIgnoreCase(link.getTipo()) && link.getUrl().contains("/works/")) {
+                workKeys.add(extrairWorkKeyDeUrl(link.getUrl()));
             }
-        } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Erro ao buscar obras relacionadas", e);
         }
-
-        return resultado;
+        return workKeys;
     }
 
     /**
@@ -310,290 +475,315 @@ public class WorkSubjectService {
     }
 
     /**
-     * Busca livros por subjects do work, usando os dados embutidos na resposta
+     * Seleciona até 3 subjects para a busca, preferindo os mais descritivos
      */
-    private List<Livro> buscarLivrosPorSubjects(JsonNode workNode, String isbnOriginal, int maxResultados) {
-        Set<Livro> resultado = new HashSet<>();
-
-        try {
-            if (workNode.has("subject_people")) {
-                resultado.addAll(buscarLivrosPorTermosRelacionados(workNode, "subject_people", isbnOriginal));
-            }
-
-            if (workNode.has("subject_places")) {
-                resultado.addAll(buscarLivrosPorTermosRelacionados(workNode, "subject_places", isbnOriginal));
-            }
-
-            if (workNode.has("subject_times")) {
-                resultado.addAll(buscarLivrosPorTermosRelacionados(workNode, "subject_times", isbnOriginal));
-            }
-            if (resultado.size() < maxResultados) {
-                JsonNode subjectsNode = jsonParser.getArrayNodeOrEmpty(workNode, "subjects");
-                List<String> subjects = new ArrayList<>();
+    private List<String> selecionarSubjects(List<String> subjects) {
+        List<String> filteredSubjects = subjects.stream()
+                .filter(s -> s.length() > 3)
+                .collect(Collectors.toList());
 
-                for (JsonNode subject : subjectsNode) {
-                    if (subject.isTextual()) {
-                        subjects.add(subject.asText());
-                    }
-                }
+        if (filteredSubjects.isEmpty()) {
+            filteredSubjects = subjects;
+        }
 
-                List<String> filteredSubjects = subjects.stream()
-                        .filter(s -> s.length() > 3)
-                        .collect(Collectors.toList());
+        return filteredSubjects.stream()
+                .limit(3)
+                .collect(Collectors.toList());
+    }
 
-                if (filteredSubjects.isEmpty() && !subjects.isEmpty()) {
-                    filteredSubjects = subjects;
-                }
+    /**
+     * Monta a consulta por um termo em uma propriedade
+     * (subject, subject_people, subject_places, subject_times)
+     */
+    private String termoDeBusca(String propertyName, String termo) {
+        return propertyName + ":\"" + termo.replace("\"", "") + "\"";
+    }
 
-                List<String> searchSubjects = filteredSubjects.stream()
-                        .limit(3)
-                        .collect(Collectors.toList());
-
-                if (!searchSubjects.isEmpty()) {
-                    if (workNode.has("subject_works")) {
-                        JsonNode subjectWorksNode = workNode.get("subject_works");
-                        for (JsonNode subjectWork : subjectWorksNode) {
-                            if (subjectWork.has("key")) {
-                                String workKey = subjectWork.get("key").asText();
-                                Optional<Livro> livroOpt = buscarLivroProWorkKey(workKey, isbnOriginal);
-                                if (livroOpt.isPresent()) {
-                                    resultado.add(livroOpt.get());
-
-                                    if (resultado.size() >= maxResultados) {
-                                        break;
-                                    }
-                                }
-                            }
-                        }
-                    }
+    /**
+     * Busca os documentos de uma consulta, já com os campos do candidato
+     */
+    private List<DocumentoBuscaDto> buscarDocumentos(String consulta) throws IOException {
+        return buscarDocumentos(consulta, RESULTADOS_POR_BUSCA);
+    }
 
-                    if (resultado.size() < maxResultados) {
-                        ExecutorService executor = Executors.newFixedThreadPool(Math.min(searchSubjects.size(), 3));
-                        List<Future<List<Livro>>> futures = new ArrayList<>();
-                        for (String subject : searchSubjects) {
-                            futures.add(executor.submit(() -> buscarLivrosPorSubject(subject, isbnOriginal)));
-                        }
-
-                        try {
-                            executor.shutdown();
-                            boolean completed = executor.awaitTermination(SEARCH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
-
-                            if (!completed) {
-                                executor.shutdownNow();
-                            }
-
-                            for (Future<List<Livro>> future : futures) {
-                                if (future.isDone()) {
-                                    try {
-                                        resultado.addAll(future.get());
-                                        if (resultado.size() >= maxResultados) {
-                                            break;
-                                        }
-                                    } catch (ExecutionException e) {
-                                        LOGGER.log(Level.WARNING, "Erro ao processar busca por subject", e);
-                                    }
-                                }
-                            }
-                        } catch (InterruptedException e) {
-                            LOGGER.log(Level.WARNING, "Busca por subjects interrompida", e);
-                            Thread.currentThread().interrupt();
-                        }
-                    }
+    /**
+     * Busca os documentos de uma consulta, já com os campos do candidato
+     */
+    private List<DocumentoBuscaDto> buscarDocumentos(String consulta, int limite) throws IOException {
+        String url = API_WORK_URL + "/search.json?q=" + URLEncoder.encode(consulta, "UTF-8")
+                + "&fields=" + CAMPOS_CANDIDATO + "&limit=" + limite;
+
+        List<DocumentoBuscaDto> documentos = new ArrayList<>();
+        Optional<ResultadoBuscaDto> optBusca = jsonParser.lerBusca(requisicao.executar(url));
+        if (optBusca.isPresent()) {
+            for (DocumentoBuscaDto doc : optBusca.get().getDocumentos()) {
+                if (doc.getKey() != null && doc.getKey().startsWith("/works/")) {
+                    documentos.add(doc);
                 }
             }
-        } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Erro ao buscar livros por subjects", e);
         }
-        return resultado.stream()
-                .limit(maxResultados)
-                .collect(Collectors.toList());
+        return documentos;
     }
 
     /**
-     * Busca livros relacionados pelos termos especializados do work
-     * (subject_people, subject_places, subject_times)
+     * Busca as obras de um subject pelo endpoint de obras relacionadas,
+     * recorrendo à busca textual quando ele não retorna nada
      */
-    private List<Livro> buscarLivrosPorTermosRelacionados(JsonNode workNode, String propertyName, String isbnOriginal) {
-        List<Livro> resultado = new ArrayList<>();
+    private void buscarPorSubject(BuscaRelacionados busca, Ramo ramo, String subject) throws IOException {
+        String relatedUrl = API_WORK_URL + "/related/inside.json?subject="
+                + URLEncoder.encode(subject, "UTF-8") + "&limit=10";
 
-        try {
-            JsonNode termsNode = jsonParser.getArrayNodeOrEmpty(workNode, propertyName);
-            if (!termsNode.isEmpty()) {
-                List<String> termsToSearch = new ArrayList<>();
-                for (int i = 0; i < Math.min(2, termsNode.size()); i++) {
-                    if (termsNode.get(i).isTextual()) {
-                        termsToSearch.add(termsNode.get(i).asText());
-                    }
-                }
-                for (String term : termsToSearch) {
-                    String url = API_WORK_URL + "/search.json?q=" + propertyName + ":\""
-                            + java.net.URLEncoder.encode(term, "UTF-8") + "\"&limit=5";
-
-                    String jsonResponse = httpClient.fazerRequisicaoGet(url);
-                    Optional<JsonNode> optRootNode = jsonParser.parseJsonToNode(jsonResponse);
-
-                    if (optRootNode.isPresent()) {
-                        JsonNode rootNode = optRootNode.get();
-                        JsonNode docsNode = jsonParser.getArrayNodeOrEmpty(rootNode, "docs");
-                        for (JsonNode doc : docsNode) {
-                            if (doc.has("key")) {
-                                String key = doc.get("key").asText();
-                                if (key.startsWith("/works/")) {
-                                    Optional<Livro> livroOpt = buscarLivroProWorkKey(key, isbnOriginal);
-                                    if (livroOpt.isPresent()) {
-                                        resultado.add(livroOpt.get());
-
-                                        if (resultado.size() >= 2) {
-                                            break;
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
+        Optional<ListaObrasDto> optRelacionadas = jsonParser.lerObras(requisicao.executar(relatedUrl));
+        if (optRelacionadas.isPresent()) {
+            List<ReferenciaDto> works = optRelacionadas.get().getWorks();
+            if (works.isEmpty()) {
+                works = optRelacionadas.get().getMatches();
+            }
+            if (!works.isEmpty()) {
+                resolverObras(busca, ramo, extrairKeys(works));
+                return;
             }
-        } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Erro ao buscar livros por " + propertyName, e);
         }
 
-        return resultado;
+        confirmarDocumentos(busca, ramo, buscarDocumentos(termoDeBusca("subject", subject)));
     }
 
     /**
-     * Busca livros por um subject específico usando a resposta do workNode original
-     * para buscar outras obras relevantes
+     * Extrai as keys não nulas das referências
      */
-    private List<Livro> buscarLivrosPorSubject(String subject, String isbnOriginal) {
-        List<Livro> resultado = new ArrayList<>();
-        try {
-            String relatedUrl = API_WORK_URL + "/related/inside.json?subject="
-                    + java.net.URLEncoder.encode(subject, "UTF-8") + "&limit=10";
-
-            String jsonResponse = httpClient.fazerRequisicaoGet(relatedUrl);
-            Optional<JsonNode> optRootNode = jsonParser.parseJsonToNode(jsonResponse);
-
-            if (!optRootNode.isPresent()) {
-                return resultado;
+    private List<String> extrairKeys(List<ReferenciaDto> referencias) {
+        List<String> keys = new ArrayList<>();
+        for (ReferenciaDto referencia : referencias) {
+            if (referencia.getKey() != null) {
+                keys.add(referencia.getKey());
             }
+        }
+        return keys;
+    }
 
-            JsonNode rootNode = optRootNode.get();
-            JsonNode worksNode = jsonParser.getArrayNodeOrEmpty(rootNode, "works");
+    /**
+     * Requisição GET à API do OpenLibrary, retornando o corpo da resposta
+     */
+    @FunctionalInterface
+    interface Requisicao {
+        byte[] executar(String url) throws IOException;
+    }
 
-            if (worksNode.isEmpty() && rootNode.has("matches")) {
-                worksNode = rootNode.get("matches");
-            }
+    /**
+     * Tarefa de uma etapa da busca
+     */
+    @FunctionalInterface
+    private interface TarefaBusca {
+        void executar() throws Exception;
+    }
 
-            for (JsonNode workNode : worksNode) {
-                if (workNode.has("key")) {
-                    String workKey = workNode.get("key").asText();
-                    Optional<Livro> livroOpt = buscarLivroProWorkKey(workKey, isbnOriginal);
-                    if (livroOpt.isPresent()) {
-                        resultado.add(livroOpt.get());
-                        if (resultado.size() >= 2) {
-                            break;
-                        }
-                    }
-                }
-            }
+    /**
+     * Lista de obras de uma estratégia, com sua prioridade e o número máximo de livros aproveitados
+     */
+    private static final class Ramo {
 
-            if (resultado.isEmpty()) {
-                String url = API_WORK_URL + "/search.json?q=subject:\""
-                        + java.net.URLEncoder.encode(subject, "UTF-8") + "\"&limit=5";
-                jsonResponse = httpClient.fazerRequisicaoGet(url);
-                optRootNode = jsonParser.parseJsonToNode(jsonResponse);
-                if (optRootNode.isPresent()) {
-                    rootNode = optRootNode.get();
-                    JsonNode docsNode = jsonParser.getArrayNodeOrEmpty(rootNode, "docs");
-
-                    for (JsonNode doc : docsNode) {
-                        if (doc.has("key")) {
-                            String key = doc.get("key").asText();
-                            if (key.startsWith("/works/")) {
-                                Optional<Livro> livroOpt = buscarLivroProWorkKey(key, isbnOriginal);
-                                if (livroOpt.isPresent()) {
-                                    resultado.add(livroOpt.get());
-
-                                    if (resultado.size() >= 2) {
-                                        break;
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
-            }
+        private final int prioridade;
+        private final int limite;
+        private volatile int confirmados;
 
-        } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Erro ao buscar livros por subject: " + subject, e);
+        private Ramo(int prioridade, int limite) {
+            this.prioridade = prioridade;
+            this.limite = limite;
         }
 
-        return resultado;
+        private boolean isCompleto() {
+            return confirmados >= limite;
+        }
     }
 
     /**
-     * Extrai o ISBN de uma edição
+     * Livro confirmado, com a prioridade da estratégia e a ordem de chegada
      */
-    private String extrairIsbnDaEdicao(JsonNode edicaoNode) {
-        if (edicaoNode.has("isbn_13")) {
-            JsonNode isbn13Node = edicaoNode.get("isbn_13");
-            if (isbn13Node.isArray() && !isbn13Node.isEmpty()) {
-                return isbn13Node.get(0).asText();
-            }
-        }
+    private static final class Candidato {
 
-        if (edicaoNode.has("isbn_10")) {
-            JsonNode isbn10Node = edicaoNode.get("isbn_10");
-            if (isbn10Node.isArray() && !isbn10Node.isEmpty()) {
-                return isbn10Node.get(0).asText();
-            }
-        }
+        private final int prioridade;
+        private final int ordem;
+        private final Livro livro;
 
-        return null;
+        private Candidato(int prioridade, int ordem, Livro livro) {
+            this.prioridade = prioridade;
+            this.ordem = ordem;
+            this.livro = livro;
+        }
     }
 
     /**
-     * Busca um livro pelo workKey
+     * Estado de uma busca de livros relacionados: tarefas em andamento, obras já visitadas
+     * e livros confirmados. A busca se encerra quando há livros suficientes, quando todas as
+     * tarefas terminam ou quando o prazo acaba; ao encerrar, as tarefas pendentes são canceladas
+     * (a interrupção cancela também as requisições HTTP em andamento).
+     * As tarefas rodam no executor do serviço, por padrão o agendador de I/O na via de quem
+     * iniciou a busca.
      */
-    private Optional<Livro> buscarLivroProWorkKey(String workKey, String isbnOriginal) {
-        try {
-            if (!workKey.startsWith("/works/")) {
-                workKey = "/works/" + workKey;
+    private static final class BuscaRelacionados {
+
+        private final String isbnOriginal;
+        private final int maxResultados;
+        private final long prazo;
+        private final long inicio = System.nanoTime();
+
+        private final List<Candidato> confirmados = new ArrayList<>();
+        private final Set<String> isbnsConfirmados = new HashSet<>();
+        private final Set<String> obrasVisitadas = ConcurrentHashMap.newKeySet();
+        private final Queue<TarefaAgendada> tarefas = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendentes = new AtomicInteger();
+        private final CountDownLatch fim = new CountDownLatch(1);
+        private final AtomicBoolean encerrada = new AtomicBoolean();
+        private volatile boolean interrompida;
+        private final Executor executor;
+        private final Consumer<Livro> aoConfirmar;
+
+        private BuscaRelacionados(String isbnOriginal, int maxResultados, Consumer<Livro> aoConfirmar,
+                                  Executor executor, long prazoMs) {
+            this.isbnOriginal = isbnOriginal;
+            this.maxResultados = maxResultados;
+            this.aoConfirmar = aoConfirmar;
+            this.executor = executor;
+            this.prazo = inicio + TimeUnit.MILLISECONDS.toNanos(prazoMs);
+        }
+
+        /**
+         * Agenda uma tarefa da busca, a menos que ela já tenha sido encerrada
+         */
+        private void executar(TarefaBusca tarefa) {
+            if (encerrada.get()) {
+                return;
+            }
+            pendentes.incrementAndGet();
+            TarefaAgendada futura = new TarefaAgendada(() -> {
+                try {
+                    if (!encerrada.get()) {
+                        tarefa.executar();
+                    }
+                } catch (Exception e) {
+                    if (!encerrada.get()) {
+                        interrompida = true;
+                        LOGGER.log(Level.WARNING, "Erro na busca de livros relacionados para ISBN: " + isbnOriginal, e);
+                    }
+                } finally {
+                    if (pendentes.decrementAndGet() == 0) {
+                        encerrar();
+                    }
+                }
+            });
+            tarefas.add(futura);
+            executor.execute(futura);
+        }
+
+        /**
+         * Marca a obra como visitada, retornando false se outra estratégia já a encontrou
+         */
+        private boolean registrarObra(String workKey) {
+            return !encerrada.get() && obrasVisitadas.add(workKey);
+        }
+
+        /**
+         * Confirma um livro encontrado pelo ramo e o entrega ao consumidor,
+         * encerrando a busca ao atingir maxResultados
+         */
+        private void confirmar(Ramo ramo, Livro livro) {
+            boolean completa;
+            synchronized (this) {
+                // O limite é verificado aqui, pois encerrar() roda fora do bloqueio
+                if (encerrada.get() || confirmados.size() >= maxResultados || ramo.isCompleto()
+                        || livro.getIsbn() == null || livro.getIsbn().equals(isbnOriginal)
+                        || !isbnsConfirmados.add(livro.getIsbn())) {
+                    return;
+                }
+
+                ramo.confirmados++;
+                confirmados.add(new Candidato(ramo.prioridade, confirmados.size(), livro));
+                completa = confirmados.size() >= maxResultados;
             }
 
-            String jsonResponse = httpClient.fazerRequisicaoGet(API_WORK_URL + workKey + API_FORMAT);
-            Optional<JsonNode> optWorkNode = jsonParser.parseJsonToNode(jsonResponse);
-            if (!optWorkNode.isPresent()) {
-                return Optional.empty();
+            try {
+                aoConfirmar.accept(livro);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Erro ao entregar livro relacionado: " + livro.getIsbn(), e);
             }
+            if (completa) {
+                encerrar();
+            }
+        }
 
-            JsonNode workNode = optWorkNode.get();
-            if (!workNode.has("title")) {
-                return Optional.empty();
+        /**
+         * Aguarda o fim da busca (limitado pelo prazo) e retorna os livros em ordem de prioridade.
+         * Se a busca foi iniciada por uma tarefa do agendador, ela libera sua vaga enquanto aguarda.
+         */
+        private List<Livro> aguardar() {
+            try (AgendadorIO.Espera espera = AgendadorIO.iniciarEspera()) {
+                if (!fim.await(prazo - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    LOGGER.log(Level.INFO, "Prazo da busca de livros relacionados esgotado para ISBN: " + isbnOriginal);
+                    interrompida = true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                interrompida = true;
             }
+            encerrar();
 
-            String editionsUrl = API_WORK_URL + workKey + "/editions.json?limit=1";
-            String editionsResponse = httpClient.fazerRequisicaoGet(editionsUrl);
-            Optional<JsonNode> optEditionsNode = jsonParser.parseJsonToNode(editionsResponse);
-            if (!optEditionsNode.isPresent()) {
-                return Optional.empty();
+            List<Candidato> ordenados;
+            synchronized (this) {
+                ordenados = new ArrayList<>(confirmados);
             }
+            ordenados.sort(Comparator.comparingInt((Candidato c) -> c.prioridade).thenComparingInt(c -> c.ordem));
+
+            LOGGER.log(Level.FINE, "Busca de livros relacionados concluída em {0} ms",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+            return ordenados.stream()
+                    .limit(maxResultados)
+                    .map(c -> c.livro)
+                    .collect(Collectors.toList());
+        }
+
+        /**
+         * Indica se a busca terminou pelo prazo, por interrupção ou por falha de alguma tarefa,
+         * e não por ter encontrado livros suficientes ou esgotado as estratégias
+         */
+        private boolean isInterrompida() {
+            return interrompida;
+        }
 
-            JsonNode editionsNode = optEditionsNode.get();
-            JsonNode entries = jsonParser.getArrayNodeOrEmpty(editionsNode, "entries");
-            if (entries.isEmpty()) {
-                return Optional.empty();
+        /**
+         * Encerra a busca e cancela as tarefas pendentes. A tarefa que encerra a busca não
+         * interrompe a própria thread, que pode ser a de quem aguarda (executor direto).
+         */
+        private void encerrar() {
+            if (!encerrada.compareAndSet(false, true)) {
+                return;
             }
+            fim.countDown();
+            Thread atual = Thread.currentThread();
+            for (TarefaAgendada tarefa : tarefas) {
+                tarefa.cancel(tarefa.executora != atual);
+            }
+        }
+    }
 
-            JsonNode firstEdition = entries.get(0);
-            String isbn = extrairIsbnDaEdicao(firstEdition);
-            if (isbn == null || isbn.equals(isbnOriginal)) {
-                return Optional.empty();
+    /**
+     * Tarefa agendada da busca, que registra a thread que a executa
+     */
+    private static final class TarefaAgendada extends FutureTask<Void> {
+
+        private volatile Thread executora;
+
+        private TarefaAgendada(Runnable tarefa) {
+            super(tarefa, null);
+        }
+
+        @Override
+        public void run() {
+            executora = Thread.currentThread();
+            try {
+                super.run();
+            } finally {
+                executora = null;
             }
-            return openLibraryService.buscarLivroPorIsbn(isbn);
-        } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Erro ao buscar livro pelo workKey: " + workKey, e);
-            return Optional.empty();
         }
     }
 }
@@ -0,0 +1,611 @@
+package br.com.hadryan.app.service.busca;
+
+import br.com.hadryan.app.model.entity.Autor;
+import br.com.hadryan.app.model.entity.Livro;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido em memória sobre os termos de título, autores e editora dos livros.
+ * Os termos são normalizados sem acentos e indexados também por trigramas, o que permite
+ * buscas por substring e tolerantes a erros de digitação sem consultar o banco de dados.
+ * Implementa o padrão Singleton, sendo mantido atualizado pelos listeners do Hibernate.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public final class IndiceLivros {
+
+    private static final Logger LOGGER = Logger.getLogger(IndiceLivros.class.getName());
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final char CAMPO_TITULO = 't';
+    private static final char CAMPO_AUTOR = 'a';
+    private static final char CAMPO_EDITORA = 'e';
+
+    private static final int PONTOS_EXATO = 3;
+    private static final int PONTOS_SUBSTRING = 2;
+    private static final int PONTOS_APROXIMADO = 1;
+    private static final int LIMITE_TRIGRAMA_FREQUENTE = 50_000;
+
+    private static final IndiceLivros INSTANCE = new IndiceLivros();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> termoPorTexto = new HashMap<>();
+    private final List<String> textoPorTermo = new ArrayList<>();
+    private final List<ListaInt> postingsPorTermo = new ArrayList<>();
+    private final Map<String, ListaInt> termosPorTrigrama = new HashMap<>();
+
+    private final Map<Long, Integer> documentoPorId = new HashMap<>();
+    private final Deque<Integer> documentosLivres = new ArrayDeque<>();
+    private long[] idPorDocumento = new long[1024];
+    private String[] isbnPorDocumento = new String[1024];
+    private String[] dataPorDocumento = new String[1024];
+    private int[][] termosPorDocumento = new int[1024][];
+    private int proximoDocumento;
+
+    // Alterações recebidas durante uma reconstrução, reaplicadas sobre o snapshot carregado
+    private List<Runnable> alteracoesPendentes;
+
+    private volatile boolean pronto;
+
+    /**
+     * Construtor restrito - padrão Singleton (visível no pacote para os testes)
+     */
+    IndiceLivros() {
+    }
+
+    /**
+     * Retorna a instância única do índice
+     */
+    public static IndiceLivros getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Indica se o índice já foi carregado e pode responder pesquisas
+     */
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    /**
+     * Reconstrói o índice a partir da lista completa de livros fornecida pelo carregador.
+     * As indexações e remoções confirmadas enquanto o carregador executa são guardadas e
+     * reaplicadas sobre o snapshot, para que um commit concorrente não seja sobrescrito
+     * por uma versão mais antiga do livro.
+     */
+    public void reconstruir(Supplier<? extends Collection<Livro>> carregador) {
+        long inicio = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            alteracoesPendentes = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Collection<Livro> livros;
+        try {
+            livros = carregador.get();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                alteracoesPendentes = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        int reaplicadas;
+        lock.writeLock().lock();
+        try {
+            termoPorTexto.clear();
+            textoPorTermo.clear();
+            postingsPorTermo.clear();
+            termosPorTrigrama.clear();
+            documentoPorId.clear();
+            documentosLivres.clear();
+            proximoDocumento = 0;
+
+            for (Livro livro : livros) {
+                indexarInterno(livro);
+            }
+            reaplicadas = alteracoesPendentes.size();
+            for (Runnable alteracao : alteracoesPendentes) {
+                alteracao.run();
+            }
+            alteracoesPendentes = null;
+            pronto = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LOGGER.info("Índice de livros reconstruído com " + livros.size() + " livros e " + reaplicadas
+                + " alterações concorrentes em " + (System.nanoTime() - inicio) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Indexa ou reindexa um livro
+     */
+    public void indexar(Livro livro) {
+        if (livro == null || livro.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            aplicar(() -> indexarInterno(livro));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um livro do índice
+     */
+    public void remover(Long id) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            aplicar(() -> removerInterno(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica a alteração ao índice e, durante uma reconstrução, a guarda para reaplicação
+     * sobre o snapshot. Deve ser chamado com o lock de escrita.
+     */
+    private void aplicar(Runnable alteracao) {
+        alteracao.run();
+        if (alteracoesPendentes != null) {
+            alteracoesPendentes.add(alteracao);
+        }
+    }
+
+    /**
+     * Verifica se o filtro possui algum critério textual que o índice consegue atender
+     */
+    public boolean suporta(Livro filtro) {
+        return !tokenizar(filtro.getTitulo()).isEmpty()
+                || (filtro.getAutores() != null && !filtro.getAutores().isEmpty())
+                || (filtro.getEditora() != null && !tokenizar(filtro.getEditora().getNome()).isEmpty());
+    }
+
+    /**
+     * Pesquisa livros pelos critérios do filtro, retornando até maxResultados IDs ordenados
+     * por relevância. Todos os termos informados precisam corresponder, de forma exata,
+     * por substring ou aproximada (distância de edição), ao respectivo campo do livro.
+     */
+    public List<Long> pesquisar(Livro filtro, int maxResultados) {
+        List<String[]> consultas = new ArrayList<>();
+        adicionarConsulta(consultas, CAMPO_TITULO, filtro.getTitulo());
+        if (filtro.getAutores() != null && !filtro.getAutores().isEmpty()) {
+            Autor autor = filtro.getAutores().iterator().next();
+            adicionarConsulta(consultas, CAMPO_AUTOR, autor.getNome());
+        }
+        if (filtro.getEditora() != null) {
+            adicionarConsulta(consultas, CAMPO_EDITORA, filtro.getEditora().getNome());
+        }
+        if (consultas.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String isbn = filtro.getIsbn();
+        String data = filtro.getDataPublicacao() != null ? filtro.getDataPublicacao().toLowerCase() : null;
+
+        lock.readLock().lock();
+        try {
+            Documentos encontrados = null;
+            for (String[] consulta : consultas) {
+                Documentos documentos = buscarDocumentos(consulta[0].charAt(0), consulta[1]);
+                encontrados = encontrados == null ? documentos : encontrados.intersectar(documentos);
+                if (encontrados.tamanho == 0) {
+                    return new ArrayList<>();
+                }
+            }
+
+            long[] ordenados = new long[encontrados.tamanho];
+            int quantidade = 0;
+            for (int i = 0; i < encontrados.tamanho; i++) {
+                int documento = encontrados.documentos[i];
+                if (isbn != null && !isbn.isEmpty()
+                        && (isbnPorDocumento[documento] == null || !isbnPorDocumento[documento].contains(isbn))) {
+                    continue;
+                }
+                if (data != null && !data.isEmpty()
+                        && (dataPorDocumento[documento] == null || !dataPorDocumento[documento].contains(data))) {
+                    continue;
+                }
+                ordenados[quantidade++] = ((long) (Integer.MAX_VALUE - encontrados.pontos[i]) << 32) | documento;
+            }
+            Arrays.sort(ordenados, 0, quantidade);
+
+            int limite = Math.min(quantidade, maxResultados);
+            List<Long> ids = new ArrayList<>(limite);
+            for (int i = 0; i < limite; i++) {
+                ids.add(idPorDocumento[(int) ordenados[i]]);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adiciona cada token do texto como uma consulta no campo informado
+     */
+    private void adicionarConsulta(List<String[]> consultas, char campo, String texto) {
+        for (String token : tokenizar(texto)) {
+            consultas.add(new String[]{String.valueOf(campo), token});
+        }
+    }
+
+    /**
+     * Busca os documentos que possuem no campo um termo correspondente ao token.
+     * A correspondência aproximada só é tentada quando não há termo exato nem substring,
+     * funcionando como tolerância a erros de digitação.
+     */
+    private Documentos buscarDocumentos(char campo, String token) {
+        ListaInt termos = new ListaInt();
+        Map<Integer, Integer> pontosPorTermo = new HashMap<>();
+
+        Integer exato = termoPorTexto.get(campo + token);
+        if (exato != null) {
+            termos.adicionar(exato);
+            pontosPorTermo.put(exato, PONTOS_EXATO);
+        }
+
+        if (token.length() >= 3) {
+            for (int termo : termosContendoSubstring(campo, token)) {
+                termos.adicionar(termo);
+                pontosPorTermo.putIfAbsent(termo, PONTOS_SUBSTRING);
+            }
+        } else if (token.length() == 2) {
+            ListaInt prefixados = termosPorTrigrama.get(campo + "$" + token);
+            if (prefixados != null) {
+                for (int i = 0; i < prefixados.tamanho(); i++) {
+                    int termo = prefixados.get(i);
+                    if (textoPorTermo.get(termo).startsWith(token, 1)) {
+                        termos.adicionar(termo);
+                        pontosPorTermo.putIfAbsent(termo, PONTOS_SUBSTRING);
+                    }
+                }
+            }
+        }
+
+        if (termos.tamanho() == 0 && token.length() >= 4) {
+            for (int termo : termosAproximados(campo, token)) {
+                termos.adicionar(termo);
+                pontosPorTermo.put(termo, PONTOS_APROXIMADO);
+            }
+        }
+
+        int total = 0;
+        for (int i = 0; i < termos.tamanho(); i++) {
+            total += postingsPorTermo.get(termos.get(i)).tamanho();
+        }
+
+        // Documento nos 32 bits altos e pontuação nos baixos: após ordenar, o último de cada
+        // sequência do mesmo documento carrega a maior pontuação
+        long[] pares = new long[total];
+        int k = 0;
+        for (int i = 0; i < termos.tamanho(); i++) {
+            int termo = termos.get(i);
+            int pontos = pontosPorTermo.get(termo);
+            ListaInt postings = postingsPorTermo.get(termo);
+            for (int j = 0; j < postings.tamanho(); j++) {
+                pares[k++] = ((long) postings.get(j) << 32) | pontos;
+            }
+        }
+        if (termos.tamanho() > 1) {
+            Arrays.sort(pares);
+        }
+
+        Documentos documentos = new Documentos(total);
+        for (int i = 0; i < total; i++) {
+            int documento = (int) (pares[i] >>> 32);
+            if (i + 1 < total && (int) (pares[i + 1] >>> 32) == documento) {
+                continue;
+            }
+            documentos.adicionar(documento, (int) pares[i]);
+        }
+        return documentos;
+    }
+
+    /**
+     * Encontra os termos do campo que contêm o token, intersectando as listas dos seus trigramas
+     */
+    private List<Integer> termosContendoSubstring(char campo, String token) {
+        List<ListaInt> listas = new ArrayList<>();
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            ListaInt lista = termosPorTrigrama.get(campo + token.substring(i, i + 3));
+            if (lista == null) {
+                return Collections.emptyList();
+            }
+            listas.add(lista);
+        }
+        listas.sort(Comparator.comparingInt(ListaInt::tamanho));
+
+        List<Integer> resultado = new ArrayList<>();
+        ListaInt menor = listas.get(0);
+        for (int i = 0; i < menor.tamanho(); i++) {
+            int termo = menor.get(i);
+            if (textoPorTermo.get(termo).indexOf(token, 1) >= 0) {
+                resultado.add(termo);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Encontra os termos do campo a uma distância de edição pequena do token,
+     * usando a contagem de trigramas em comum para descartar candidatos distantes.
+     * Trigramas muito frequentes são ignorados na contagem, reduzindo o mínimo exigido.
+     */
+    private List<Integer> termosAproximados(char campo, String token) {
+        int distanciaMaxima = token.length() <= 6 ? 1 : 2;
+        List<String> trigramas = trigramas(token);
+        int minimoEmComum = trigramas.size() - 3 * distanciaMaxima;
+
+        List<ListaInt> listas = new ArrayList<>();
+        int total = 0;
+        for (String trigrama : trigramas) {
+            ListaInt lista = termosPorTrigrama.get(campo + trigrama);
+            if (lista == null) {
+                continue;
+            }
+            if (lista.tamanho() > LIMITE_TRIGRAMA_FREQUENTE) {
+                minimoEmComum--;
+                continue;
+            }
+            listas.add(lista);
+            total += lista.tamanho();
+        }
+        if (minimoEmComum < 1) {
+            return Collections.emptyList();
+        }
+
+        int[] candidatos = new int[total];
+        int k = 0;
+        for (ListaInt lista : listas) {
+            for (int i = 0; i < lista.tamanho(); i++) {
+                candidatos[k++] = lista.get(i);
+            }
+        }
+        Arrays.sort(candidatos);
+
+        List<Integer> resultado = new ArrayList<>();
+        for (int i = 0; i < total; ) {
+            int termo = candidatos[i];
+            int fim = i;
+            while (fim < total && candidatos[fim] == termo) {
+                fim++;
+            }
+            if (fim - i >= minimoEmComum) {
+                String texto = textoPorTermo.get(termo).substring(1);
+                if (Math.abs(texto.length() - token.length()) <= distanciaMaxima
+                        && distanciaEdicao(texto, token, distanciaMaxima) <= distanciaMaxima) {
+                    resultado.add(termo);
+                }
+            }
+            i = fim;
+        }
+        return resultado;
+    }
+
+    /**
+     * Indexa o livro substituindo os termos de uma indexação anterior
+     */
+    private void indexarInterno(Livro livro) {
+        if (livro.getId() == null) {
+            return;
+        }
+
+        Integer documento = documentoPorId.get(livro.getId());
+        if (documento != null) {
+            removerTermosDoDocumento(documento);
+        } else {
+            documento = documentosLivres.isEmpty() ? proximoDocumento++ : documentosLivres.pop();
+            garantirCapacidade(documento);
+            documentoPorId.put(livro.getId(), documento);
+        }
+
+        Set<String> termos = new LinkedHashSet<>();
+        for (String token : tokenizar(livro.getTitulo())) {
+            termos.add(CAMPO_TITULO + token);
+        }
+        if (livro.getAutores() != null) {
+            for (Autor autor : livro.getAutores()) {
+                for (String token : tokenizar(autor.getNome())) {
+                    termos.add(CAMPO_AUTOR + token);
+                }
+            }
+        }
+        if (livro.getEditora() != null) {
+            for (String token : tokenizar(livro.getEditora().getNome())) {
+                termos.add(CAMPO_EDITORA + token);
+            }
+        }
+
+        int[] termosDoDocumento = new int[termos.size()];
+        int i = 0;
+        for (String termo : termos) {
+            int idTermo = obterOuCriarTermo(termo);
+            postingsPorTermo.get(idTermo).adicionar(documento);
+            termosDoDocumento[i++] = idTermo;
+        }
+
+        idPorDocumento[documento] = livro.getId();
+        isbnPorDocumento[documento] = livro.getIsbn();
+        dataPorDocumento[documento] = livro.getDataPublicacao() != null ? livro.getDataPublicacao().toLowerCase() : null;
+        termosPorDocumento[documento] = termosDoDocumento;
+    }
+
+    /**
+     * Remove o livro e libera o seu documento para reutilização
+     */
+    private void removerInterno(Long id) {
+        Integer documento = documentoPorId.remove(id);
+        if (documento != null) {
+            removerTermosDoDocumento(documento);
+            isbnPorDocumento[documento] = null;
+            dataPorDocumento[documento] = null;
+            documentosLivres.push(documento);
+        }
+    }
+
+    /**
+     * Remove o documento das posting lists dos termos em que foi indexado
+     */
+    private void removerTermosDoDocumento(int documento) {
+        int[] termos = termosPorDocumento[documento];
+        if (termos != null) {
+            for (int termo : termos) {
+                postingsPorTermo.get(termo).remover(documento);
+            }
+        }
+        termosPorDocumento[documento] = null;
+    }
+
+    /**
+     * Retorna o identificador de um termo, registrando-o e aos seus trigramas se for novo
+     */
+    private int obterOuCriarTermo(String termo) {
+        Integer existente = termoPorTexto.get(termo);
+        if (existente != null) {
+            return existente;
+        }
+
+        int idTermo = textoPorTermo.size();
+        termoPorTexto.put(termo, idTermo);
+        textoPorTermo.add(termo);
+        postingsPorTermo.add(new ListaInt());
+
+        char campo = termo.charAt(0);
+        for (String trigrama : trigramas(termo.substring(1))) {
+            termosPorTrigrama.computeIfAbsent(campo + trigrama, k -> new ListaInt()).adicionar(idTermo);
+        }
+        return idTermo;
+    }
+
+    private void garantirCapacidade(int documento) {
+        if (documento < idPorDocumento.length) {
+            return;
+        }
+        int novaCapacidade = Math.max(documento + 1, idPorDocumento.length * 2);
+        idPorDocumento = Arrays.copyOf(idPorDocumento, novaCapacidade);
+        isbnPorDocumento = Arrays.copyOf(isbnPorDocumento, novaCapacidade);
+        dataPorDocumento = Arrays.copyOf(dataPorDocumento, novaCapacidade);
+        termosPorDocumento = Arrays.copyOf(termosPorDocumento, novaCapacidade);
+    }
+
+    /**
+     * Normaliza o texto (minúsculas, sem acentos) e o divide em tokens
+     */
+    static List<String> tokenizar(String texto) {
+        if (texto == null || texto.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String semAcentos = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARADORES.split(semAcentos.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Gera os trigramas do termo delimitado por '$' no início e no fim
+     */
+    private static List<String> trigramas(String termo) {
+        String delimitado = "$" + termo + "$";
+        List<String> trigramas = new ArrayList<>();
+        for (int i = 0; i + 3 <= delimitado.length(); i++) {
+            trigramas.add(delimitado.substring(i, i + 3));
+        }
+        return trigramas;
+    }
+
+    /**
+     * Distância de Levenshtein com interrupção antecipada quando excede o limite
+     */
+    private static int distanciaEdicao(String a, String b, int limite) {
+        int[] anterior = new int[b.length() + 1];
+        int[] atual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            atual[0] = i;
+            int menorDaLinha = atual[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int custo = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                atual[j] = Math.min(Math.min(atual[j - 1] + 1, anterior[j] + 1), anterior[j - 1] + custo);
+                menorDaLinha = Math.min(menorDaLinha, atual[j]);
+            }
+            if (menorDaLinha > limite) {
+                return limite + 1;
+            }
+            int[] troca = anterior;
+            anterior = atual;
+            atual = troca;
+        }
+        return anterior[b.length()];
+    }
+
+    /**
+     * Conjunto de documentos ordenado pelo número do documento, com a pontuação de cada um
+     */
+    private static final class Documentos {
+        private final int[] documentos;
+        private final int[] pontos;
+        private int tamanho;
+
+        Documentos(int capacidade) {
+            this.documentos = new int[capacidade];
+            this.pontos = new int[capacidade];
+        }
+
+        void adicionar(int documento, int pontuacao) {
+            documentos[tamanho] = documento;
+            pontos[tamanho] = pontuacao;
+            tamanho++;
+        }
+
+        /**
+         * Intersecta dois conjuntos somando as pontuações dos documentos em comum
+         */
+        Documentos intersectar(Documentos outro) {
+            Documentos resultado = new Documentos(Math.min(tamanho, outro.tamanho));
+            int i = 0;
+            int j = 0;
+            while (i < tamanho && j < outro.tamanho) {
+                if (documentos[i] < outro.documentos[j]) {
+                    i++;
+                } else if (documentos[i] > outro.documentos[j]) {
+                    j++;
+                } else {
+                    resultado.adicionar(documentos[i], pontos[i] + outro.pontos[j]);
+                    i++;
+                    j++;
+                }
+            }
+            return resultado;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.hadryan.app.service.busca;
+
+import br.com.hadryan.app.model.entity.Livro;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Listener de eventos do Hibernate que mantém o índice de livros em memória
+ * sincronizado com as inserções, atualizações e exclusões confirmadas no banco.
+ * Os eventos de coleção (autores do livro) ocorrem no flush, antes do commit, por isso
+ * apenas agendam a reindexação do livro para depois da conclusão da transação.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public class IndiceLivrosListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener, PostCollectionUpdateEventListener, PostCollectionRecreateEventListener {
+
+    private static final long serialVersionUID = 1L;
+    private static final Logger LOGGER = Logger.getLogger(IndiceLivrosListener.class.getName());
+
+    private final IndiceLivros indice;
+
+    /**
+     * Construtor que recebe o índice a ser mantido
+     */
+    public IndiceLivrosListener(IndiceLivros indice) {
+        this.indice = indice;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        indexar(event.getEntity());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nada a desfazer: o livro só é indexado após o commit
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        indexar(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nada a desfazer: o livro só é reindexado após o commit
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Livro) {
+            indice.remover((Long) event.getId());
+        }
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nada a desfazer: o livro só é removido após o commit
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        indexarAposCommit(event);
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        indexarAposCommit(event);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return Livro.class.isAssignableFrom(persister.getMappedClass());
+    }
+
+    /**
+     * Método abstrato com o nome antigo, ainda exigido pela interface do Hibernate 5
+     */
+    @Override
+    @Deprecated
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return requiresPostCommitHandling(persister);
+    }
+
+    /**
+     * Agenda a reindexação do livro dono da coleção para depois da transação,
+     * executada apenas se o commit for bem-sucedido
+     */
+    private void indexarAposCommit(AbstractCollectionEvent event) {
+        Object dono = event.getAffectedOwnerOrNull();
+        if (!(dono instanceof Livro)) {
+            return;
+        }
+        event.getSession().getActionQueue().registerProcess((sucesso, session) -> {
+            if (sucesso) {
+                indexar(dono);
+            }
+        });
+    }
+
+    /**
+     * Reindexa a entidade se for um livro, sem interromper a operação em caso de falha
+     */
+    private void indexar(Object entidade) {
+        if (!(entidade instanceof Livro)) {
+            return;
+        }
+        try {
+            indice.indexar((Livro) entidade);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Erro ao atualizar índice de livros", e);
+        }
+    }
+}
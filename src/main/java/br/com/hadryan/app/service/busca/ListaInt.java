@@ -0,0 +1,71 @@
+package br.com.hadryan.app.service.busca;
+
+import java.util.Arrays;
+
+/**
+ * Lista ordenada de inteiros primitivos usada como posting list do índice.
+ * Mantém os valores em ordem crescente e sem repetição.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+final class ListaInt {
+
+    private static final int[] VAZIO = new int[0];
+
+    private int[] valores = VAZIO;
+    private int tamanho;
+
+    /**
+     * Insere um valor mantendo a ordenação
+     */
+    void adicionar(int valor) {
+        if (tamanho > 0 && valores[tamanho - 1] < valor) {
+            garantirCapacidade();
+            valores[tamanho++] = valor;
+            return;
+        }
+
+        int pos = Arrays.binarySearch(valores, 0, tamanho, valor);
+        if (pos >= 0) {
+            return;
+        }
+
+        pos = -(pos + 1);
+        garantirCapacidade();
+        System.arraycopy(valores, pos, valores, pos + 1, tamanho - pos);
+        valores[pos] = valor;
+        tamanho++;
+    }
+
+    /**
+     * Remove um valor, se presente
+     */
+    void remover(int valor) {
+        int pos = Arrays.binarySearch(valores, 0, tamanho, valor);
+        if (pos < 0) {
+            return;
+        }
+
+        System.arraycopy(valores, pos + 1, valores, pos, tamanho - pos - 1);
+        tamanho--;
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    int get(int indice) {
+        return valores[indice];
+    }
+
+    int[] paraArray() {
+        return Arrays.copyOf(valores, tamanho);
+    }
+
+    private void garantirCapacidade() {
+        if (tamanho == valores.length) {
+            valores = Arrays.copyOf(valores, Math.max(4, tamanho + (tamanho >> 1)));
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package br.com.hadryan.app.service.dicionario;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Arquivo de registros acrescentados ao final, usado pelos índices persistentes que ficam inteiros
+ * em memória (dicionário de autores, índice de works e cache de livros relacionados).
+ * O arquivo começa com um número mágico e cada registro traz o tamanho do conteúdo, o conteúdo
+ * e o CRC32 do conteúdo. Ao abrir, os registros são lidos para o mapa do dono, com o último
+ * registro de cada chave prevalecendo; registros corrompidos no final (ex.: queda durante a gravação)
+ * são descartados. Quando há muitos registros obsoletos, o arquivo é reescrito com o conteúdo do mapa.
+ * Sem arquivo, ou após um erro ao abrir, nada é gravado e o dono funciona apenas em memória.
+ *
+ * @param <K> tipo da chave dos registros
+ * @param <V> tipo do valor dos registros
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public final class ArquivoRegistros<K, V> {
+
+    private static final Logger LOGGER = Logger.getLogger(ArquivoRegistros.class.getName());
+
+    private static final int TAMANHO_MAXIMO_REGISTRO = 1024 * 1024;
+
+    /**
+     * Conversão entre os registros e o conteúdo gravado no arquivo
+     */
+    public interface Formato<K, V> {
+
+        /**
+         * Escreve o conteúdo do registro
+         */
+        void escrever(DataOutput saida, K chave, V valor) throws IOException;
+
+        /**
+         * Lê o conteúdo de um registro e o coloca no mapa, podendo descartá-lo (ex.: registro expirado)
+         */
+        void ler(DataInput entrada, Map<K, V> destino) throws IOException;
+    }
+
+    private final String descricao;
+    private final Path arquivo;
+    private final int magico;
+    private final int folgaReescrita;
+    private final Formato<K, V> formato;
+    private final Map<K, V> registrosAtuais;
+    private FileChannel canal;
+    private int registros;
+
+    /**
+     * Construtor com a descrição usada nos logs, o arquivo (null para funcionar apenas em memória),
+     * o número mágico do formato, quantos registros obsoletos são tolerados antes da reescrita,
+     * o formato dos registros e o mapa do dono, que recebe os registros lidos e é a fonte da reescrita
+     */
+    public ArquivoRegistros(String descricao, Path arquivo, int magico, int folgaReescrita,
+                            Formato<K, V> formato, Map<K, V> registrosAtuais) {
+        this.descricao = descricao;
+        this.arquivo = arquivo;
+        this.magico = magico;
+        this.folgaReescrita = folgaReescrita;
+        this.formato = formato;
+        this.registrosAtuais = registrosAtuais;
+    }
+
+    /**
+     * Carrega o arquivo no mapa e o deixa aberto para novas gravações.
+     * Em caso de erro o dono funciona apenas em memória.
+     */
+    public synchronized void abrir() {
+        if (arquivo == null) {
+            return;
+        }
+        try {
+            if (arquivo.getParent() != null) {
+                Files.createDirectories(arquivo.getParent());
+            }
+            long tamanhoValido = carregar();
+            canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (canal.size() > tamanhoValido) {
+                LOGGER.warning("Descartando registros corrompidos no final do " + descricao);
+                canal.truncate(tamanhoValido);
+            }
+            canal.position(tamanhoValido);
+            if (tamanhoValido == 0) {
+                canal.write(ByteBuffer.allocate(4).putInt(0, magico));
+            }
+            if (registros > 2 * registrosAtuais.size() + folgaReescrita) {
+                reescrever();
+            }
+            LOGGER.info("Arquivo do " + descricao + " carregado com " + registrosAtuais.size()
+                    + " entradas de " + arquivo);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Não foi possível abrir o arquivo do " + descricao
+                    + ". Utilizando apenas memória.", e);
+            fecharCanal();
+        }
+    }
+
+    /**
+     * Acrescenta um registro ao final do arquivo
+     */
+    public synchronized void gravar(K chave, V valor) {
+        if (canal == null) {
+            return;
+        }
+        try {
+            canal.write(ByteBuffer.wrap(serializar(chave, valor)));
+            registros++;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Erro ao gravar registro no " + descricao + ": " + chave, e);
+        }
+    }
+
+    /**
+     * Grava pendências em disco e fecha o arquivo
+     */
+    public synchronized void fechar() {
+        if (canal == null) {
+            return;
+        }
+        try {
+            canal.force(false);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Erro ao fechar o arquivo do " + descricao, e);
+        }
+        fecharCanal();
+    }
+
+    /**
+     * Lê os registros do arquivo, retornando o tamanho da parte válida
+     */
+    private long carregar() throws IOException {
+        if (!Files.exists(arquivo)) {
+            return 0;
+        }
+
+        long tamanhoValido = 0;
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(arquivo)))) {
+            if (entrada.readInt() != magico) {
+                LOGGER.warning("Arquivo do " + descricao + " inválido ou em formato antigo, será recriado: " + arquivo);
+                return 0;
+            }
+            tamanhoValido = 4;
+
+            while (true) {
+                int tamanho = entrada.readInt();
+                if (tamanho <= 0 || tamanho > TAMANHO_MAXIMO_REGISTRO) {
+                    break;
+                }
+                byte[] conteudo = new byte[tamanho];
+                entrada.readFully(conteudo);
+                long crc = entrada.readInt() & 0xFFFFFFFFL;
+                if (crc != calcularCrc(conteudo)) {
+                    break;
+                }
+                formato.ler(new DataInputStream(new ByteArrayInputStream(conteudo)), registrosAtuais);
+                registros++;
+                tamanhoValido += 4 + tamanho + 4;
+            }
+        } catch (EOFException e) {
+            // Fim do arquivo ou registro incompleto
+        }
+        return tamanhoValido;
+    }
+
+    /**
+     * Reescreve o arquivo apenas com os registros atuais, descartando os obsoletos
+     */
+    private void reescrever() throws IOException {
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        try (FileChannel novo = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(novo)))) {
+            saida.writeInt(magico);
+            for (Map.Entry<K, V> registro : registrosAtuais.entrySet()) {
+                saida.write(serializar(registro.getKey(), registro.getValue()));
+            }
+            saida.flush();
+            novo.force(false);
+        }
+
+        canal.close();
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        canal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        canal.position(canal.size());
+        registros = registrosAtuais.size();
+    }
+
+    /**
+     * Serializa um registro: tamanho do conteúdo, conteúdo e CRC32 do conteúdo
+     */
+    private byte[] serializar(K chave, V valor) throws IOException {
+        ByteArrayOutputStream conteudo = new ByteArrayOutputStream(64);
+        formato.escrever(new DataOutputStream(conteudo), chave, valor);
+        byte[] bytes = conteudo.toByteArray();
+        if (bytes.length > TAMANHO_MAXIMO_REGISTRO) {
+            throw new IOException("Registro muito grande: " + bytes.length + " bytes");
+        }
+
+        ByteBuffer registro = ByteBuffer.allocate(4 + bytes.length + 4);
+        registro.putInt(bytes.length).put(bytes).putInt((int) calcularCrc(bytes));
+        return registro.array();
+    }
+
+    private void fecharCanal() {
+        if (canal == null) {
+            return;
+        }
+        try {
+            canal.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Erro ao fechar o arquivo do " + descricao, e);
+        }
+        canal = null;
+    }
+
+    private static long calcularCrc(byte[] conteudo) {
+        CRC32 crc = new CRC32();
+        crc.update(conteudo);
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.hadryan.app.service.dicionario;
+
+import br.com.hadryan.app.config.AppConfig;
+import com.typesafe.config.Config;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Dicionário persistente de autores do OpenLibrary (key -> nome).
+ * As keys (/authors/OL123A) são guardadas apenas pelo número, e o dicionário inteiro
+ * fica em memória. Cada autor novo é acrescentado ao final do arquivo de registros
+ * ({@link ArquivoRegistros}), que é lido por completo ao iniciar.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public class DicionarioAutores {
+
+    private static final int MAGICO = 0x4C424432;
+    private static final Pattern PADRAO_KEY = Pattern.compile("/authors/OL(\\d+)A");
+
+    private static DicionarioAutores instance;
+    private final Map<Long, String> nomes = new ConcurrentHashMap<>();
+    private final ArquivoRegistros<Long, String> arquivo;
+
+    /**
+     * Construtor privado - padrão Singleton
+     */
+    private DicionarioAutores() {
+        Config config = AppConfig.getInstance().getConfig("dicionario-autores");
+        this.arquivo = new ArquivoRegistros<>("dicionário de autores",
+                config.getBoolean("habilitado") ? Paths.get(config.getString("arquivo")) : null,
+                MAGICO, 1000, new FormatoAutor(), nomes);
+        arquivo.abrir();
+    }
+
+    /**
+     * Retorna a instância única do dicionário
+     */
+    public static synchronized DicionarioAutores getInstance() {
+        if (instance == null) {
+            instance = new DicionarioAutores();
+        }
+        return instance;
+    }
+
+    /**
+     * Busca o nome do autor pela key (/authors/OL123A)
+     */
+    public Optional<String> buscar(String authorKey) {
+        long numero = extrairNumero(authorKey);
+        return numero < 0 ? Optional.empty() : Optional.ofNullable(nomes.get(numero));
+    }
+
+    /**
+     * Registra o nome do autor, gravando-o no arquivo se for novo ou tiver mudado
+     */
+    public void registrar(String authorKey, String nome) {
+        long numero = extrairNumero(authorKey);
+        if (numero < 0 || nome == null || nome.trim().isEmpty()) {
+            return;
+        }
+
+        String anterior = nomes.put(numero, nome);
+        if (!nome.equals(anterior)) {
+            arquivo.gravar(numero, nome);
+        }
+    }
+
+    /**
+     * Retorna o número de autores no dicionário
+     */
+    public int getQuantidade() {
+        return nomes.size();
+    }
+
+    /**
+     * Grava pendências em disco e fecha o arquivo
+     */
+    public void fechar() {
+        arquivo.fechar();
+    }
+
+    /**
+     * Extrai o número da key do autor, ou -1 se a key não estiver no formato esperado.
+     * Aceita a key sozinha ou dentro de uma URL (ex.: https://openlibrary.org/authors/OL123A/Nome).
+     */
+    static long extrairNumero(String authorKey) {
+        if (authorKey == null) {
+            return -1;
+        }
+        Matcher matcher = PADRAO_KEY.matcher(authorKey);
+        if (!matcher.find()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(matcher.group(1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Registro do arquivo: número do autor e nome
+     */
+    private static final class FormatoAutor implements ArquivoRegistros.Formato<Long, String> {
+
+        @Override
+        public void escrever(DataOutput saida, Long numero, String nome) throws IOException {
+            saida.writeLong(numero);
+            saida.writeUTF(nome);
+        }
+
+        @Override
+        public void ler(DataInput entrada, Map<Long, String> destino) throws IOException {
+            long numero = entrada.readLong();
+            destino.put(numero, entrada.readUTF());
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package br.com.hadryan.app.service.dicionario;
+
+import br.com.hadryan.app.config.AppConfig;
+import com.typesafe.config.Config;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Índice persistente de ISBN para work do OpenLibrary (ISBN -> /works/OL123W).
+ * O ISBN é guardado como número (ISBN-10 convertido para ISBN-13) e o work apenas pelo número,
+ * de modo que o índice inteiro fica em memória.
+ * Cobre qualquer ISBN já consultado, inclusive os que não estão no acervo, e é gravado no
+ * mesmo arquivo de registros do dicionário de autores ({@link ArquivoRegistros}).
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public class IndiceWorks {
+
+    private static final int MAGICO = 0x4C425732;
+    private static final Pattern PADRAO_KEY = Pattern.compile("/works/OL(\\d+)W");
+
+    private static IndiceWorks instance;
+    private final Map<Long, Long> works = new ConcurrentHashMap<>();
+    private final ArquivoRegistros<Long, Long> arquivo;
+
+    /**
+     * Construtor privado - padrão Singleton
+     */
+    private IndiceWorks() {
+        Config config = AppConfig.getInstance().getConfig("indice-works");
+        this.arquivo = new ArquivoRegistros<>("índice de works",
+                config.getBoolean("habilitado") ? Paths.get(config.getString("arquivo")) : null,
+                MAGICO, 1000, new FormatoWork(), works);
+        arquivo.abrir();
+    }
+
+    /**
+     * Retorna a instância única do índice
+     */
+    public static synchronized IndiceWorks getInstance() {
+        if (instance == null) {
+            instance = new IndiceWorks();
+        }
+        return instance;
+    }
+
+    /**
+     * Busca a key do work (/works/OL123W) de um ISBN-10 ou ISBN-13
+     */
+    public Optional<String> buscar(String isbn) {
+        long numero = converterIsbn(isbn);
+        if (numero < 0) {
+            return Optional.empty();
+        }
+        Long work = works.get(numero);
+        return work == null ? Optional.empty() : Optional.of("/works/OL" + work + "W");
+    }
+
+    /**
+     * Registra o work do ISBN, gravando-o no arquivo se for novo ou tiver mudado
+     */
+    public void registrar(String isbn, String workKey) {
+        long numero = converterIsbn(isbn);
+        long work = extrairNumero(workKey);
+        if (numero < 0 || work < 0) {
+            return;
+        }
+
+        Long anterior = works.put(numero, work);
+        if (anterior == null || anterior != work) {
+            arquivo.gravar(numero, work);
+        }
+    }
+
+    /**
+     * Retorna o número de ISBNs no índice
+     */
+    public int getQuantidade() {
+        return works.size();
+    }
+
+    /**
+     * Grava pendências em disco e fecha o arquivo
+     */
+    public void fechar() {
+        arquivo.fechar();
+    }
+
+    /**
+     * Converte o ISBN para o número do ISBN-13, ou -1 se não for um ISBN-10 ou ISBN-13.
+     * ISBN-10 recebe o prefixo 978 e o dígito verificador do ISBN-13, para que as duas formas
+     * do mesmo livro tenham a mesma chave.
+     */
+    static long converterIsbn(String isbn) {
+        if (isbn == null) {
+            return -1;
+        }
+        String normalizado = isbn.replaceAll("[^0-9Xx]", "").toUpperCase();
+        if (normalizado.length() == 10 && normalizado.substring(0, 9).matches("\\d{9}")) {
+            String semDigito = "978" + normalizado.substring(0, 9);
+            int soma = 0;
+            for (int i = 0; i < semDigito.length(); i++) {
+                soma += (semDigito.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+            }
+            normalizado = semDigito + ((10 - soma % 10) % 10);
+        }
+        if (normalizado.length() != 13 || !normalizado.matches("\\d{13}")) {
+            return -1;
+        }
+        return Long.parseLong(normalizado);
+    }
+
+    /**
+     * Extrai o número da key do work, ou -1 se a key não estiver no formato esperado
+     */
+    static long extrairNumero(String workKey) {
+        if (workKey == null) {
+            return -1;
+        }
+        Matcher matcher = PADRAO_KEY.matcher(workKey);
+        if (!matcher.find()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(matcher.group(1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Registro do arquivo: número do ISBN-13 e número do work
+     */
+    private static final class FormatoWork implements ArquivoRegistros.Formato<Long, Long> {
+
+        @Override
+        public void escrever(DataOutput saida, Long isbn, Long work) throws IOException {
+            saida.writeLong(isbn);
+            saida.writeLong(work);
+        }
+
+        @Override
+        public void ler(DataInput entrada, Map<Long, Long> destino) throws IOException {
+            long isbn = entrada.readLong();
+            destino.put(isbn, entrada.readLong());
+        }
+    }
+}
@@ -0,0 +1,466 @@
+package br.com.hadryan.app.service.espelho;
+
+import br.com.hadryan.app.config.AppConfig;
+import br.com.hadryan.app.config.JpaConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Locale;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Espelho local do OpenLibrary, montado a partir dos dumps por IngestaoDumps.
+ * Responde às mesmas URLs usadas pelos serviços (edição por ISBN, work, autor, edições
+ * de um work, obras de um autor, obras por assunto, as buscas por assunto, autor ou keys
+ * usadas nos livros relacionados e a consulta em lote /api/books) com o JSON guardado no banco,
+ * de modo que as consultas funcionam sem acesso à rede. URLs não atendidas ou não
+ * encontradas no espelho retornam null e seguem para a API.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public class EspelhoOpenLibrary {
+
+    private static final Logger LOGGER = Logger.getLogger(EspelhoOpenLibrary.class.getName());
+
+    private static final String PREFIXO_API = AppConfig.getInstance().getConfig("openlibrary").getString("url-base");
+    private static final int LIMITE_PADRAO = 10;
+    private static final int LIMITE_MAXIMO = 100;
+
+    private static final Pattern URL_ISBN = Pattern.compile("^/isbn/([0-9X]{10,13})\\.json$");
+    private static final Pattern URL_WORK = Pattern.compile("^(/works/OL\\d+W)\\.json$");
+    private static final Pattern URL_AUTOR = Pattern.compile("^(/authors/OL\\d+A)\\.json$");
+    private static final Pattern URL_EDICOES_WORK = Pattern.compile("^(/works/OL\\d+W)/editions\\.json$");
+    private static final Pattern URL_OBRAS_AUTOR = Pattern.compile("^(/authors/OL\\d+A)/works\\.json$");
+    private static final Pattern PARAMETRO_LIMITE = Pattern.compile("(?:^|&)limit=(\\d+)");
+    private static final Pattern PARAMETRO_ASSUNTO = Pattern.compile("(?:^|&)subject=([^&]+)");
+    private static final Pattern PARAMETRO_CONSULTA = Pattern.compile("(?:^|&)q=([^&]+)");
+    private static final Pattern CONSULTA_ASSUNTO = Pattern.compile("^subject:\"([^\"]+)\"$");
+    private static final Pattern CONSULTA_KEYS = Pattern.compile("^key:\\((.+)\\)$");
+    private static final Pattern CONSULTA_AUTOR = Pattern.compile("^author_key:(OL\\d+A)$");
+    private static final Pattern PARAMETRO_BIBKEYS = Pattern.compile("(?:^|&)bibkeys=([^&]+)");
+    private static final String PREFIXO_BIBKEY_ISBN = "ISBN:";
+
+    private static final String SQL_EDICAO =
+            "SELECT e.json FROM ol_edicao_isbn i JOIN ol_edicao e ON e.edition_key = i.edition_key WHERE i.isbn = ?";
+    private static final String SQL_WORK = "SELECT json FROM ol_work WHERE work_key = ?";
+    private static final String SQL_AUTOR = "SELECT json FROM ol_autor WHERE author_key = ?";
+    private static final String SQL_EDICOES_WORK =
+            "SELECT json FROM ol_edicao WHERE work_key = ? ORDER BY edition_key LIMIT ?";
+    private static final String SQL_OBRAS_AUTOR =
+            "SELECT work_key FROM ol_work_autor WHERE author_key = ? ORDER BY work_key LIMIT ?";
+    private static final String SQL_OBRAS_ASSUNTO =
+            "SELECT work_key FROM ol_assunto WHERE assunto = ? ORDER BY work_key LIMIT ?";
+    private static final String SQL_DOCUMENTOS =
+            "SELECT w.work_key, w.json, "
+                    + "(SELECT i.isbn FROM ol_edicao e JOIN ol_edicao_isbn i ON i.edition_key = e.edition_key "
+                    + "WHERE e.work_key = w.work_key ORDER BY length(i.isbn) DESC, i.isbn LIMIT 1), "
+                    + "(SELECT array_agg(a.json::json->>'name' ORDER BY a.author_key) FROM ol_work_autor wa "
+                    + "JOIN ol_autor a ON a.author_key = wa.author_key WHERE wa.work_key = w.work_key) "
+                    + "FROM ol_work w WHERE w.work_key = ANY (?)";
+    private static final String SQL_EDICOES_ISBNS =
+            "SELECT i.isbn, e.json FROM ol_edicao_isbn i JOIN ol_edicao e ON e.edition_key = i.edition_key WHERE i.isbn = ANY (?)";
+    private static final String SQL_WORKS = "SELECT work_key, json FROM ol_work WHERE work_key = ANY (?)";
+    private static final String SQL_NOMES_AUTORES =
+            "SELECT author_key, json::json->>'name' FROM ol_autor WHERE author_key = ANY (?)";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static EspelhoOpenLibrary instance;
+    private final DataSource dataSource;
+
+    /**
+     * Construtor privado - padrão Singleton
+     */
+    private EspelhoOpenLibrary() {
+        this.dataSource = AppConfig.getInstance().getConfig("espelho").getBoolean("habilitado")
+                ? verificarTabelas(JpaConfig.getInstance().getDataSource())
+                : null;
+    }
+
+    /**
+     * Retorna a instância única do espelho
+     */
+    public static synchronized EspelhoOpenLibrary getInstance() {
+        if (instance == null) {
+            instance = new EspelhoOpenLibrary();
+        }
+        return instance;
+    }
+
+    /**
+     * Indica se o espelho está habilitado e populado
+     */
+    public boolean isDisponivel() {
+        return dataSource != null;
+    }
+
+    /**
+     * Retorna o JSON que a API responderia para a URL, ou null se o espelho não puder atendê-la
+     */
+    public byte[] buscar(String url) {
+        if (dataSource == null || !url.startsWith(PREFIXO_API)) {
+            return null;
+        }
+
+        String caminho = url.substring(PREFIXO_API.length());
+        String parametros = "";
+        int inicioParametros = caminho.indexOf('?');
+        if (inicioParametros >= 0) {
+            parametros = caminho.substring(inicioParametros + 1);
+            caminho = caminho.substring(0, inicioParametros);
+        }
+
+        try {
+            Matcher matcher;
+            if ((matcher = URL_ISBN.matcher(caminho)).matches()) {
+                return consultarJson(SQL_EDICAO, matcher.group(1));
+            }
+            if ((matcher = URL_WORK.matcher(caminho)).matches()) {
+                return consultarJson(SQL_WORK, matcher.group(1));
+            }
+            if ((matcher = URL_AUTOR.matcher(caminho)).matches()) {
+                return consultarJson(SQL_AUTOR, matcher.group(1));
+            }
+            if ((matcher = URL_EDICOES_WORK.matcher(caminho)).matches()) {
+                return montarLista("entries", consultarLista(SQL_EDICOES_WORK, matcher.group(1), extrairLimite(parametros)), true);
+            }
+            if ((matcher = URL_OBRAS_AUTOR.matcher(caminho)).matches()) {
+                return montarLista("entries", consultarLista(SQL_OBRAS_AUTOR, matcher.group(1), extrairLimite(parametros)), false);
+            }
+            if (caminho.equals("/related/inside.json")) {
+                return buscarPorAssunto(PARAMETRO_ASSUNTO, parametros, "works");
+            }
+            if (caminho.equals("/search.json")) {
+                return buscarDocumentos(parametros);
+            }
+            if (caminho.equals("/api/books")) {
+                return buscarLivros(parametros);
+            }
+        } catch (SQLException | IOException e) {
+            LOGGER.log(Level.WARNING, "Erro ao consultar o espelho do OpenLibrary: " + url, e);
+        }
+        return null;
+    }
+
+    /**
+     * Normaliza um assunto para a chave usada em ol_assunto
+     */
+    static String normalizarAssunto(String assunto) {
+        String normalizado = assunto.trim().toLowerCase(Locale.ROOT);
+        return normalizado.length() > 255 ? normalizado.substring(0, 255) : normalizado;
+    }
+
+    /**
+     * Verifica se as tabelas do espelho existem; caso contrário o espelho fica desabilitado
+     */
+    private static DataSource verificarTabelas(DataSource dataSource) {
+        try (Connection conexao = dataSource.getConnection();
+             PreparedStatement stmt = conexao.prepareStatement("SELECT to_regclass('ol_edicao_isbn') IS NOT NULL");
+             ResultSet rs = stmt.executeQuery()) {
+            if (rs.next() && rs.getBoolean(1)) {
+                LOGGER.info("Espelho local do OpenLibrary habilitado");
+                return dataSource;
+            }
+            LOGGER.warning("Espelho do OpenLibrary habilitado, mas as tabelas não existem. Execute IngestaoDumps.");
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Não foi possível verificar o espelho do OpenLibrary", e);
+        }
+        return null;
+    }
+
+    /**
+     * Monta a resposta de uma busca de obras por assunto
+     */
+    private byte[] buscarPorAssunto(Pattern padrao, String parametros, String campo)
+            throws SQLException, UnsupportedEncodingException {
+        Matcher matcher = padrao.matcher(parametros);
+        if (!matcher.find()) {
+            return null;
+        }
+        String assunto = normalizarAssunto(URLDecoder.decode(matcher.group(1), StandardCharsets.UTF_8.name()));
+        return montarLista(campo, consultarLista(SQL_OBRAS_ASSUNTO, assunto, extrairLimite(parametros)), false);
+    }
+
+    /**
+     * Monta a resposta de /search.json para as consultas por assunto, por autor ou por keys,
+     * com os campos key, title, isbn e author_name de cada obra
+     */
+    private byte[] buscarDocumentos(String parametros) throws SQLException, UnsupportedEncodingException {
+        Matcher matcher = PARAMETRO_CONSULTA.matcher(parametros);
+        if (!matcher.find()) {
+            return null;
+        }
+        String consulta = URLDecoder.decode(matcher.group(1), StandardCharsets.UTF_8.name()).trim();
+        int limite = extrairLimite(parametros);
+
+        List<String> workKeys;
+        if ((matcher = CONSULTA_ASSUNTO.matcher(consulta)).matches()) {
+            workKeys = consultarLista(SQL_OBRAS_ASSUNTO, normalizarAssunto(matcher.group(1)), limite);
+        } else if ((matcher = CONSULTA_AUTOR.matcher(consulta)).matches()) {
+            workKeys = consultarLista(SQL_OBRAS_AUTOR, "/authors/" + matcher.group(1), limite);
+        } else if ((matcher = CONSULTA_KEYS.matcher(consulta)).matches()) {
+            workKeys = new ArrayList<>();
+            for (String key : matcher.group(1).split(" OR ")) {
+                if (workKeys.size() < limite) {
+                    workKeys.add(key.trim());
+                }
+            }
+        } else {
+            return null;
+        }
+        if (workKeys.isEmpty()) {
+            return null;
+        }
+
+        Map<String, ObjectNode> documentos = new HashMap<>();
+        try (Connection conexao = dataSource.getConnection();
+             PreparedStatement stmt = conexao.prepareStatement(SQL_DOCUMENTOS)) {
+            stmt.setArray(1, conexao.createArrayOf("varchar", workKeys.toArray()));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    documentos.put(rs.getString(1), montarDocumento(rs));
+                }
+            }
+        }
+
+        // Mantém a ordem da consulta; keys ausentes do espelho são omitidas
+        ObjectNode raiz = OBJECT_MAPPER.createObjectNode();
+        ArrayNode docs = raiz.putArray("docs");
+        for (String workKey : workKeys) {
+            if (documentos.containsKey(workKey)) {
+                docs.add(documentos.get(workKey));
+            }
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(raiz);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Erro ao montar resposta do espelho", e);
+            return null;
+        }
+    }
+
+    /**
+     * Monta a resposta de /api/books?jscmd=data para os ISBNs do parâmetro bibkeys, com título,
+     * data de publicação, editoras e autores (os da edição ou, se ela não os lista, os do work).
+     * Só responde quando todos os ISBNs estão no espelho; caso contrário o lote segue para a API.
+     */
+    private byte[] buscarLivros(String parametros) throws SQLException, IOException {
+        Matcher matcher = PARAMETRO_BIBKEYS.matcher(parametros);
+        if (!parametros.contains("jscmd=data") || !matcher.find()) {
+            return null;
+        }
+        Set<String> isbns = new LinkedHashSet<>();
+        for (String bibkey : URLDecoder.decode(matcher.group(1), StandardCharsets.UTF_8.name()).split(",")) {
+            if (!bibkey.trim().startsWith(PREFIXO_BIBKEY_ISBN)) {
+                return null;
+            }
+            isbns.add(bibkey.trim().substring(PREFIXO_BIBKEY_ISBN.length()));
+        }
+
+        Map<String, JsonNode> edicoes = new HashMap<>();
+        Map<String, List<String>> autoresPorIsbn = new HashMap<>();
+        Map<String, String> nomesAutores;
+        try (Connection conexao = dataSource.getConnection()) {
+            for (Map.Entry<String, String> edicao : consultarPorChaves(conexao, SQL_EDICOES_ISBNS, isbns).entrySet()) {
+                edicoes.put(edicao.getKey(), OBJECT_MAPPER.readTree(edicao.getValue()));
+            }
+            if (edicoes.size() < isbns.size()) {
+                return null;
+            }
+
+            Map<String, String> workPorIsbn = new HashMap<>();
+            Set<String> chavesAutores = new LinkedHashSet<>();
+            for (String isbn : isbns) {
+                List<String> autores = new ArrayList<>();
+                for (JsonNode autor : edicoes.get(isbn).path("authors")) {
+                    adicionarTexto(autores, autor.path("key"));
+                }
+                String workKey = edicoes.get(isbn).path("works").path(0).path("key").asText(null);
+                if (autores.isEmpty() && workKey != null) {
+                    workPorIsbn.put(isbn, workKey);
+                }
+                autoresPorIsbn.put(isbn, autores);
+                chavesAutores.addAll(autores);
+            }
+
+            if (!workPorIsbn.isEmpty()) {
+                Map<String, String> works = consultarPorChaves(conexao, SQL_WORKS, workPorIsbn.values());
+                for (Map.Entry<String, String> entrada : workPorIsbn.entrySet()) {
+                    String json = works.get(entrada.getValue());
+                    if (json == null) {
+                        continue;
+                    }
+                    for (JsonNode autor : OBJECT_MAPPER.readTree(json).path("authors")) {
+                        adicionarTexto(autoresPorIsbn.get(entrada.getKey()), autor.path("author").path("key"));
+                    }
+                    chavesAutores.addAll(autoresPorIsbn.get(entrada.getKey()));
+                }
+            }
+            nomesAutores = consultarPorChaves(conexao, SQL_NOMES_AUTORES, chavesAutores);
+        }
+
+        ObjectNode raiz = OBJECT_MAPPER.createObjectNode();
+        for (String isbn : isbns) {
+            JsonNode edicao = edicoes.get(isbn);
+            ObjectNode livro = raiz.putObject(PREFIXO_BIBKEY_ISBN + isbn);
+            livro.put("key", edicao.path("key").asText(null));
+            livro.put("title", edicao.path("title").asText(null));
+            livro.put("publish_date", edicao.path("publish_date").asText(null));
+            ArrayNode editoras = livro.putArray("publishers");
+            for (JsonNode editora : edicao.path("publishers")) {
+                if (editora.isTextual()) {
+                    editoras.addObject().put("name", editora.asText());
+                }
+            }
+            ArrayNode autores = livro.putArray("authors");
+            for (String chave : autoresPorIsbn.get(isbn)) {
+                String nome = nomesAutores.get(chave);
+                if (nome != null) {
+                    autores.addObject().put("name", nome).put("url", PREFIXO_API + chave);
+                }
+            }
+        }
+        return OBJECT_MAPPER.writeValueAsBytes(raiz);
+    }
+
+    private static void adicionarTexto(List<String> valores, JsonNode no) {
+        if (no.isTextual() && !valores.contains(no.asText())) {
+            valores.add(no.asText());
+        }
+    }
+
+    /**
+     * Executa uma consulta por uma lista de chaves, retornando a segunda coluna indexada pela primeira
+     */
+    private Map<String, String> consultarPorChaves(Connection conexao, String sql, Collection<String> chaves)
+            throws SQLException {
+        Map<String, String> valores = new HashMap<>();
+        if (chaves.isEmpty()) {
+            return valores;
+        }
+        try (PreparedStatement stmt = conexao.prepareStatement(sql)) {
+            stmt.setArray(1, conexao.createArrayOf("varchar", chaves.toArray()));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    valores.put(rs.getString(1), rs.getString(2));
+                }
+            }
+        }
+        return valores;
+    }
+
+    private ObjectNode montarDocumento(ResultSet rs) throws SQLException {
+        ObjectNode documento = OBJECT_MAPPER.createObjectNode();
+        documento.put("key", rs.getString(1));
+        try {
+            documento.put("title", OBJECT_MAPPER.readTree(rs.getString(2)).path("title").asText(null));
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "JSON inválido no espelho", e);
+        }
+        if (rs.getString(3) != null) {
+            documento.putArray("isbn").add(rs.getString(3));
+        }
+        Array autores = rs.getArray(4);
+        if (autores != null) {
+            ArrayNode nomes = documento.putArray("author_name");
+            for (Object nome : (Object[]) autores.getArray()) {
+                if (nome != null) {
+                    nomes.add(nome.toString());
+                }
+            }
+        }
+        return documento;
+    }
+
+    private byte[] consultarJson(String sql, String chave) throws SQLException {
+        try (Connection conexao = dataSource.getConnection();
+             PreparedStatement stmt = conexao.prepareStatement(sql)) {
+            stmt.setString(1, chave);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString(1).getBytes(StandardCharsets.UTF_8) : null;
+            }
+        }
+    }
+
+    private List<String> consultarLista(String sql, String chave, int limite) throws SQLException {
+        List<String> valores = new ArrayList<>();
+        try (Connection conexao = dataSource.getConnection();
+             PreparedStatement stmt = conexao.prepareStatement(sql)) {
+            stmt.setString(1, chave);
+            stmt.setInt(2, limite);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    valores.add(rs.getString(1));
+                }
+            }
+        }
+        return valores;
+    }
+
+    /**
+     * Monta um objeto JSON com uma lista no campo informado. Os itens são documentos JSON
+     * completos ou apenas keys (convertidas em {"key": ...}). Lista vazia retorna null,
+     * deixando a consulta seguir para a API.
+     */
+    private byte[] montarLista(String campo, List<String> itens, boolean documentos) {
+        if (itens.isEmpty()) {
+            return null;
+        }
+
+        ObjectNode raiz = OBJECT_MAPPER.createObjectNode();
+        ArrayNode lista = raiz.putArray(campo);
+        for (String item : itens) {
+            if (documentos) {
+                try {
+                    lista.add(OBJECT_MAPPER.readTree(item));
+                } catch (IOException e) {
+                    LOGGER.log(Level.FINE, "JSON inválido no espelho", e);
+                }
+            } else {
+                lista.addObject().put("key", item);
+            }
+        }
+
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(raiz);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Erro ao montar resposta do espelho", e);
+            return null;
+        }
+    }
+
+    private int extrairLimite(String parametros) {
+        Matcher matcher = PARAMETRO_LIMITE.matcher(parametros);
+        if (!matcher.find()) {
+            return LIMITE_PADRAO;
+        }
+        try {
+            return Math.min(LIMITE_MAXIMO, Math.max(1, Integer.parseInt(matcher.group(1))));
+        } catch (NumberFormatException e) {
+            return LIMITE_PADRAO;
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package br.com.hadryan.app.service.espelho;
+
+import br.com.hadryan.app.config.AppConfig;
+import br.com.hadryan.app.config.DataSourceConfig;
+import br.com.hadryan.app.config.MetricasPool;
+import br.com.hadryan.app.service.json.AutorWorkDto;
+import br.com.hadryan.app.service.json.EdicaoDto;
+import br.com.hadryan.app.service.json.ReferenciaDto;
+import br.com.hadryan.app.service.json.WorkDto;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Importa os dumps do OpenLibrary (ol_dump_editions, ol_dump_works e ol_dump_authors,
+ * compactados com gzip) para as tabelas do espelho local.
+ * Os arquivos são lidos em streaming, linha a linha, e gravados em lotes com upsert,
+ * de modo que a importação pode ser repetida com dumps mais novos.
+ * Cada linha do dump tem o formato: tipo, key, revisão, data de modificação e JSON,
+ * separados por tabulação.
+ *
+ * <p>Uso: {@code java -cp ... br.com.hadryan.app.service.espelho.IngestaoDumps arquivo.txt.gz ...}</p>
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public class IngestaoDumps {
+
+    private static final Logger LOGGER = Logger.getLogger(IngestaoDumps.class.getName());
+
+    private static final String SCRIPT_TABELAS = "/META-INF/sql/espelho-openlibrary.sql";
+    private static final int TAMANHO_BUFFER = 1 << 20;
+    private static final int INTERVALO_PROGRESSO = 1_000_000;
+
+    private static final String TIPO_EDICAO = "/type/edition";
+    private static final String TIPO_WORK = "/type/work";
+    private static final String TIPO_AUTOR = "/type/author";
+
+    private static final String SQL_EDICAO = "INSERT INTO ol_edicao (edition_key, work_key, json) VALUES (?, ?, ?) "
+            + "ON CONFLICT (edition_key) DO UPDATE SET work_key = EXCLUDED.work_key, json = EXCLUDED.json";
+    private static final String SQL_REMOVER_ISBNS = "DELETE FROM ol_edicao_isbn WHERE edition_key = ?";
+    private static final String SQL_ISBN = "INSERT INTO ol_edicao_isbn (isbn, edition_key) VALUES (?, ?) "
+            + "ON CONFLICT (isbn) DO UPDATE SET edition_key = EXCLUDED.edition_key";
+    private static final String SQL_WORK = "INSERT INTO ol_work (work_key, json) VALUES (?, ?) "
+            + "ON CONFLICT (work_key) DO UPDATE SET json = EXCLUDED.json";
+    private static final String SQL_AUTOR = "INSERT INTO ol_autor (author_key, json) VALUES (?, ?) "
+            + "ON CONFLICT (author_key) DO UPDATE SET json = EXCLUDED.json";
+    private static final String SQL_REMOVER_WORK_AUTORES = "DELETE FROM ol_work_autor WHERE work_key = ?";
+    private static final String SQL_REMOVER_ASSUNTOS = "DELETE FROM ol_assunto WHERE work_key = ?";
+    private static final String SQL_WORK_AUTOR = "INSERT INTO ol_work_autor (author_key, work_key) VALUES (?, ?) "
+            + "ON CONFLICT DO NOTHING";
+    private static final String SQL_ASSUNTO = "INSERT INTO ol_assunto (assunto, work_key) VALUES (?, ?) "
+            + "ON CONFLICT DO NOTHING";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private static final ObjectReader LEITOR_EDICAO = OBJECT_MAPPER.readerFor(EdicaoDto.class);
+    private static final ObjectReader LEITOR_WORK = OBJECT_MAPPER.readerFor(WorkDto.class);
+
+    private final DataSource dataSource;
+    private final int tamanhoLote;
+
+    /**
+     * Cria a ingestão gravando no DataSource informado
+     */
+    public IngestaoDumps(DataSource dataSource, int tamanhoLote) {
+        this.dataSource = dataSource;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * Executa a ingestão dos arquivos informados na linha de comando
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Uso: IngestaoDumps <ol_dump_*.txt.gz> [...]");
+            System.exit(2);
+        }
+
+        try (HikariDataSource dataSource = DataSourceConfig.criarDataSource(
+                AppConfig.getInstance().getConfig("datasource"), new MetricasPool())) {
+            IngestaoDumps ingestao = new IngestaoDumps(dataSource,
+                    AppConfig.getInstance().getConfig("espelho").getInt("tamanho-lote"));
+            ingestao.criarTabelas();
+            for (String arquivo : args) {
+                ingestao.importar(Paths.get(arquivo));
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Erro na ingestão dos dumps do OpenLibrary", e);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Cria as tabelas do espelho, caso ainda não existam
+     */
+    public void criarTabelas() throws IOException, SQLException {
+        try (InputStream script = IngestaoDumps.class.getResourceAsStream(SCRIPT_TABELAS);
+             BufferedReader leitor = new BufferedReader(new InputStreamReader(script, StandardCharsets.UTF_8));
+             Connection conexao = dataSource.getConnection();
+             Statement stmt = conexao.createStatement()) {
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                linha = linha.trim();
+                if (!linha.isEmpty() && !linha.startsWith("--")) {
+                    stmt.execute(linha);
+                }
+            }
+        }
+    }
+
+    /**
+     * Importa um arquivo de dump, retornando o número de registros gravados
+     */
+    public long importar(Path arquivo) throws IOException, SQLException {
+        LOGGER.info("Importando dump do OpenLibrary: " + arquivo);
+        long inicio = System.nanoTime();
+        long linhas = 0;
+        long gravados = 0;
+
+        try (BufferedReader leitor = abrir(arquivo);
+             Connection conexao = dataSource.getConnection()) {
+            conexao.setAutoCommit(false);
+            try (Lote lote = new Lote(conexao)) {
+                String linha;
+                while ((linha = leitor.readLine()) != null) {
+                    linhas++;
+                    if (processarLinha(linha, lote)) {
+                        gravados++;
+                    }
+                    if (lote.pendentes >= tamanhoLote) {
+                        lote.executar();
+                    }
+                    if (linhas % INTERVALO_PROGRESSO == 0) {
+                        LOGGER.info(String.format("%s: %,d linhas lidas, %,d registros gravados",
+                                arquivo.getFileName(), linhas, gravados));
+                    }
+                }
+                lote.executar();
+            }
+        }
+
+        LOGGER.info(String.format("%s importado: %,d registros em %d s",
+                arquivo.getFileName(), gravados, (System.nanoTime() - inicio) / 1_000_000_000L));
+        return gravados;
+    }
+
+    /**
+     * Abre o arquivo, descompactando-o se terminar em .gz
+     */
+    private static BufferedReader abrir(Path arquivo) throws IOException {
+        InputStream entrada = Files.newInputStream(arquivo);
+        if (arquivo.getFileName().toString().endsWith(".gz")) {
+            entrada = new GZIPInputStream(entrada, TAMANHO_BUFFER);
+        }
+        return new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+    }
+
+    /**
+     * Processa uma linha do dump, retornando true se algum registro foi gravado
+     */
+    private boolean processarLinha(String linha, Lote lote) throws SQLException {
+        String[] colunas = linha.split("\t", 5);
+        if (colunas.length < 5) {
+            return false;
+        }
+
+        String tipo = colunas[0];
+        String key = colunas[1];
+        String json = colunas[4];
+
+        try {
+            switch (tipo) {
+                case TIPO_EDICAO:
+                    return processarEdicao(key, json, lote);
+                case TIPO_WORK:
+                    return processarWork(key, json, lote);
+                case TIPO_AUTOR:
+                    lote.autores.setString(1, key);
+                    lote.autores.setString(2, json);
+                    lote.adicionar(lote.autores);
+                    return true;
+                default:
+                    return false;
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Registro inválido no dump: " + key, e);
+            return false;
+        }
+    }
+
+    /**
+     * Grava a edição uma única vez, pela edition key, e associa a ela cada um de seus ISBNs.
+     * Edições sem ISBN são ignoradas; os ISBNs de uma importação anterior são removidos antes,
+     * como as associações do work.
+     */
+    private boolean processarEdicao(String key, String json, Lote lote) throws IOException, SQLException {
+        EdicaoDto edicao = LEITOR_EDICAO.readValue(json);
+
+        Set<String> isbns = new LinkedHashSet<>();
+        adicionarIsbns(isbns, edicao.getIsbn13());
+        adicionarIsbns(isbns, edicao.getIsbn10());
+        if (isbns.isEmpty()) {
+            return false;
+        }
+
+        String workKey = null;
+        for (ReferenciaDto work : edicao.getWorks()) {
+            if (work.getKey() != null) {
+                workKey = work.getKey();
+                break;
+            }
+        }
+
+        lote.edicoes.setString(1, key);
+        lote.edicoes.setString(2, workKey);
+        lote.edicoes.setString(3, json);
+        lote.adicionar(lote.edicoes);
+
+        lote.removerIsbns.setString(1, key);
+        lote.adicionar(lote.removerIsbns);
+        for (String isbn : isbns) {
+            lote.isbns.setString(1, isbn);
+            lote.isbns.setString(2, key);
+            lote.adicionar(lote.isbns);
+        }
+        return true;
+    }
+
+    /**
+     * Grava o work, seus autores e seus assuntos. As associações gravadas por uma importação
+     * anterior são removidas antes, para que autores e assuntos retirados do work não permaneçam.
+     */
+    private boolean processarWork(String key, String json, Lote lote) throws IOException, SQLException {
+        WorkDto work = LEITOR_WORK.readValue(json);
+
+        lote.works.setString(1, key);
+        lote.works.setString(2, json);
+        lote.adicionar(lote.works);
+
+        lote.removerWorksAutores.setString(1, key);
+        lote.adicionar(lote.removerWorksAutores);
+        lote.removerAssuntos.setString(1, key);
+        lote.adicionar(lote.removerAssuntos);
+
+        for (AutorWorkDto autor : work.getAutores()) {
+            if (autor.getAutor() != null && autor.getAutor().getKey() != null) {
+                lote.worksAutores.setString(1, autor.getAutor().getKey());
+                lote.worksAutores.setString(2, key);
+                lote.adicionar(lote.worksAutores);
+            }
+        }
+
+        Set<String> assuntos = new LinkedHashSet<>();
+        for (String assunto : work.getSubjects()) {
+            if (assunto != null && !assunto.trim().isEmpty()) {
+                assuntos.add(EspelhoOpenLibrary.normalizarAssunto(assunto));
+            }
+        }
+        for (String assunto : assuntos) {
+            lote.assuntos.setString(1, assunto);
+            lote.assuntos.setString(2, key);
+            lote.adicionar(lote.assuntos);
+        }
+        return true;
+    }
+
+    private static void adicionarIsbns(Set<String> isbns, List<String> valores) {
+        for (String valor : valores) {
+            if (valor != null) {
+                // O dígito verificador do ISBN-10 aparece também como 'x' minúsculo
+                String isbn = valor.toUpperCase(Locale.ROOT).replaceAll("[^0-9X]", "");
+                if (isbn.length() == 10 || isbn.length() == 13) {
+                    isbns.add(isbn);
+                }
+            }
+        }
+    }
+
+    /**
+     * Comandos preparados da ingestão, executados em lote e confirmados juntos
+     */
+    private static final class Lote implements AutoCloseable {
+
+        private final Connection conexao;
+        private final PreparedStatement edicoes;
+        private final PreparedStatement removerIsbns;
+        private final PreparedStatement isbns;
+        private final PreparedStatement works;
+        private final PreparedStatement autores;
+        private final PreparedStatement removerWorksAutores;
+        private final PreparedStatement removerAssuntos;
+        private final PreparedStatement worksAutores;
+        private final PreparedStatement assuntos;
+        private int pendentes;
+
+        private Lote(Connection conexao) throws SQLException {
+            this.conexao = conexao;
+            this.edicoes = conexao.prepareStatement(SQL_EDICAO);
+            this.removerIsbns = conexao.prepareStatement(SQL_REMOVER_ISBNS);
+            this.isbns = conexao.prepareStatement(SQL_ISBN);
+            this.works = conexao.prepareStatement(SQL_WORK);
+            this.autores = conexao.prepareStatement(SQL_AUTOR);
+            this.removerWorksAutores = conexao.prepareStatement(SQL_REMOVER_WORK_AUTORES);
+            this.removerAssuntos = conexao.prepareStatement(SQL_REMOVER_ASSUNTOS);
+            this.worksAutores = conexao.prepareStatement(SQL_WORK_AUTOR);
+            this.assuntos = conexao.prepareStatement(SQL_ASSUNTO);
+        }
+
+        private void adicionar(PreparedStatement stmt) throws SQLException {
+            stmt.addBatch();
+            pendentes++;
+        }
+
+        private void executar() throws SQLException {
+            if (pendentes == 0) {
+                return;
+            }
+            edicoes.executeBatch();
+            works.executeBatch();
+            autores.executeBatch();
+            // As remoções precedem as inserções das associações do mesmo lote
+            removerIsbns.executeBatch();
+            isbns.executeBatch();
+            removerWorksAutores.executeBatch();
+            removerAssuntos.executeBatch();
+            worksAutores.executeBatch();
+            assuntos.executeBatch();
+            conexao.commit();
+            pendentes = 0;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            edicoes.close();
+            removerIsbns.close();
+            isbns.close();
+            works.close();
+            autores.close();
+            removerWorksAutores.close();
+            removerAssuntos.close();
+            worksAutores.close();
+            assuntos.close();
+        }
+    }
+}
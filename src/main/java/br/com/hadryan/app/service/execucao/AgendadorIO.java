@@ -0,0 +1,243 @@
+package br.com.hadryan.app.service.execucao;
+
+import br.com.hadryan.app.config.AppConfig;
+import com.typesafe.config.Config;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Agendador único das tarefas de I/O bloqueante da aplicação (rede e banco de dados).
+ * As tarefas rodam em virtual threads quando o runtime as suporta (Java 21+) e, caso contrário,
+ * em um pool de threads daemon. Cada via tem seu próprio limite de tarefas simultâneas:
+ * a via interativa atende o que o usuário está esperando (busca por ISBN, livros relacionados)
+ * e a via de segundo plano atende trabalhos em lote (importação, enriquecimento), de modo que
+ * um lote nunca ocupa as vagas de uma consulta interativa.
+ * Implementa o padrão Singleton.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public final class AgendadorIO {
+
+    private static final Logger LOGGER = Logger.getLogger(AgendadorIO.class.getName());
+
+    // Via da tarefa em execução na thread atual, herdada pelas tarefas que ela agenda
+    private static final ThreadLocal<FilaVia> VIA_ATUAL = new ThreadLocal<>();
+
+    /**
+     * Espera de uma tarefa por suas subtarefas, iniciada por {@link #iniciarEspera()}
+     */
+    public interface Espera extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Vias de execução, cada uma com seu limite de tarefas simultâneas
+     */
+    public enum Via {
+        INTERATIVA,
+        SEGUNDO_PLANO
+    }
+
+    private static AgendadorIO instance;
+    private final boolean virtualThreads;
+    private final FilaVia interativa;
+    private final FilaVia segundoPlano;
+
+    /**
+     * Construtor privado - padrão Singleton
+     */
+    private AgendadorIO() {
+        Config config = AppConfig.getInstance().getConfig("agendador");
+
+        ExecutorService virtual = config.getBoolean("virtual-threads") ? criarExecutorVirtual() : null;
+        this.virtualThreads = virtual != null;
+        Executor base = virtualThreads ? virtual : criarPool();
+
+        this.interativa = new FilaVia(Via.INTERATIVA, config.getInt("interativa.max-tarefas"), base);
+        this.segundoPlano = new FilaVia(Via.SEGUNDO_PLANO, config.getInt("segundo-plano.max-tarefas"), base);
+        LOGGER.info("Agendador de I/O usando " + (virtualThreads ? "virtual threads" : "pool de threads"));
+    }
+
+    /**
+     * Retorna a instância única do agendador
+     */
+    public static synchronized AgendadorIO getInstance() {
+        if (instance == null) {
+            instance = new AgendadorIO();
+        }
+        return instance;
+    }
+
+    /**
+     * Retorna o executor da via. O executor é compartilhado e vive enquanto a aplicação estiver aberta.
+     */
+    public Executor getExecutor(Via via) {
+        return via == Via.SEGUNDO_PLANO ? segundoPlano : interativa;
+    }
+
+    /**
+     * Retorna o executor da via da tarefa em execução na thread atual (interativa fora do agendador),
+     * para que as subtarefas de um trabalho em lote continuem na via de segundo plano
+     */
+    public Executor getExecutorAtual() {
+        return getExecutor(getViaAtual());
+    }
+
+    /**
+     * Retorna a via da tarefa em execução na thread atual, ou INTERATIVA fora do agendador
+     */
+    public static Via getViaAtual() {
+        FilaVia fila = VIA_ATUAL.get();
+        return fila != null ? fila.via : Via.INTERATIVA;
+    }
+
+    /**
+     * Indica que a tarefa da thread atual vai bloquear aguardando subtarefas da própria via:
+     * sua vaga é liberada até o fechamento da espera retornada, para que as subtarefas possam
+     * começar mesmo com a via ocupada por tarefas que aguardam. Ao retomar, a tarefa volta a
+     * ocupar uma vaga, podendo exceder o limite da via até terminar. Fora do agendador não tem efeito.
+     */
+    public static Espera iniciarEspera() {
+        FilaVia fila = VIA_ATUAL.get();
+        if (fila == null) {
+            return () -> { };
+        }
+        fila.liberarVaga();
+        return fila::retomarVaga;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Cria o executor de virtual threads por reflexão, pois o código é compilado para Java 8.
+     * Retorna null quando o runtime não suporta virtual threads.
+     */
+    private static ExecutorService criarExecutorVirtual() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Não foi possível criar o executor de virtual threads", e);
+            return null;
+        }
+    }
+
+    /**
+     * Cria o pool de threads daemon usado quando não há virtual threads.
+     * O pool não precisa de limite próprio, pois cada via já limita suas tarefas simultâneas.
+     */
+    private static ExecutorService criarPool() {
+        AtomicInteger contador = new AtomicInteger();
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                tarefa -> {
+                    Thread thread = new Thread(tarefa, "io-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Fila de uma via: executa até maxTarefas tarefas simultâneas no executor base e enfileira
+     * as demais em ordem de chegada. As subtarefas agendadas por tarefas da própria via têm fila
+     * separada e começam antes das tarefas novas, para que uma tarefa que aguarda subtarefas
+     * (com prazo) não fique atrás de trabalhos que chegaram depois dela. Enquanto aguarda,
+     * a tarefa não ocupa vaga (ver {@link AgendadorIO#iniciarEspera()}).
+     */
+    private static final class FilaVia implements Executor {
+
+        private final Via via;
+        private final int maxTarefas;
+        private final Executor base;
+        private final Queue<Runnable> fila = new ConcurrentLinkedQueue<>();
+        private final Queue<Runnable> subtarefas = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger ativas = new AtomicInteger();
+
+        private FilaVia(Via via, int maxTarefas, Executor base) {
+            this.via = via;
+            this.maxTarefas = Math.max(1, maxTarefas);
+            this.base = base;
+        }
+
+        @Override
+        public void execute(Runnable tarefa) {
+            if (tarefa == null) {
+                throw new NullPointerException();
+            }
+            (VIA_ATUAL.get() == this ? subtarefas : fila).add(tarefa);
+            drenar();
+        }
+
+        /**
+         * Inicia as tarefas enfileiradas enquanto houver vagas na via, começando pelas subtarefas
+         */
+        private void drenar() {
+            while ((!subtarefas.isEmpty() || !fila.isEmpty()) && reservarVaga()) {
+                Runnable subtarefa = subtarefas.poll();
+                Runnable tarefa = subtarefa != null ? subtarefa : fila.poll();
+                if (tarefa == null) {
+                    ativas.decrementAndGet();
+                    continue;
+                }
+                try {
+                    base.execute(() -> executar(tarefa));
+                } catch (RuntimeException e) {
+                    ativas.decrementAndGet();
+                    throw e;
+                }
+            }
+        }
+
+        private void liberarVaga() {
+            ativas.decrementAndGet();
+            drenar();
+        }
+
+        private void retomarVaga() {
+            ativas.incrementAndGet();
+        }
+
+        private boolean reservarVaga() {
+            int atual;
+            do {
+                atual = ativas.get();
+                if (atual >= maxTarefas) {
+                    return false;
+                }
+            } while (!ativas.compareAndSet(atual, atual + 1));
+            return true;
+        }
+
+        private void executar(Runnable tarefa) {
+            FilaVia anterior = VIA_ATUAL.get();
+            VIA_ATUAL.set(this);
+            try {
+                tarefa.run();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Erro em tarefa da via " + via, e);
+            } finally {
+                if (anterior != null) {
+                    VIA_ATUAL.set(anterior);
+                } else {
+                    VIA_ATUAL.remove();
+                }
+                ativas.decrementAndGet();
+                drenar();
+            }
+        }
+    }
+}
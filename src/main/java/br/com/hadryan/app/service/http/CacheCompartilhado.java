@@ -0,0 +1,274 @@
+package br.com.hadryan.app.service.http;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Camada do cache HTTP compartilhada entre todas as instâncias da aplicação, gravada em
+ * uma tabela UNLOGGED do PostgreSQL (sem WAL: mais rápida, mas esvaziada se o servidor
+ * cair, o que é aceitável para um cache).
+ * As entradas são localizadas por um hash de 64 bits da URL; a URL completa também é
+ * gravada e conferida na leitura, descartando colisões. Os corpos são compactados com gzip.
+ * As gravações não bloqueiam a requisição: ficam pendentes (a última de cada URL) e são
+ * enviadas em lote por uma tarefa em segundo plano. Uma revalidação (304) atualiza apenas a data.
+ * Entradas mais antigas que o prazo de retenção são removidas ao abrir o cache e, depois,
+ * periodicamente pela mesma tarefa.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public class CacheCompartilhado {
+
+    private static final Logger LOGGER = Logger.getLogger(CacheCompartilhado.class.getName());
+
+    private static final String SQL_CRIAR_TABELA = "CREATE UNLOGGED TABLE IF NOT EXISTS http_cache ("
+            + "hash bigint PRIMARY KEY, url text NOT NULL, status int NOT NULL, etag text, ultima_modificacao text, "
+            + "armazenada_em bigint NOT NULL, corpo bytea NOT NULL)";
+    private static final String SQL_REMOVER_ANTIGAS = "DELETE FROM http_cache WHERE armazenada_em < ?";
+    private static final String SQL_BUSCAR = "SELECT url, status, etag, ultima_modificacao, armazenada_em, corpo "
+            + "FROM http_cache WHERE hash = ?";
+    private static final String SQL_ARMAZENAR = "INSERT INTO http_cache "
+            + "(hash, url, status, etag, ultima_modificacao, armazenada_em, corpo) VALUES (?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (hash) DO UPDATE SET url = EXCLUDED.url, status = EXCLUDED.status, etag = EXCLUDED.etag, "
+            + "ultima_modificacao = EXCLUDED.ultima_modificacao, armazenada_em = EXCLUDED.armazenada_em, "
+            + "corpo = EXCLUDED.corpo WHERE http_cache.armazenada_em <= EXCLUDED.armazenada_em";
+    private static final String SQL_REVALIDAR = "UPDATE http_cache SET armazenada_em = ? "
+            + "WHERE hash = ? AND url = ? AND armazenada_em < ?";
+
+    private final DataSource dataSource;
+    private final long retencaoMillis;
+    private final long intervaloLimpezaMillis;
+    private final int maxPendentes;
+    private final Executor executor;
+
+    // Última gravação pendente de cada URL e se a tarefa de envio já está agendada
+    private final Map<String, Gravacao> pendentes = new ConcurrentHashMap<>();
+    private final AtomicBoolean envioAgendado = new AtomicBoolean();
+    private volatile long ultimaLimpeza;
+
+    /**
+     * Abre o cache, criando a tabela se necessário e removendo as entradas mais antigas que a retenção.
+     * As gravações e as limpezas seguintes são executadas no executor informado.
+     */
+    public CacheCompartilhado(DataSource dataSource, long retencaoMillis, long intervaloLimpezaMillis,
+                              int maxPendentes, Executor executor) throws SQLException {
+        this.dataSource = dataSource;
+        this.retencaoMillis = retencaoMillis;
+        this.intervaloLimpezaMillis = intervaloLimpezaMillis;
+        this.maxPendentes = maxPendentes;
+        this.executor = executor;
+
+        try (Connection conexao = dataSource.getConnection()) {
+            try (Statement stmt = conexao.createStatement()) {
+                stmt.execute(SQL_CRIAR_TABELA);
+            }
+            int removidas = removerAntigas(conexao);
+            LOGGER.info("Cache HTTP compartilhado aberto (" + removidas + " entradas antigas removidas)");
+        }
+    }
+
+    /**
+     * Busca a resposta gravada para a URL, ou null se não houver
+     */
+    public RespostaCache buscar(String url) {
+        try (Connection conexao = dataSource.getConnection();
+             PreparedStatement stmt = conexao.prepareStatement(SQL_BUSCAR)) {
+            stmt.setLong(1, calcularHash(url));
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next() || !url.equals(rs.getString("url"))) {
+                    return null;
+                }
+                return new RespostaCache(rs.getInt("status"), descompactar(rs.getBytes("corpo")),
+                        rs.getString("etag"), rs.getString("ultima_modificacao"), rs.getLong("armazenada_em"));
+            }
+        } catch (SQLException | IOException e) {
+            LOGGER.log(Level.WARNING, "Erro ao ler entrada do cache compartilhado: " + url, e);
+            return null;
+        }
+    }
+
+    /**
+     * Agenda a gravação da resposta da URL; uma entrada mais recente gravada por outra instância é mantida
+     */
+    public void armazenar(String url, RespostaCache resposta) {
+        agendar(url, new Gravacao(resposta, false));
+    }
+
+    /**
+     * Agenda a atualização da data de uma resposta revalidada (304), sem regravar o corpo
+     */
+    public void revalidar(String url, RespostaCache resposta) {
+        agendar(url, new Gravacao(resposta, true));
+    }
+
+    /**
+     * Guarda a gravação como pendente da URL (uma revalidação não substitui uma gravação
+     * completa ainda não enviada) e agenda o envio, se necessário
+     */
+    private void agendar(String url, Gravacao gravacao) {
+        if (pendentes.size() >= maxPendentes && !pendentes.containsKey(url)) {
+            LOGGER.log(Level.FINE, "Gravações pendentes no cache compartilhado esgotadas, descartando: " + url);
+            return;
+        }
+        pendentes.merge(url, gravacao, (anterior, nova) ->
+                nova.apenasData && !anterior.apenasData ? new Gravacao(nova.resposta, false) : nova);
+        agendarEnvio();
+    }
+
+    private void agendarEnvio() {
+        if (!pendentes.isEmpty() && envioAgendado.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::enviarPendentes);
+            } catch (RuntimeException e) {
+                envioAgendado.set(false);
+                LOGGER.log(Level.WARNING, "Não foi possível agendar gravações no cache compartilhado", e);
+            }
+        }
+    }
+
+    /**
+     * Envia em lote as gravações pendentes e, quando vence o intervalo, remove as entradas antigas
+     */
+    private void enviarPendentes() {
+        try (Connection conexao = dataSource.getConnection();
+             PreparedStatement armazenar = conexao.prepareStatement(SQL_ARMAZENAR);
+             PreparedStatement revalidar = conexao.prepareStatement(SQL_REVALIDAR)) {
+            Iterator<Map.Entry<String, Gravacao>> iterador = pendentes.entrySet().iterator();
+            while (iterador.hasNext()) {
+                Map.Entry<String, Gravacao> entrada = iterador.next();
+                String url = entrada.getKey();
+                Gravacao gravacao = entrada.getValue();
+                // Remove apenas se não foi substituída enquanto era lida
+                if (!pendentes.remove(url, gravacao)) {
+                    continue;
+                }
+                try {
+                    if (gravacao.apenasData) {
+                        adicionarRevalidacao(revalidar, url, gravacao.resposta);
+                    } else {
+                        adicionarGravacao(armazenar, url, gravacao.resposta);
+                    }
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, "Erro ao compactar entrada do cache compartilhado: " + url, e);
+                }
+            }
+            armazenar.executeBatch();
+            revalidar.executeBatch();
+
+            if (System.currentTimeMillis() - ultimaLimpeza >= intervaloLimpezaMillis) {
+                int removidas = removerAntigas(conexao);
+                LOGGER.log(Level.FINE, "Cache HTTP compartilhado: " + removidas + " entradas antigas removidas");
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Erro ao gravar entradas no cache compartilhado", e);
+        } finally {
+            envioAgendado.set(false);
+            agendarEnvio();
+        }
+    }
+
+    private void adicionarGravacao(PreparedStatement stmt, String url, RespostaCache resposta)
+            throws SQLException, IOException {
+        stmt.setLong(1, calcularHash(url));
+        stmt.setString(2, url);
+        stmt.setInt(3, resposta.getStatus());
+        definirTexto(stmt, 4, resposta.getEtag());
+        definirTexto(stmt, 5, resposta.getUltimaModificacao());
+        stmt.setLong(6, resposta.getArmazenadaEm());
+        stmt.setBytes(7, compactar(resposta.getCorpo()));
+        stmt.addBatch();
+    }
+
+    private void adicionarRevalidacao(PreparedStatement stmt, String url, RespostaCache resposta) throws SQLException {
+        stmt.setLong(1, resposta.getArmazenadaEm());
+        stmt.setLong(2, calcularHash(url));
+        stmt.setString(3, url);
+        stmt.setLong(4, resposta.getArmazenadaEm());
+        stmt.addBatch();
+    }
+
+    private int removerAntigas(Connection conexao) throws SQLException {
+        try (PreparedStatement stmt = conexao.prepareStatement(SQL_REMOVER_ANTIGAS)) {
+            stmt.setLong(1, System.currentTimeMillis() - retencaoMillis);
+            int removidas = stmt.executeUpdate();
+            ultimaLimpeza = System.currentTimeMillis();
+            return removidas;
+        }
+    }
+
+    /**
+     * Hash de 64 bits da URL (primeiros 8 bytes do SHA-256)
+     */
+    static long calcularHash(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível", e);
+        }
+    }
+
+    private static void definirTexto(PreparedStatement stmt, int indice, String valor) throws SQLException {
+        if (valor != null) {
+            stmt.setString(indice, valor);
+        } else {
+            stmt.setNull(indice, Types.VARCHAR);
+        }
+    }
+
+    private static byte[] compactar(byte[] corpo) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(Math.max(64, corpo.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(corpo);
+        }
+        return saida.toByteArray();
+    }
+
+    private static byte[] descompactar(byte[] compactado) throws IOException {
+        try (InputStream entrada = new GZIPInputStream(new ByteArrayInputStream(compactado))) {
+            ByteArrayOutputStream saida = new ByteArrayOutputStream(compactado.length * 4);
+            byte[] buffer = new byte[8192];
+            int lidos;
+            while ((lidos = entrada.read(buffer)) != -1) {
+                saida.write(buffer, 0, lidos);
+            }
+            return saida.toByteArray();
+        }
+    }
+
+    /**
+     * Gravação pendente: a resposta completa ou apenas a nova data de uma revalidação
+     */
+    private static final class Gravacao {
+
+        private final RespostaCache resposta;
+        private final boolean apenasData;
+
+        private Gravacao(RespostaCache resposta, boolean apenasData) {
+            this.resposta = resposta;
+            this.apenasData = apenasData;
+        }
+    }
+}
@@ -0,0 +1,534 @@
+package br.com.hadryan.app.service.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Camada em disco do cache HTTP, preservada entre execuções da aplicação.
+ * As respostas são gravadas de forma sequencial em arquivos de segmento e localizadas
+ * por um índice em memória (URL -> posição), reconstruído a partir dos segmentos ao abrir.
+ * Uma nova gravação da mesma URL torna a anterior obsoleta; uma revalidação (304) grava
+ * apenas um registro com a nova data, sem repetir o corpo.
+ * Quando o total em disco ultrapassa o limite, a compactação roda em segundo plano:
+ * as entradas válidas mais recentes são copiadas para novos segmentos, o índice passa
+ * a apontar para elas somente após a cópia completa e então os segmentos antigos são apagados.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public class CacheDisco {
+
+    private static final Logger LOGGER = Logger.getLogger(CacheDisco.class.getName());
+
+    private static final int MAGICO = 0x4C425243;
+    private static final int MAGICO_REVALIDACAO = 0x4C425256;
+    private static final int CABECALHO = 8;
+    private static final int RODAPE = 8;
+    private static final String PREFIXO_SEGMENTO = "segmento-";
+    private static final String EXTENSAO_SEGMENTO = ".dat";
+
+    // Após a compactação o cache ocupa no máximo esta fração do limite
+    private static final double FRACAO_APOS_COMPACTACAO = 0.75;
+
+    private final Path diretorio;
+    private final long tamanhoMaximo;
+    private final long tamanhoSegmento;
+    private final Executor executorCompactacao;
+    private final AtomicBoolean compactando = new AtomicBoolean();
+
+    private final Map<String, Posicao> indice = new HashMap<>();
+    private final TreeMap<Integer, FileChannel> segmentos = new TreeMap<>();
+    private int segmentoAtivo;
+    private long bytesEmDisco;
+    private boolean fechado;
+
+    /**
+     * Abre o cache no diretório informado, carregando o índice dos segmentos existentes.
+     * A compactação é executada no executor informado, fora das requisições.
+     */
+    public CacheDisco(Path diretorio, long tamanhoMaximo, long tamanhoSegmento, Executor executorCompactacao)
+            throws IOException {
+        this.diretorio = diretorio;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.tamanhoSegmento = tamanhoSegmento;
+        this.executorCompactacao = executorCompactacao;
+
+        Files.createDirectories(diretorio);
+        carregarSegmentos();
+        if (segmentos.isEmpty()) {
+            abrirSegmento(1);
+        }
+        segmentoAtivo = segmentos.lastKey();
+        LOGGER.info("Cache HTTP em disco aberto com " + indice.size() + " entradas em " + diretorio);
+    }
+
+    /**
+     * Busca a resposta gravada para a URL, ou null se não houver
+     */
+    public synchronized RespostaCache buscar(String url) {
+        Posicao posicao = indice.get(url);
+        if (posicao == null) {
+            return null;
+        }
+        try {
+            return ler(segmentos.get(posicao.segmento), posicao);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Erro ao ler entrada do cache em disco: " + url, e);
+            indice.remove(url);
+            return null;
+        }
+    }
+
+    /**
+     * Grava a resposta da URL, substituindo a anterior
+     */
+    public void armazenar(String url, RespostaCache resposta) {
+        synchronized (this) {
+            if (fechado) {
+                return;
+            }
+            try {
+                byte[] conteudo = escreverRegistro(url, resposta);
+                Posicao posicao = gravar(MAGICO, conteudo);
+                indice.put(url, new Posicao(posicao.segmento, posicao.offset, conteudo.length, resposta.getArmazenadaEm()));
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Erro ao gravar entrada no cache em disco: " + url, e);
+            }
+        }
+        agendarCompactacaoSeNecessario();
+    }
+
+    /**
+     * Registra que a resposta da URL foi revalidada (304). Se ela já está em disco, grava
+     * apenas a nova data; caso contrário grava a resposta completa.
+     */
+    public void revalidar(String url, RespostaCache resposta) {
+        synchronized (this) {
+            if (fechado) {
+                return;
+            }
+            Posicao atual = indice.get(url);
+            if (atual == null) {
+                armazenar(url, resposta);
+                return;
+            }
+            try {
+                gravar(MAGICO_REVALIDACAO, escreverRevalidacao(url, resposta.getArmazenadaEm()));
+                indice.put(url, new Posicao(atual.segmento, atual.offset, atual.tamanho, resposta.getArmazenadaEm()));
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Erro ao gravar revalidação no cache em disco: " + url, e);
+            }
+        }
+        agendarCompactacaoSeNecessario();
+    }
+
+    /**
+     * Retorna o número de entradas no cache
+     */
+    public synchronized int getQuantidade() {
+        return indice.size();
+    }
+
+    /**
+     * Fecha os arquivos de segmento
+     */
+    public synchronized void fechar() {
+        fechado = true;
+        for (FileChannel canal : segmentos.values()) {
+            fecharCanal(canal);
+        }
+        segmentos.clear();
+        indice.clear();
+    }
+
+    /**
+     * Acrescenta um registro ao segmento ativo, abrindo um novo quando ele atinge o tamanho limite.
+     * Retorna a posição do conteúdo gravado.
+     */
+    private Posicao gravar(int magico, byte[] conteudo) throws IOException {
+        FileChannel canal = segmentos.get(segmentoAtivo);
+        if (canal.size() >= tamanhoSegmento) {
+            canal = abrirSegmento(segmentoAtivo + 1);
+            segmentoAtivo++;
+        }
+        long offset = acrescentar(canal, magico, conteudo);
+        bytesEmDisco += CABECALHO + conteudo.length + RODAPE;
+        return new Posicao(segmentoAtivo, offset, conteudo.length, 0);
+    }
+
+    /**
+     * Escreve cabeçalho, conteúdo e CRC ao final do canal, retornando a posição do conteúdo
+     */
+    private static long acrescentar(FileChannel canal, int magico, byte[] conteudo) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(conteudo);
+
+        ByteBuffer buffer = ByteBuffer.allocate(CABECALHO + conteudo.length + RODAPE);
+        buffer.putInt(magico).putInt(conteudo.length).put(conteudo).putLong(crc.getValue());
+        buffer.flip();
+
+        long offset = canal.size();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer, offset + buffer.position());
+        }
+        return offset + CABECALHO;
+    }
+
+    /**
+     * Lê a resposta gravada na posição informada, com a data da última revalidação
+     */
+    private static RespostaCache ler(FileChannel canal, Posicao posicao) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(posicao.tamanho);
+        while (buffer.hasRemaining()) {
+            if (canal.read(buffer, posicao.offset + buffer.position()) < 0) {
+                throw new EOFException("Segmento truncado");
+            }
+        }
+        RespostaCache resposta = lerRegistro(buffer.array()).resposta;
+        if (resposta.getArmazenadaEm() == posicao.armazenadaEm) {
+            return resposta;
+        }
+        return new RespostaCache(resposta.getStatus(), resposta.getCorpo(), resposta.getEtag(),
+                resposta.getUltimaModificacao(), posicao.armazenadaEm);
+    }
+
+    /**
+     * Agenda a compactação em segundo plano quando o total em disco ultrapassa o limite
+     */
+    private void agendarCompactacaoSeNecessario() {
+        synchronized (this) {
+            if (fechado || bytesEmDisco <= tamanhoMaximo) {
+                return;
+            }
+        }
+        if (compactando.compareAndSet(false, true)) {
+            try {
+                executorCompactacao.execute(() -> {
+                    try {
+                        compactar();
+                    } finally {
+                        compactando.set(false);
+                    }
+                });
+            } catch (RuntimeException e) {
+                compactando.set(false);
+                LOGGER.log(Level.WARNING, "Não foi possível agendar a compactação do cache em disco", e);
+            }
+        }
+    }
+
+    /**
+     * Copia as entradas mais recentes para novos segmentos e apaga os antigos.
+     * A cópia roda sem o lock: as novas gravações vão para segmentos numerados após os
+     * reservados à compactação, de modo que, ao reabrir, continuam prevalecendo sobre a cópia.
+     * O índice só é trocado após a cópia completa; em caso de erro os segmentos novos são
+     * descartados e o cache continua usando os antigos.
+     */
+    private void compactar() {
+        long limite = (long) (tamanhoMaximo * FRACAO_APOS_COMPACTACAO);
+        List<Map.Entry<String, Posicao>> entradas;
+        Map<Integer, FileChannel> antigos;
+        int primeiroNovo;
+        int primeiroAposCopia;
+        synchronized (this) {
+            if (fechado) {
+                return;
+            }
+            entradas = new ArrayList<>(indice.entrySet());
+            antigos = new HashMap<>(segmentos);
+            primeiroNovo = segmentoAtivo + 1;
+            primeiroAposCopia = primeiroNovo + (int) (limite / Math.max(1, tamanhoSegmento)) + 2;
+            try {
+                // Reserva números para a cópia; as gravações seguintes vão para depois deles
+                abrirSegmento(primeiroAposCopia);
+                segmentoAtivo = primeiroAposCopia;
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Erro ao iniciar compactação do cache em disco", e);
+                return;
+            }
+        }
+        entradas.sort((a, b) -> Long.compare(b.getValue().armazenadaEm, a.getValue().armazenadaEm));
+
+        TreeMap<Integer, FileChannel> novos = new TreeMap<>();
+        Map<String, Posicao> copiados = new HashMap<>();
+        try {
+            int numero = primeiroNovo;
+            FileChannel canal = criarSegmento(numero, novos);
+            long bytesMantidos = 0;
+            for (Map.Entry<String, Posicao> entrada : entradas) {
+                Posicao posicao = entrada.getValue();
+                long tamanho = CABECALHO + posicao.tamanho + RODAPE;
+                if (bytesMantidos + tamanho > limite) {
+                    break;
+                }
+                if (canal.size() >= tamanhoSegmento && numero + 1 < primeiroAposCopia) {
+                    canal = criarSegmento(++numero, novos);
+                }
+                byte[] conteudo = escreverRegistro(entrada.getKey(), ler(antigos.get(posicao.segmento), posicao));
+                long offset = acrescentar(canal, MAGICO, conteudo);
+                copiados.put(entrada.getKey(), new Posicao(numero, offset, conteudo.length, posicao.armazenadaEm));
+                bytesMantidos += tamanho;
+            }
+            for (FileChannel novo : novos.values()) {
+                novo.force(false);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Erro ao compactar o cache em disco. Os segmentos atuais serão mantidos.", e);
+            descartar(novos);
+            return;
+        }
+
+        synchronized (this) {
+            if (fechado) {
+                for (FileChannel novo : novos.values()) {
+                    fecharCanal(novo);
+                }
+                return;
+            }
+            // Entradas gravadas durante a cópia já estão em segmentos novos e são mantidas;
+            // as que ainda apontam para segmentos antigos passam para a cópia ou saem do cache
+            Iterator<Map.Entry<String, Posicao>> iterador = indice.entrySet().iterator();
+            while (iterador.hasNext()) {
+                Map.Entry<String, Posicao> entrada = iterador.next();
+                Posicao atual = entrada.getValue();
+                if (!antigos.containsKey(atual.segmento)) {
+                    continue;
+                }
+                Posicao copia = copiados.get(entrada.getKey());
+                if (copia == null) {
+                    iterador.remove();
+                } else {
+                    entrada.setValue(new Posicao(copia.segmento, copia.offset, copia.tamanho, atual.armazenadaEm));
+                }
+            }
+
+            segmentos.putAll(novos);
+            for (Integer segmento : antigos.keySet()) {
+                fecharCanal(segmentos.remove(segmento));
+                try {
+                    Files.deleteIfExists(caminhoSegmento(segmento));
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, "Erro ao apagar segmento do cache em disco: " + caminhoSegmento(segmento), e);
+                }
+            }
+
+            bytesEmDisco = 0;
+            for (FileChannel canal : segmentos.values()) {
+                try {
+                    bytesEmDisco += canal.size();
+                } catch (IOException e) {
+                    LOGGER.log(Level.FINE, "Erro ao obter tamanho de segmento do cache em disco", e);
+                }
+            }
+            LOGGER.info("Cache HTTP em disco compactado: " + indice.size() + " entradas, " + bytesEmDisco + " bytes");
+        }
+    }
+
+    /**
+     * Cria um segmento da compactação, ainda fora do mapa de segmentos em uso
+     */
+    private FileChannel criarSegmento(int numero, Map<Integer, FileChannel> novos) throws IOException {
+        FileChannel canal = FileChannel.open(caminhoSegmento(numero), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        novos.put(numero, canal);
+        return canal;
+    }
+
+    /**
+     * Fecha e apaga os segmentos de uma compactação que falhou
+     */
+    private void descartar(Map<Integer, FileChannel> novos) {
+        for (Map.Entry<Integer, FileChannel> novo : novos.entrySet()) {
+            fecharCanal(novo.getValue());
+            try {
+                Files.deleteIfExists(caminhoSegmento(novo.getKey()));
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Erro ao apagar segmento descartado do cache em disco", e);
+            }
+        }
+    }
+
+    private static void fecharCanal(FileChannel canal) {
+        if (canal == null) {
+            return;
+        }
+        try {
+            canal.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Erro ao fechar segmento do cache em disco", e);
+        }
+    }
+
+    /**
+     * Lê os segmentos existentes em ordem, reconstruindo o índice.
+     * Um registro incompleto ou corrompido encerra a leitura do segmento.
+     */
+    private void carregarSegmentos() throws IOException {
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio,
+                PREFIXO_SEGMENTO + "*" + EXTENSAO_SEGMENTO)) {
+            for (Path arquivo : arquivos) {
+                String nome = arquivo.getFileName().toString();
+                try {
+                    int numero = Integer.parseInt(nome.substring(PREFIXO_SEGMENTO.length(),
+                            nome.length() - EXTENSAO_SEGMENTO.length()));
+                    segmentos.put(numero, null);
+                } catch (NumberFormatException e) {
+                    LOGGER.warning("Arquivo ignorado no diretório do cache: " + nome);
+                }
+            }
+        }
+
+        for (Integer numero : new ArrayList<>(segmentos.keySet())) {
+            FileChannel canal = abrirSegmento(numero);
+            long validos = indexarSegmento(numero, canal);
+            if (validos < canal.size()) {
+                LOGGER.warning("Segmento do cache truncado após registro inválido: " + caminhoSegmento(numero));
+                canal.truncate(validos);
+            }
+            bytesEmDisco += validos;
+        }
+    }
+
+    /**
+     * Indexa os registros de um segmento e retorna a posição final do último registro válido
+     */
+    private long indexarSegmento(int numero, FileChannel canal) throws IOException {
+        byte[] dados = Files.readAllBytes(caminhoSegmento(numero));
+        ByteBuffer buffer = ByteBuffer.wrap(dados);
+        long offset = 0;
+        while (buffer.remaining() >= CABECALHO + RODAPE) {
+            int magico = buffer.getInt();
+            int tamanho = buffer.getInt();
+            if ((magico != MAGICO && magico != MAGICO_REVALIDACAO)
+                    || tamanho < 0 || tamanho > buffer.remaining() - RODAPE) {
+                break;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(dados, buffer.position(), tamanho);
+            long inicio = buffer.position();
+            buffer.position(buffer.position() + tamanho);
+            if (buffer.getLong() != crc.getValue()) {
+                break;
+            }
+
+            byte[] conteudo = new byte[tamanho];
+            System.arraycopy(dados, (int) inicio, conteudo, 0, tamanho);
+            if (magico == MAGICO) {
+                Registro registro = lerRegistro(conteudo);
+                indice.put(registro.url, new Posicao(numero, inicio, tamanho, registro.resposta.getArmazenadaEm()));
+            } else {
+                DataInputStream revalidacao = new DataInputStream(new ByteArrayInputStream(conteudo));
+                long armazenadaEm = revalidacao.readLong();
+                String url = revalidacao.readUTF();
+                Posicao atual = indice.get(url);
+                if (atual != null) {
+                    indice.put(url, new Posicao(atual.segmento, atual.offset, atual.tamanho, armazenadaEm));
+                }
+            }
+            offset = buffer.position();
+        }
+        return offset;
+    }
+
+    private FileChannel abrirSegmento(int numero) throws IOException {
+        FileChannel canal = FileChannel.open(caminhoSegmento(numero),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segmentos.put(numero, canal);
+        return canal;
+    }
+
+    private Path caminhoSegmento(int numero) {
+        return diretorio.resolve(String.format("%s%06d%s", PREFIXO_SEGMENTO, numero, EXTENSAO_SEGMENTO));
+    }
+
+    private static byte[] escreverRegistro(String url, RespostaCache resposta) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(resposta.getCorpo().length + url.length() + 64);
+        DataOutputStream saida = new DataOutputStream(bytes);
+        saida.writeLong(resposta.getArmazenadaEm());
+        saida.writeInt(resposta.getStatus());
+        saida.writeUTF(url);
+        saida.writeUTF(resposta.getEtag() != null ? resposta.getEtag() : "");
+        saida.writeUTF(resposta.getUltimaModificacao() != null ? resposta.getUltimaModificacao() : "");
+        saida.writeInt(resposta.getCorpo().length);
+        saida.write(resposta.getCorpo());
+        saida.flush();
+        return bytes.toByteArray();
+    }
+
+    private static byte[] escreverRevalidacao(String url, long armazenadaEm) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(url.length() + 16);
+        DataOutputStream saida = new DataOutputStream(bytes);
+        saida.writeLong(armazenadaEm);
+        saida.writeUTF(url);
+        saida.flush();
+        return bytes.toByteArray();
+    }
+
+    private static Registro lerRegistro(byte[] conteudo) throws IOException {
+        DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(conteudo));
+        long armazenadaEm = entrada.readLong();
+        int status = entrada.readInt();
+        String url = entrada.readUTF();
+        String etag = entrada.readUTF();
+        String ultimaModificacao = entrada.readUTF();
+        byte[] corpo = new byte[entrada.readInt()];
+        entrada.readFully(corpo);
+        return new Registro(url, new RespostaCache(status, corpo,
+                etag.isEmpty() ? null : etag,
+                ultimaModificacao.isEmpty() ? null : ultimaModificacao,
+                armazenadaEm));
+    }
+
+    /**
+     * Localização de um registro em disco
+     */
+    private static final class Posicao {
+
+        private final int segmento;
+        private final long offset;
+        private final int tamanho;
+        private final long armazenadaEm;
+
+        private Posicao(int segmento, long offset, int tamanho, long armazenadaEm) {
+            this.segmento = segmento;
+            this.offset = offset;
+            this.tamanho = tamanho;
+            this.armazenadaEm = armazenadaEm;
+        }
+    }
+
+    /**
+     * Registro lido de um segmento
+     */
+    private static final class Registro {
+
+        private final String url;
+        private final RespostaCache resposta;
+
+        private Registro(String url, RespostaCache resposta) {
+            this.url = url;
+            this.resposta = resposta;
+        }
+    }
+}
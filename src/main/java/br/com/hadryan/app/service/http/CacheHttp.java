@@ -0,0 +1,240 @@
+package br.com.hadryan.app.service.http;
+
+import br.com.hadryan.app.config.AppConfig;
+import br.com.hadryan.app.config.JpaConfig;
+import br.com.hadryan.app.service.execucao.AgendadorIO;
+import br.com.hadryan.app.service.execucao.AgendadorIO.Via;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.typesafe.config.Config;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cache das respostas HTTP da API OpenLibrary, compartilhado por todos os HttpClientWrapper.
+ * É seguro para acesso concorrente, limitado pelo tamanho em bytes das respostas
+ * (política W-TinyLFU do Caffeine) e cada entrada expira de acordo com seu tipo:
+ * respostas bem-sucedidas e respostas 404 possuem validades diferentes.
+ * As respostas bem-sucedidas também são gravadas em disco (CacheDisco), de modo que
+ * sobrevivem ao reinício da aplicação; entradas expiradas em disco ainda servem para
+ * revalidação condicional (ETag/Last-Modified).
+ * Opcionalmente, as respostas também são compartilhadas com as demais instâncias da
+ * aplicação por uma tabela no PostgreSQL (CacheCompartilhado), consultada quando a
+ * memória e o disco não têm uma entrada válida e gravada em segundo plano.
+ * Implementa o padrão Singleton.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public final class CacheHttp {
+
+    private static final Logger LOGGER = Logger.getLogger(CacheHttp.class.getName());
+
+    // Custo fixo estimado de cada entrada (objetos, cabeçalhos de array e nó do mapa)
+    private static final int CUSTO_ENTRADA = 96;
+
+    private static CacheHttp instance;
+    private final Cache<String, RespostaCache> respostas;
+    private final CacheDisco disco;
+    private final CacheCompartilhado compartilhado;
+    private final long ttlMillis;
+    private final long ttlNaoEncontradoMillis;
+
+    /**
+     * Construtor privado - padrão Singleton
+     */
+    private CacheHttp() {
+        Config config = AppConfig.getInstance().getConfig("http.cache");
+        this.ttlMillis = config.getDuration("ttl", TimeUnit.MILLISECONDS);
+        this.ttlNaoEncontradoMillis = config.getDuration("ttl-nao-encontrado", TimeUnit.MILLISECONDS);
+        this.disco = abrirDisco(config.getConfig("disco"));
+        this.compartilhado = abrirCompartilhado(config.getConfig("compartilhado"));
+
+        this.respostas = Caffeine.newBuilder()
+                .maximumWeight(config.getBytes("tamanho-maximo"))
+                .weigher((String url, RespostaCache resposta) -> CUSTO_ENTRADA + url.length() + resposta.getTamanho())
+                .expireAfter(new Expiry<String, RespostaCache>() {
+                    @Override
+                    public long expireAfterCreate(String url, RespostaCache resposta, long agora) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, getValidade(resposta) - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String url, RespostaCache resposta, long agora, long duracaoAtual) {
+                        return expireAfterCreate(url, resposta, agora);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String url, RespostaCache resposta, long agora, long duracaoAtual) {
+                        return duracaoAtual;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Retorna a instância única do cache
+     */
+    public static synchronized CacheHttp getInstance() {
+        if (instance == null) {
+            instance = new CacheHttp();
+        }
+        return instance;
+    }
+
+    /**
+     * Abre a camada em disco; em caso de erro o cache funciona apenas em memória
+     */
+    private static CacheDisco abrirDisco(Config config) {
+        if (!config.getBoolean("habilitado")) {
+            return null;
+        }
+        try {
+            return new CacheDisco(Paths.get(config.getString("diretorio")),
+                    config.getBytes("tamanho-maximo"), config.getBytes("tamanho-segmento"),
+                    AgendadorIO.getInstance().getExecutor(Via.SEGUNDO_PLANO));
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Não foi possível abrir o cache HTTP em disco. Utilizando apenas memória.", e);
+            return null;
+        }
+    }
+
+    /**
+     * Abre a camada compartilhada no banco; em caso de erro ela não é utilizada
+     */
+    private static CacheCompartilhado abrirCompartilhado(Config config) {
+        if (!config.getBoolean("habilitado")) {
+            return null;
+        }
+        try {
+            return new CacheCompartilhado(JpaConfig.getInstance().getDataSource(),
+                    config.getDuration("retencao", TimeUnit.MILLISECONDS),
+                    config.getDuration("intervalo-limpeza", TimeUnit.MILLISECONDS),
+                    config.getInt("max-pendentes"),
+                    AgendadorIO.getInstance().getExecutor(Via.SEGUNDO_PLANO));
+        } catch (SQLException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Não foi possível abrir o cache HTTP compartilhado.", e);
+            return null;
+        }
+    }
+
+    /**
+     * Busca a resposta em cache para a URL, ou null se não houver entrada.
+     * Entradas da memória estão sempre válidas; uma entrada vinda do disco pode estar
+     * expirada (ver isValida) e, nesse caso, serve apenas para revalidação condicional.
+     * A camada compartilhada só é consultada quando o disco não tem entrada válida, e
+     * prevalece sobre a do disco quando é mais recente.
+     */
+    public RespostaCache buscar(String url) {
+        RespostaCache resposta = respostas.getIfPresent(url);
+        if (resposta != null) {
+            return resposta;
+        }
+
+        if (disco != null) {
+            resposta = disco.buscar(url);
+            if (resposta != null && isValida(resposta)) {
+                respostas.put(url, resposta);
+                return resposta;
+            }
+        }
+
+        if (compartilhado != null) {
+            RespostaCache remota = compartilhado.buscar(url);
+            if (remota != null && (resposta == null || remota.getArmazenadaEm() > resposta.getArmazenadaEm())) {
+                resposta = remota;
+                if (isValida(remota)) {
+                    respostas.put(url, remota);
+                    if (disco != null && !remota.isNaoEncontrada()) {
+                        disco.armazenar(url, remota);
+                    }
+                }
+            }
+        }
+        return resposta;
+    }
+
+    /**
+     * Indica se a resposta ainda está dentro do prazo de validade
+     */
+    public boolean isValida(RespostaCache resposta) {
+        return getValidade(resposta) > System.currentTimeMillis();
+    }
+
+    /**
+     * Armazena a resposta da URL. Respostas bem-sucedidas também são gravadas em disco,
+     * e todas (inclusive 404) são enviadas à camada compartilhada.
+     */
+    public void armazenar(String url, RespostaCache resposta) {
+        respostas.put(url, resposta);
+        if (disco != null && !resposta.isNaoEncontrada()) {
+            disco.armazenar(url, resposta);
+        }
+        if (compartilhado != null) {
+            compartilhado.armazenar(url, resposta);
+        }
+    }
+
+    /**
+     * Armazena a resposta revalidada (304) da URL. Em disco é gravada apenas a nova data,
+     * já que o corpo não mudou.
+     */
+    public void revalidar(String url, RespostaCache resposta) {
+        respostas.put(url, resposta);
+        if (disco != null && !resposta.isNaoEncontrada()) {
+            disco.revalidar(url, resposta);
+        }
+        if (compartilhado != null) {
+            compartilhado.revalidar(url, resposta);
+        }
+    }
+
+    /**
+     * Fecha a camada em disco
+     */
+    public void fechar() {
+        if (disco != null) {
+            disco.fechar();
+        }
+    }
+
+    /**
+     * Instante, em milissegundos, em que a resposta deixa de ser válida
+     */
+    private long getValidade(RespostaCache resposta) {
+        return resposta.getArmazenadaEm() + (resposta.isNaoEncontrada() ? ttlNaoEncontradoMillis : ttlMillis);
+    }
+
+    /**
+     * Remove todas as entradas
+     */
+    public void limpar() {
+        respostas.invalidateAll();
+    }
+
+    /**
+     * Retorna as estatísticas de acertos, falhas e remoções do cache
+     */
+    public CacheStats getEstatisticas() {
+        return respostas.stats();
+    }
+
+    /**
+     * Registra no log o resumo de uso do cache
+     */
+    public void registrarEstatisticas() {
+        CacheStats estatisticas = getEstatisticas();
+        LOGGER.info(String.format("Cache HTTP: %d acertos, %d falhas (taxa de acerto %.1f%%), %d remoções, "
+                        + "%d entradas em memória, %d em disco",
+                estatisticas.hitCount(), estatisticas.missCount(), estatisticas.hitRate() * 100,
+                estatisticas.evictionCount(), respostas.estimatedSize(), disco != null ? disco.getQuantidade() : 0));
+    }
+}
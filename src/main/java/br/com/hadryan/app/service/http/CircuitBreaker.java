@@ -0,0 +1,107 @@
+package br.com.hadryan.app.service.http;
+
+import java.util.logging.Logger;
+
+/**
+ * Circuit breaker para chamadas a um serviço externo.
+ * Após um número de falhas consecutivas o circuito abre e as chamadas são recusadas
+ * imediatamente durante o tempo configurado. Em seguida uma única chamada de teste
+ * é liberada (meio aberto): se tiver sucesso o circuito fecha, senão volta a abrir.
+ * Uma chamada de teste abandonada sem resultado (ex.: thread interrompida) deve ser devolvida
+ * com {@link #liberarTeste()}, para que a próxima chamada possa testar o serviço.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public class CircuitBreaker {
+
+    private static final Logger LOGGER = Logger.getLogger(CircuitBreaker.class.getName());
+
+    /**
+     * Estados possíveis do circuito
+     */
+    public enum Estado {
+        FECHADO, ABERTO, MEIO_ABERTO
+    }
+
+    private final String nome;
+    private final int falhasParaAbrir;
+    private final long tempoAbertoMillis;
+
+    private Estado estado = Estado.FECHADO;
+    private int falhasConsecutivas;
+    private long abertoAte;
+    private Thread testeEmAndamento;
+
+    /**
+     * Construtor com o nome do serviço, o limite de falhas consecutivas e o tempo em que o circuito fica aberto
+     */
+    public CircuitBreaker(String nome, int falhasParaAbrir, long tempoAbertoMillis) {
+        this.nome = nome;
+        this.falhasParaAbrir = falhasParaAbrir;
+        this.tempoAbertoMillis = tempoAbertoMillis;
+    }
+
+    /**
+     * Indica se uma chamada pode ser feita agora
+     */
+    public synchronized boolean permitir() {
+        if (estado == Estado.ABERTO && System.currentTimeMillis() >= abertoAte) {
+            estado = Estado.MEIO_ABERTO;
+            testeEmAndamento = null;
+        }
+        if (estado == Estado.MEIO_ABERTO) {
+            if (testeEmAndamento != null) {
+                return false;
+            }
+            testeEmAndamento = Thread.currentThread();
+            return true;
+        }
+        return estado == Estado.FECHADO;
+    }
+
+    /**
+     * Registra uma chamada bem-sucedida
+     */
+    public synchronized void registrarSucesso() {
+        if (estado != Estado.FECHADO) {
+            LOGGER.info("Circuito de " + nome + " fechado: serviço respondendo novamente");
+        }
+        estado = Estado.FECHADO;
+        falhasConsecutivas = 0;
+        testeEmAndamento = null;
+    }
+
+    /**
+     * Devolve a chamada de teste da thread atual que terminou sem sucesso nem falha registrados,
+     * liberando um novo teste. Não tem efeito se a thread atual não estiver testando o circuito.
+     */
+    public synchronized void liberarTeste() {
+        if (estado == Estado.MEIO_ABERTO && testeEmAndamento == Thread.currentThread()) {
+            testeEmAndamento = null;
+        }
+    }
+
+    /**
+     * Registra uma chamada que falhou
+     */
+    public synchronized void registrarFalha() {
+        falhasConsecutivas++;
+        if (estado == Estado.MEIO_ABERTO || falhasConsecutivas >= falhasParaAbrir) {
+            if (estado != Estado.ABERTO) {
+                LOGGER.warning("Circuito de " + nome + " aberto após " + falhasConsecutivas
+                        + " falhas consecutivas. Novas chamadas serão recusadas por " + tempoAbertoMillis + " ms");
+            }
+            estado = Estado.ABERTO;
+            abertoAte = System.currentTimeMillis() + tempoAbertoMillis;
+            testeEmAndamento = null;
+        }
+    }
+
+    /**
+     * Retorna o estado atual do circuito
+     */
+    public synchronized Estado getEstado() {
+        return estado;
+    }
+}
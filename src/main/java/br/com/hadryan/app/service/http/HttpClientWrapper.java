@@ -1,17 +1,46 @@
 package br.com.hadryan.app.service.http;
 
-import java.io.BufferedReader;
+import br.com.hadryan.app.service.espelho.EspelhoOpenLibrary;
+import br.com.hadryan.app.service.execucao.AgendadorIO;
+import br.com.hadryan.app.service.execucao.AgendadorIO.Via;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.net.HttpURLConnection;
-import java.net.URL;
-import java.util.HashMap;
-import java.util.Map;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Wrapper para requisições HTTP com suporte a cache e timeouts configuráveis.
+ * As respostas são guardadas no CacheHttp, compartilhado por todas as instâncias,
+ * e respostas expiradas são revalidadas com requisições condicionais.
+ * As conexões vêm do pool do TransporteHttp, também compartilhado.
+ * Requisições simultâneas para a mesma URL são agrupadas em uma única chamada de rede,
+ * cujo resultado (ou erro) é entregue a todas as threads que aguardam, por no máximo o
+ * tempo de uma requisição com todas as suas tentativas. Se a thread que fazia a chamada for interrompida, as que
+ * aguardam não recebem o cancelamento: uma delas refaz a requisição.
+ * As chamadas respeitam o limite de taxa, são repetidas em respostas 429/5xx e erros de rede
+ * e são recusadas imediatamente enquanto o circuit breaker estiver aberto.
+ * Com hedging habilitado, uma requisição que demora mais que o percentil configurado
+ * ganha uma cópia; a primeira resposta vence e a outra chamada é cancelada.
+ * Quando o espelho local do OpenLibrary está habilitado, ele é consultado antes da rede.
  *
  * @author Hadryan Silva
  * @since 23-03-2025
@@ -19,23 +48,48 @@ import java.util.logging.Logger;
 public class HttpClientWrapper {
     private static final Logger LOGGER = Logger.getLogger(HttpClientWrapper.class.getName());
 
-    private final Map<String, String> cacheRequisicoes = new HashMap<>();
-    private int connectTimeout = 5000;
-    private int readTimeout = 5000;
+    // Requisições em andamento por URL, compartilhadas por todas as instâncias. As do segundo plano
+    // têm chave própria, para que uma consulta interativa não aguarde uma requisição de menor prioridade.
+    private static final ConcurrentMap<String, RequisicaoCompartilhada> EM_ANDAMENTO = new ConcurrentHashMap<>();
+    private static final String PREFIXO_SEGUNDO_PLANO = "segundo-plano:";
+
+    private final CacheHttp cache;
+    private final EspelhoOpenLibrary espelho;
+    private final LimitadorTaxa limitador;
+    private final PoliticaRetentativa politicaRetentativa;
+    private final CircuitBreaker circuitBreaker;
+    private final PoliticaHedge politicaHedge;
+    private volatile OkHttpClient cliente;
+    private volatile OkHttpClient clienteSegundoPlano;
+    private volatile long tempoTentativaMillis;
     private boolean useCache = true;
+    private boolean hedging;
 
     /**
      * Construtor padrão
      */
     public HttpClientWrapper() {
+        TransporteHttp transporte = TransporteHttp.getInstance();
+        this.cache = CacheHttp.getInstance();
+        this.espelho = EspelhoOpenLibrary.getInstance();
+        this.limitador = transporte.getLimitador();
+        this.politicaRetentativa = transporte.getPoliticaRetentativa();
+        this.circuitBreaker = transporte.getCircuitBreaker();
+        this.politicaHedge = transporte.getPoliticaHedge();
+        this.hedging = politicaHedge.isHabilitado();
+        this.cliente = transporte.criarCliente(5000, 5000, Via.INTERATIVA);
+        this.clienteSegundoPlano = transporte.criarCliente(5000, 5000, Via.SEGUNDO_PLANO);
+        this.tempoTentativaMillis = 5000 + 5000;
     }
 
     /**
      * Configura os timeouts
      */
     public void setTimeouts(int connectTimeout, int readTimeout) {
-        this.connectTimeout = connectTimeout;
-        this.readTimeout = readTimeout;
+        TransporteHttp transporte = TransporteHttp.getInstance();
+        this.cliente = transporte.criarCliente(connectTimeout, readTimeout, Via.INTERATIVA);
+        this.clienteSegundoPlano = transporte.criarCliente(connectTimeout, readTimeout, Via.SEGUNDO_PLANO);
+        this.tempoTentativaMillis = (long) connectTimeout + readTimeout;
     }
 
     /**
@@ -46,55 +100,357 @@ public class HttpClientWrapper {
     }
 
     /**
-     * Faz uma requisição GET para a URL especificada
+     * Habilita ou desabilita o envio de requisições extras (hedging) para respostas lentas
+     */
+    public void setHedging(boolean hedging) {
+        this.hedging = hedging;
+    }
+
+    /**
+     * Faz uma requisição GET para a URL especificada e retorna o corpo como texto.
+     * Retorna null quando a resposta não é 200.
      */
     public String fazerRequisicaoGet(String urlStr) throws IOException {
-        if (useCache && cacheRequisicoes.containsKey(urlStr)) {
-            LOGGER.log(Level.FINE, "Utilizando resposta em cache para: " + urlStr);
-            return cacheRequisicoes.get(urlStr);
+        byte[] corpo = fazerRequisicaoGetBytes(urlStr);
+        return corpo != null ? new String(corpo, StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * Faz uma requisição GET para a URL especificada e retorna o corpo em bytes,
+     * prontos para serem lidos pelo parser JSON sem conversão para String.
+     * A compressão gzip é negociada e removida pelo transporte.
+     * Retorna null quando a resposta não é 200; respostas 404 também são guardadas no cache.
+     */
+    public byte[] fazerRequisicaoGetBytes(String urlStr) throws IOException {
+        RespostaCache emCache = null;
+        if (useCache) {
+            emCache = cache.buscar(urlStr);
+            if (emCache != null && cache.isValida(emCache)) {
+                LOGGER.log(Level.FINE, "Utilizando resposta em cache para: " + urlStr);
+                return emCache.isNaoEncontrada() ? null : emCache.getCorpo();
+            }
         }
 
-        LOGGER.log(Level.FINE, "Fazendo requisição HTTP para: " + urlStr);
+        byte[] espelhado = espelho.buscar(urlStr);
+        if (espelhado != null) {
+            LOGGER.log(Level.FINE, "Utilizando resposta do espelho local para: " + urlStr);
+            return espelhado;
+        }
+
+        // O segundo plano aproveita uma requisição interativa em andamento, mas o inverso não ocorre
+        boolean segundoPlano = AgendadorIO.getViaAtual() == Via.SEGUNDO_PLANO;
+        String chave = segundoPlano ? PREFIXO_SEGUNDO_PLANO + urlStr : urlStr;
+        while (true) {
+            RequisicaoCompartilhada emAndamento = segundoPlano ? EM_ANDAMENTO.get(urlStr) : null;
+            if (emAndamento == null) {
+                RequisicaoCompartilhada requisicao = new RequisicaoCompartilhada(
+                        politicaRetentativa.calcularTempoMaximo(tempoTentativaMillis));
+                emAndamento = EM_ANDAMENTO.putIfAbsent(chave, requisicao);
+                if (emAndamento == null) {
+                    return buscarCompartilhando(chave, urlStr, emCache, requisicao);
+                }
+            }
 
-        HttpURLConnection connection = null;
-        BufferedReader reader = null;
-        StringBuilder response = new StringBuilder();
+            LOGGER.log(Level.FINE, "Aguardando requisição em andamento para: " + urlStr);
+            try {
+                return aguardar(emAndamento);
+            } catch (CancellationException e) {
+                LOGGER.log(Level.FINE, "Requisição em andamento cancelada, refazendo para: " + urlStr);
+            }
+        }
+    }
 
+    /**
+     * Faz a requisição na rede e entrega o resultado às threads que aguardam a mesma URL.
+     * A interrupção desta thread cancela a requisição compartilhada, para que uma das
+     * threads que aguardam a refaça em vez de receber o erro.
+     */
+    private byte[] buscarCompartilhando(String chave, String urlStr, RespostaCache emCache,
+                                        RequisicaoCompartilhada requisicao) throws IOException {
+        byte[] corpo = null;
+        Throwable erro = null;
         try {
-            URL url = new URL(urlStr);
-            connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            connection.setConnectTimeout(connectTimeout);
-            connection.setReadTimeout(readTimeout);
-
-            int responseCode = connection.getResponseCode();
-
-            if (responseCode == HttpURLConnection.HTTP_OK) {
-                reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    response.append(line);
-                }
+            corpo = buscarNaRede(urlStr, emCache);
+            return corpo;
+        } catch (IOException | RuntimeException | Error e) {
+            erro = e;
+            throw e;
+        } finally {
+            EM_ANDAMENTO.remove(chave, requisicao);
+            if (erro == null) {
+                requisicao.complete(corpo);
+            } else if (isCancelamento(erro)) {
+                requisicao.cancel(false);
+            } else {
+                requisicao.completeExceptionally(erro);
+            }
+        }
+    }
+
+    /**
+     * Indica se o erro decorre da interrupção da thread (busca cancelada) e não de uma falha da requisição
+     */
+    private static boolean isCancelamento(Throwable erro) {
+        return Thread.currentThread().isInterrupted()
+                || (erro instanceof InterruptedIOException && !(erro instanceof SocketTimeoutException));
+    }
+
+    /**
+     * Aguarda o resultado de uma requisição feita por outra thread, até o prazo da requisição:
+     * todas as tentativas e esperas previstas pela política de novas tentativas de quem a iniciou.
+     *
+     * @throws CancellationException se a thread que fazia a requisição foi interrompida
+     */
+    private byte[] aguardar(RequisicaoCompartilhada requisicao) throws IOException {
+        try {
+            return requisicao.get(Math.max(0, requisicao.prazoNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrompido aguardando requisição em andamento");
+        } catch (TimeoutException e) {
+            throw new SocketTimeoutException("Tempo esgotado aguardando requisição em andamento");
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            throw new IOException(causa.getMessage(), causa);
+        }
+    }
+
+    /**
+     * Executa a requisição na rede, de forma condicional quando há uma resposta expirada em cache.
+     * Falhas temporárias são repetidas conforme a política de novas tentativas.
+     *
+     * @throws IOException se o circuito estiver aberto ou se todas as tentativas falharem por erro de rede
+     */
+    private byte[] buscarNaRede(String urlStr, RespostaCache emCache) throws IOException {
+        if (!circuitBreaker.permitir()) {
+            throw new IOException("OpenLibrary indisponível no momento (circuito aberto): " + urlStr);
+        }
+        try {
+            return tentarNaRede(urlStr, emCache);
+        } finally {
+            // Sem efeito se o resultado já foi registrado; libera o teste interrompido ou abandonado
+            circuitBreaker.liberarTeste();
+        }
+    }
+
+    /**
+     * Envia a requisição conforme a política de novas tentativas, registrando o resultado no circuit breaker
+     */
+    private byte[] tentarNaRede(String urlStr, RespostaCache emCache) throws IOException {
+        Request.Builder request = new Request.Builder().url(urlStr).get();
+
+        // Resposta expirada: o servidor responde 304 sem corpo se ela ainda for atual
+        boolean condicional = emCache != null && emCache.isRevalidavel();
+        if (condicional) {
+            if (emCache.getEtag() != null) {
+                request.header("If-None-Match", emCache.getEtag());
+            }
+            if (emCache.getUltimaModificacao() != null) {
+                request.header("If-Modified-Since", emCache.getUltimaModificacao());
+            }
+        }
 
-                String responseStr = response.toString();
+        Via via = AgendadorIO.getViaAtual();
+        for (int tentativa = 1; ; tentativa++) {
+            limitador.adquirir(via);
+            LOGGER.log(Level.FINE, "Fazendo requisição HTTP para: " + urlStr + " (tentativa " + tentativa + ")");
 
-                if (useCache && !responseStr.isEmpty()) {
-                    LOGGER.log(Level.FINE, "Adicionando resposta ao cache para: " + urlStr);
-                    cacheRequisicoes.put(urlStr, responseStr);
+            int responseCode = -1;
+            IOException erro = null;
+            long espera;
+            try (Response response = executar(request.build())) {
+                responseCode = response.code();
+                if (!politicaRetentativa.isFalhaTemporaria(responseCode)) {
+                    circuitBreaker.registrarSucesso();
+                    return tratarResposta(urlStr, emCache, condicional, response);
+                }
+                espera = politicaRetentativa.calcularEspera(tentativa, response.header("Retry-After"));
+            } catch (IOException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw e;
                 }
+                erro = e;
+                espera = politicaRetentativa.calcularEspera(tentativa, null);
+            }
 
-                return responseStr;
-            } else {
+            if (espera < 0) {
+                circuitBreaker.registrarFalha();
+                if (erro != null) {
+                    throw erro;
+                }
                 LOGGER.log(Level.WARNING, "Resposta não-OK da API: " + responseCode + " para URL: " + urlStr);
                 return null;
             }
 
-        } finally {
-            if (reader != null) {
-                reader.close();
+            LOGGER.log(Level.FINE, "Falha temporária (" + (erro != null ? erro.getMessage() : "HTTP " + responseCode)
+                    + ") para " + urlStr + ". Nova tentativa em " + espera + " ms");
+            try {
+                Thread.sleep(espera);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrompido aguardando nova tentativa");
+            }
+        }
+    }
+
+    /**
+     * Executa a requisição e registra sua latência. Com hedging habilitado, se não houver
+     * resposta dentro do atraso da política, envia uma segunda requisição idêntica
+     * (quando a fração máxima e o limite de taxa permitem) e retorna a primeira resposta.
+     */
+    private Response executar(Request request) throws IOException {
+        long inicio = System.nanoTime();
+        Via via = AgendadorIO.getViaAtual();
+        OkHttpClient clienteVia = via == Via.SEGUNDO_PLANO ? clienteSegundoPlano : cliente;
+
+        // Mesmo sem hedging a chamada é assíncrona, para que a interrupção da thread
+        // que aguarda (ex.: busca cancelada) cancele também a requisição
+        CorridaRequisicoes corrida = new CorridaRequisicoes();
+        corrida.enviar(clienteVia.newCall(request));
+        Response response = hedging ? corrida.aguardar(politicaHedge.getAtrasoNanos()) : null;
+        if (response == null) {
+            if (hedging && politicaHedge.permitirHedge() && limitador.tentarAdquirir(via)) {
+                LOGGER.log(Level.FINE, "Resposta lenta, enviando requisição extra para: " + request.url());
+                corrida.enviar(clienteVia.newCall(request));
+            }
+            response = corrida.aguardar(-1);
+        }
+        politicaHedge.registrarLatencia(System.nanoTime() - inicio);
+        return response;
+    }
+
+    /**
+     * Trata uma resposta definitiva (não sujeita a nova tentativa), atualizando o cache
+     */
+    private byte[] tratarResposta(String urlStr, RespostaCache emCache, boolean condicional, Response response)
+            throws IOException {
+        int responseCode = response.code();
+
+        if (condicional && responseCode == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            LOGGER.log(Level.FINE, "Resposta em cache revalidada para: " + urlStr);
+            cache.revalidar(urlStr, emCache.revalidada());
+            return emCache.getCorpo();
+        }
+
+        if (responseCode == HttpURLConnection.HTTP_OK) {
+            byte[] corpo = response.body().bytes();
+
+            if (useCache && corpo.length > 0) {
+                LOGGER.log(Level.FINE, "Adicionando resposta ao cache para: " + urlStr);
+                cache.armazenar(urlStr, new RespostaCache(responseCode, corpo,
+                        response.header("ETag"), response.header("Last-Modified"),
+                        System.currentTimeMillis()));
             }
-            if (connection != null) {
-                connection.disconnect();
+
+            return corpo;
+        }
+
+        if (useCache && responseCode == HttpURLConnection.HTTP_NOT_FOUND) {
+            cache.armazenar(urlStr, RespostaCache.naoEncontrada());
+        }
+        LOGGER.log(Level.WARNING, "Resposta não-OK da API: " + responseCode + " para URL: " + urlStr);
+        return null;
+    }
+
+    /**
+     * Resultado de uma requisição em andamento, com o prazo até o qual as outras threads o aguardam
+     */
+    private static final class RequisicaoCompartilhada extends CompletableFuture<byte[]> {
+
+        private final long prazoNanos;
+
+        RequisicaoCompartilhada(long tempoMaximoMillis) {
+            this.prazoNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(tempoMaximoMillis);
+        }
+    }
+
+    /**
+     * Disputa entre a requisição original e a extra: a primeira resposta é entregue,
+     * as demais chamadas são canceladas e respostas que chegarem depois são descartadas.
+     * A corrida só falha quando todas as chamadas enviadas falham.
+     */
+    private static final class CorridaRequisicoes implements Callback {
+
+        private final CompletableFuture<Response> resultado = new CompletableFuture<>();
+        private final List<Call> chamadas = new CopyOnWriteArrayList<>();
+        private final AtomicInteger pendentes = new AtomicInteger();
+        private volatile Call vencedora;
+
+        void enviar(Call chamada) {
+            chamadas.add(chamada);
+            pendentes.incrementAndGet();
+            chamada.enqueue(this);
+        }
+
+        /**
+         * Aguarda a resposta pelo tempo informado (negativo aguarda indefinidamente, limitado
+         * pelos timeouts do cliente). Retorna null se o tempo acabar antes da resposta; nesse
+         * caso a corrida continua e uma resposta que chegue depois fica para a próxima espera.
+         */
+        Response aguardar(long nanos) throws IOException {
+            try {
+                Response response = nanos < 0 ? resultado.get() : resultado.get(nanos, TimeUnit.NANOSECONDS);
+                cancelarPerdedoras();
+                return response;
+            } catch (TimeoutException e) {
+                return null;
+            } catch (InterruptedException e) {
+                abandonar();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrompido aguardando resposta");
+            } catch (ExecutionException e) {
+                cancelarPerdedoras();
+                throw new IOException(e.getCause().getMessage(), e.getCause());
+            }
+        }
+
+        @Override
+        public void onResponse(Call call, Response response) {
+            synchronized (this) {
+                if (!resultado.isDone()) {
+                    vencedora = call;
+                    resultado.complete(response);
+                    return;
+                }
+            }
+            response.close();
+        }
+
+        @Override
+        public void onFailure(Call call, IOException e) {
+            if (pendentes.decrementAndGet() == 0) {
+                resultado.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Encerra a corrida sem entregar a resposta: completa o resultado sob o mesmo lock de
+         * onResponse, de modo que respostas posteriores são fechadas lá, e fecha a resposta
+         * que já tiver sido entregue, devolvendo sua conexão ao pool
+         */
+        private void abandonar() {
+            synchronized (this) {
+                resultado.complete(null);
+            }
+            if (!resultado.isCompletedExceptionally()) {
+                Response entregue = resultado.getNow(null);
+                if (entregue != null) {
+                    entregue.close();
+                }
+            }
+            for (Call chamada : chamadas) {
+                chamada.cancel();
+            }
+        }
+
+        private void cancelarPerdedoras() {
+            for (Call chamada : chamadas) {
+                if (chamada != vencedora) {
+                    chamada.cancel();
+                }
             }
         }
     }
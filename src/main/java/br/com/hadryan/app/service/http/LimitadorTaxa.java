@@ -0,0 +1,109 @@
+package br.com.hadryan.app.service.http;
+
+import br.com.hadryan.app.service.execucao.AgendadorIO.Via;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limitador de taxa de requisições no modelo token bucket.
+ * O balde comporta uma rajada de até "capacidade" requisições e é reabastecido
+ * continuamente à taxa configurada; sem fichas disponíveis, a thread aguarda.
+ * A via interativa tem prioridade: metade da rajada fica reservada para ela, e a via de
+ * segundo plano só consome fichas quando não há requisições interativas aguardando.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public class LimitadorTaxa {
+
+    private final double capacidade;
+    private final double reservaInterativa;
+    private final double fichasPorNano;
+    private double fichas;
+    private long ultimoAbastecimento;
+
+    /**
+     * Construtor com a taxa sustentada (requisições por segundo) e o tamanho da rajada
+     */
+    public LimitadorTaxa(double requisicoesPorSegundo, int rajada) {
+        this.capacidade = rajada;
+        this.reservaInterativa = rajada / 2;
+        this.fichasPorNano = requisicoesPorSegundo / TimeUnit.SECONDS.toNanos(1);
+        this.fichas = rajada;
+        this.ultimoAbastecimento = System.nanoTime();
+    }
+
+    /**
+     * Consome uma ficha para a via informada, aguardando o tempo necessário quando o balde está vazio
+     */
+    public void adquirir(Via via) throws InterruptedIOException {
+        if (via != Via.SEGUNDO_PLANO) {
+            aguardar(reservar());
+            return;
+        }
+        long espera;
+        while ((espera = tentarReservarSegundoPlano()) > 0) {
+            aguardar(espera);
+        }
+    }
+
+    /**
+     * Consome uma ficha para a via informada somente se houver uma disponível imediatamente
+     */
+    public synchronized boolean tentarAdquirir(Via via) {
+        abastecer();
+        if (fichas < minimoPara(via)) {
+            return false;
+        }
+        fichas -= 1;
+        return true;
+    }
+
+    /**
+     * Reserva uma ficha e retorna quanto tempo, em nanossegundos, falta para ela estar disponível.
+     * O saldo pode ficar negativo, garantindo a ordem entre as threads interativas que aguardam.
+     */
+    private synchronized long reservar() {
+        abastecer();
+        fichas -= 1;
+        return fichas >= 0 ? 0 : (long) (-fichas / fichasPorNano);
+    }
+
+    /**
+     * Consome uma ficha se o saldo estiver acima da reserva interativa; caso contrário não reserva nada
+     * e retorna quanto tempo falta para o saldo chegar lá. Como as threads interativas deixam o saldo
+     * negativo enquanto aguardam, o segundo plano sempre fica atrás delas.
+     */
+    private synchronized long tentarReservarSegundoPlano() {
+        abastecer();
+        double minimo = minimoPara(Via.SEGUNDO_PLANO);
+        if (fichas >= minimo) {
+            fichas -= 1;
+            return 0;
+        }
+        return Math.max(1, (long) ((minimo - fichas) / fichasPorNano));
+    }
+
+    private static void aguardar(long espera) throws InterruptedIOException {
+        if (espera <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(espera);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrompido aguardando o limite de requisições");
+        }
+    }
+
+    private double minimoPara(Via via) {
+        return via == Via.SEGUNDO_PLANO ? 1 + reservaInterativa : 1;
+    }
+
+    private void abastecer() {
+        long agora = System.nanoTime();
+        fichas = Math.min(capacidade, fichas + (agora - ultimoAbastecimento) * fichasPorNano);
+        ultimoAbastecimento = agora;
+    }
+}
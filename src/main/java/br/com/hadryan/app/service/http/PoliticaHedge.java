@@ -0,0 +1,107 @@
+package br.com.hadryan.app.service.http;
+
+import br.com.hadryan.app.util.JanelaLatencias;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Política de requisições "hedged": quando uma requisição GET não responde dentro do
+ * percentil configurado das latências recentes, uma segunda requisição idêntica é enviada
+ * e vence a que responder primeiro. Para não dobrar a carga no servidor, o número de
+ * requisições extras é limitado a uma fração do total de requisições.
+ * O percentil é recalculado a cada INTERVALO_RECALCULO novas amostras, e não a cada requisição.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public class PoliticaHedge {
+
+    private static final int AMOSTRAS = 1024;
+    private static final int INTERVALO_RECALCULO = 64;
+
+    private final boolean habilitado;
+    private final double percentil;
+    private final long atrasoMinimoNanos;
+    private final long atrasoInicialNanos;
+    private final int amostrasMinimas;
+    private final double fracaoMaxima;
+
+    private final JanelaLatencias latencias = new JanelaLatencias(AMOSTRAS);
+    private final AtomicLong requisicoes = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+
+    // Total de amostras no último cálculo do percentil e o valor calculado (-1 antes do primeiro)
+    private final AtomicLong amostrasNoCalculo = new AtomicLong(-INTERVALO_RECALCULO);
+    private volatile long percentilCalculado = -1;
+
+    /**
+     * Construtor com os parâmetros da política
+     *
+     * @param percentil          percentil das latências recentes usado como atraso (0 a 100)
+     * @param atrasoMinimoMillis menor atraso permitido antes de enviar a requisição extra
+     * @param atrasoInicialMillis atraso usado enquanto não há amostras suficientes
+     * @param amostrasMinimas    número de amostras necessárias para usar o percentil
+     * @param fracaoMaxima       fração máxima de requisições extras sobre o total
+     */
+    public PoliticaHedge(boolean habilitado, double percentil, long atrasoMinimoMillis, long atrasoInicialMillis,
+                         int amostrasMinimas, double fracaoMaxima) {
+        this.habilitado = habilitado;
+        this.percentil = percentil;
+        this.atrasoMinimoNanos = TimeUnit.MILLISECONDS.toNanos(atrasoMinimoMillis);
+        this.atrasoInicialNanos = TimeUnit.MILLISECONDS.toNanos(atrasoInicialMillis);
+        this.amostrasMinimas = amostrasMinimas;
+        this.fracaoMaxima = fracaoMaxima;
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Tempo de espera, em nanossegundos, antes de enviar a requisição extra
+     */
+    public long getAtrasoNanos() {
+        long total = latencias.getTotal();
+        if (total < amostrasMinimas) {
+            return atrasoInicialNanos;
+        }
+
+        // Apenas a thread que atualiza o contador recalcula; as demais usam o último valor
+        long calculadoEm = amostrasNoCalculo.get();
+        if (total - calculadoEm >= INTERVALO_RECALCULO && amostrasNoCalculo.compareAndSet(calculadoEm, total)) {
+            percentilCalculado = latencias.percentil(percentil);
+        }
+        long atraso = percentilCalculado;
+        return atraso < 0 ? atrasoInicialNanos : Math.max(atrasoMinimoNanos, atraso);
+    }
+
+    /**
+     * Registra uma nova requisição e a latência até sua resposta
+     */
+    public void registrarLatencia(long nanos) {
+        requisicoes.incrementAndGet();
+        latencias.registrar(nanos);
+    }
+
+    /**
+     * Reserva uma requisição extra, se a fração máxima ainda não foi atingida
+     */
+    public boolean permitirHedge() {
+        long atual;
+        do {
+            atual = hedges.get();
+            if (atual + 1 > Math.max(1, requisicoes.get()) * fracaoMaxima) {
+                return false;
+            }
+        } while (!hedges.compareAndSet(atual, atual + 1));
+        return true;
+    }
+
+    /**
+     * Retorna o número de requisições extras enviadas
+     */
+    public long getHedges() {
+        return hedges.get();
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.hadryan.app.service.http;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Política de novas tentativas para respostas 429 e 5xx e para erros de rede.
+ * O intervalo cresce exponencialmente com jitter completo (valor aleatório entre zero
+ * e o limite da tentativa); quando o servidor envia Retry-After, o valor dele é respeitado.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public class PoliticaRetentativa {
+
+    private final int maxTentativas;
+    private final long esperaInicialMillis;
+    private final long esperaMaximaMillis;
+
+    /**
+     * Construtor com o número máximo de tentativas (incluindo a primeira) e os limites de espera
+     */
+    public PoliticaRetentativa(int maxTentativas, long esperaInicialMillis, long esperaMaximaMillis) {
+        this.maxTentativas = maxTentativas;
+        this.esperaInicialMillis = esperaInicialMillis;
+        this.esperaMaximaMillis = esperaMaximaMillis;
+    }
+
+    /**
+     * Indica se o código de status representa uma falha temporária que justifica nova tentativa
+     */
+    public boolean isFalhaTemporaria(int status) {
+        return status == 429 || status >= 500;
+    }
+
+    /**
+     * Calcula a espera, em milissegundos, antes da próxima tentativa.
+     * Retorna -1 quando não deve haver nova tentativa: tentativas esgotadas ou
+     * Retry-After maior que a espera máxima permitida.
+     */
+    public long calcularEspera(int tentativa, String retryAfter) {
+        if (tentativa >= maxTentativas) {
+            return -1;
+        }
+
+        long esperaServidor = lerRetryAfter(retryAfter);
+        if (esperaServidor >= 0) {
+            return esperaServidor <= esperaMaximaMillis ? esperaServidor : -1;
+        }
+
+        long limite = Math.min(esperaMaximaMillis, esperaInicialMillis << Math.min(tentativa - 1, 20));
+        return ThreadLocalRandom.current().nextLong(limite + 1);
+    }
+
+    /**
+     * Calcula o tempo máximo, em milissegundos, de uma requisição com todas as tentativas:
+     * cada tentativa limitada pelo tempo informado e a espera máxima entre elas
+     */
+    public long calcularTempoMaximo(long tempoTentativaMillis) {
+        int tentativas = Math.max(1, maxTentativas);
+        return tentativas * tempoTentativaMillis + (tentativas - 1) * esperaMaximaMillis;
+    }
+
+    /**
+     * Converte o cabeçalho Retry-After (segundos ou data HTTP) em milissegundos, ou -1 se ausente/inválido
+     */
+    private long lerRetryAfter(String retryAfter) {
+        if (retryAfter == null || retryAfter.trim().isEmpty()) {
+            return -1;
+        }
+        String valor = retryAfter.trim();
+        try {
+            return Math.max(0, Long.parseLong(valor) * 1000);
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime data = ZonedDateTime.parse(valor, DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(data.getZone()), data).toMillis());
+            } catch (DateTimeParseException ex) {
+                return -1;
+            }
+        }
+    }
+}
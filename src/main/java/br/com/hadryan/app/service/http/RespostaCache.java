@@ -0,0 +1,88 @@
+package br.com.hadryan.app.service.http;
+
+/**
+ * Resposta HTTP mantida no cache. O corpo é armazenado em bytes UTF-8,
+ * ocupando metade da memória de uma String na maioria das respostas da API.
+ * Respostas 404 são armazenadas sem corpo (cache negativo).
+ * Os cabeçalhos ETag e Last-Modified são guardados para revalidação condicional.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public final class RespostaCache {
+
+    private final int status;
+    private final byte[] corpo;
+    private final String etag;
+    private final String ultimaModificacao;
+    private final long armazenadaEm;
+
+    /**
+     * Construtor com o código de status, o corpo, os validadores e o instante
+     * (em milissegundos) em que a resposta foi obtida ou revalidada
+     */
+    public RespostaCache(int status, byte[] corpo, String etag, String ultimaModificacao, long armazenadaEm) {
+        this.status = status;
+        this.corpo = corpo;
+        this.etag = etag;
+        this.ultimaModificacao = ultimaModificacao;
+        this.armazenadaEm = armazenadaEm;
+    }
+
+    /**
+     * Cria uma entrada para uma resposta 404
+     */
+    public static RespostaCache naoEncontrada() {
+        return new RespostaCache(404, new byte[0], null, null, System.currentTimeMillis());
+    }
+
+    /**
+     * Retorna uma cópia da entrada marcada como revalidada agora (resposta 304 do servidor)
+     */
+    public RespostaCache revalidada() {
+        return new RespostaCache(status, corpo, etag, ultimaModificacao, System.currentTimeMillis());
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public byte[] getCorpo() {
+        return corpo;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getUltimaModificacao() {
+        return ultimaModificacao;
+    }
+
+    public long getArmazenadaEm() {
+        return armazenadaEm;
+    }
+
+    /**
+     * Indica se a entrada representa uma resposta 404
+     */
+    public boolean isNaoEncontrada() {
+        return status == 404;
+    }
+
+    /**
+     * Indica se a entrada possui ETag ou Last-Modified para uma requisição condicional
+     */
+    public boolean isRevalidavel() {
+        return etag != null || ultimaModificacao != null;
+    }
+
+    /**
+     * Tamanho aproximado ocupado pela entrada, em bytes
+     */
+    int getTamanho() {
+        return corpo.length
+                + (etag != null ? etag.length() : 0)
+                + (ultimaModificacao != null ? ultimaModificacao.length() : 0);
+    }
+}
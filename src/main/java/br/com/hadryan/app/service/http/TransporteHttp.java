@@ -0,0 +1,154 @@
+package br.com.hadryan.app.service.http;
+
+import br.com.hadryan.app.config.AppConfig;
+import br.com.hadryan.app.service.execucao.AgendadorIO.Via;
+import com.typesafe.config.Config;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Transporte HTTP compartilhado pelos clientes da API OpenLibrary.
+ * Mantém um único pool de conexões com keep-alive, de modo que as requisições
+ * reaproveitam conexões TCP/TLS já abertas, e negocia HTTP/2 quando o servidor suporta,
+ * multiplexando requisições concorrentes na mesma conexão.
+ * Também concentra o limitador de taxa, a política de novas tentativas e o circuit breaker,
+ * de modo que todos os clientes respeitam os mesmos limites.
+ * Cada via do agendador tem seu próprio dispatcher, para que requisições em lote
+ * não ocupem as vagas por host das consultas interativas.
+ * Implementa o padrão Singleton.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public final class TransporteHttp {
+
+    private static final Logger LOGGER = Logger.getLogger(TransporteHttp.class.getName());
+
+    private static TransporteHttp instance;
+    private final OkHttpClient cliente;
+    private final OkHttpClient clienteSegundoPlano;
+    private final List<String> urlsAquecimento;
+    private final LimitadorTaxa limitador;
+    private final PoliticaRetentativa politicaRetentativa;
+    private final CircuitBreaker circuitBreaker;
+    private final PoliticaHedge politicaHedge;
+
+    /**
+     * Construtor privado - padrão Singleton
+     */
+    private TransporteHttp() {
+        Config config = AppConfig.getInstance().getConfig("http.transporte");
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(config.getInt("max-requisicoes"));
+        dispatcher.setMaxRequestsPerHost(config.getInt("max-requisicoes-por-host"));
+
+        Dispatcher dispatcherSegundoPlano = new Dispatcher();
+        dispatcherSegundoPlano.setMaxRequests(config.getInt("segundo-plano.max-requisicoes"));
+        dispatcherSegundoPlano.setMaxRequestsPerHost(config.getInt("segundo-plano.max-requisicoes-por-host"));
+
+        this.cliente = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(config.getInt("conexoes-ociosas"),
+                        config.getDuration("keep-alive", TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher)
+                .retryOnConnectionFailure(true)
+                .build();
+        this.clienteSegundoPlano = cliente.newBuilder()
+                .dispatcher(dispatcherSegundoPlano)
+                .build();
+        this.urlsAquecimento = config.getStringList("aquecimento");
+
+        Config resiliencia = AppConfig.getInstance().getConfig("http.resiliencia");
+        this.limitador = new LimitadorTaxa(resiliencia.getDouble("requisicoes-por-segundo"),
+                resiliencia.getInt("rajada"));
+        this.politicaRetentativa = new PoliticaRetentativa(resiliencia.getInt("tentativas"),
+                resiliencia.getDuration("espera-inicial", TimeUnit.MILLISECONDS),
+                resiliencia.getDuration("espera-maxima", TimeUnit.MILLISECONDS));
+        this.circuitBreaker = new CircuitBreaker("OpenLibrary", resiliencia.getInt("falhas-para-abrir"),
+                resiliencia.getDuration("tempo-aberto", TimeUnit.MILLISECONDS));
+
+        Config hedging = AppConfig.getInstance().getConfig("http.hedging");
+        this.politicaHedge = new PoliticaHedge(hedging.getBoolean("habilitado"), hedging.getDouble("percentil"),
+                hedging.getDuration("atraso-minimo", TimeUnit.MILLISECONDS),
+                hedging.getDuration("atraso-inicial", TimeUnit.MILLISECONDS),
+                hedging.getInt("amostras-minimas"), hedging.getDouble("fracao-maxima"));
+    }
+
+    /**
+     * Retorna a instância única do transporte
+     */
+    public static synchronized TransporteHttp getInstance() {
+        if (instance == null) {
+            instance = new TransporteHttp();
+        }
+        return instance;
+    }
+
+    /**
+     * Retorna um cliente da via com os timeouts informados, compartilhando o pool de conexões
+     */
+    public OkHttpClient criarCliente(int connectTimeout, int readTimeout, Via via) {
+        return (via == Via.SEGUNDO_PLANO ? clienteSegundoPlano : cliente).newBuilder()
+                .connectTimeout(connectTimeout, TimeUnit.MILLISECONDS)
+                .readTimeout(readTimeout, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    public LimitadorTaxa getLimitador() {
+        return limitador;
+    }
+
+    public PoliticaRetentativa getPoliticaRetentativa() {
+        return politicaRetentativa;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public PoliticaHedge getPoliticaHedge() {
+        return politicaHedge;
+    }
+
+    /**
+     * Abre antecipadamente as conexões com os servidores configurados, em segundo plano,
+     * para que a primeira consulta não pague o handshake TCP/TLS
+     */
+    public void aquecer() {
+        for (String url : urlsAquecimento) {
+            Request request = new Request.Builder().url(url).head().build();
+            cliente.newCall(request).enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    LOGGER.log(Level.FINE, "Falha ao aquecer conexão com " + url, e);
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                    LOGGER.log(Level.FINE, "Conexão aquecida com " + url + " (" + response.protocol() + ")");
+                    response.close();
+                }
+            });
+        }
+    }
+
+    /**
+     * Encerra as conexões abertas e as threads do transporte
+     */
+    public void fechar() {
+        cliente.dispatcher().executorService().shutdown();
+        clienteSegundoPlano.dispatcher().executorService().shutdown();
+        cliente.connectionPool().evictAll();
+    }
+}
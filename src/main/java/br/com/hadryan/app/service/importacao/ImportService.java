@@ -1,13 +1,17 @@
 package br.com.hadryan.app.service.importacao;
 
+import br.com.hadryan.app.config.JpaConfig;
 import br.com.hadryan.app.model.entity.Autor;
 import br.com.hadryan.app.model.entity.Livro;
 import br.com.hadryan.app.model.repository.LivroRepository;
+import br.com.hadryan.app.service.OpenLibraryService;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -15,6 +19,8 @@ import java.util.logging.Logger;
 /**
  * Serviço para importação de livros a partir de arquivos.
  * Implementa o padrão Strategy para suportar diferentes formatos de arquivo.
+ * Livros importados sem título, autores ou editora são completados com a
+ * API do OpenLibrary, consultada em lotes de ISBNs.
  *
  * @author Hadryan Silva
  * @since 22-03-2025
@@ -23,14 +29,25 @@ public class ImportService {
 
     private static final Logger LOGGER = Logger.getLogger(ImportService.class.getName());
 
+    private static final String PREFIXO_TITULO_PROVISORIO = "Livro sem título";
+
     private final List<ImportStrategy> estrategias;
     private final LivroRepository livroRepository;
+    private final OpenLibraryService openLibraryService;
 
     /**
-     * Construtor que inicializa estratégias padrão
+     * Construtor que inicializa estratégias padrão, sem completar os dados pela API
      */
     public ImportService(LivroRepository livroRepository) {
+        this(livroRepository, null);
+    }
+
+    /**
+     * Construtor que inicializa estratégias padrão e completa os livros importados pela API
+     */
+    public ImportService(LivroRepository livroRepository, OpenLibraryService openLibraryService) {
         this.livroRepository = livroRepository;
+        this.openLibraryService = openLibraryService;
 
         this.estrategias = new ArrayList<>();
         this.estrategias.add(new CsvImportStrategy());
@@ -52,6 +69,7 @@ public class ImportService {
             throw new IllegalArgumentException("Formato de arquivo não suportado: " + arquivo.getName());
         }
         List<Livro> livrosImportados = estrategia.importar(arquivo);
+        completarLivrosImportados(livrosImportados);
 
         return salvarLivrosImportados(livrosImportados);
     }
@@ -68,9 +86,83 @@ public class ImportService {
         return null;
     }
 
+    /**
+     * Completa título, autores e editora dos livros incompletos com uma busca em lote
+     * na API. Apenas os campos ausentes no arquivo são preenchidos.
+     */
+    private void completarLivrosImportados(List<Livro> livros) {
+        if (openLibraryService == null) {
+            return;
+        }
+
+        Map<String, Livro> incompletos = new LinkedHashMap<>();
+        for (Livro livro : livros) {
+            if (livro.getIsbn() != null && !livro.getIsbn().isEmpty() && isIncompleto(livro)) {
+                incompletos.put(livro.getIsbn().replaceAll("[^0-9X]", ""), livro);
+            }
+        }
+
+        if (incompletos.isEmpty()) {
+            return;
+        }
+
+        Map<String, Livro> encontrados = openLibraryService.buscarLivrosPorIsbns(incompletos.keySet());
+        for (Map.Entry<String, Livro> entrada : encontrados.entrySet()) {
+            Livro livro = incompletos.get(entrada.getKey());
+            if (livro != null) {
+                completarLivro(livro, entrada.getValue());
+            }
+        }
+
+        LOGGER.log(Level.INFO, "{0} de {1} livros incompletos foram completados pela API",
+                new Object[]{encontrados.size(), incompletos.size()});
+    }
+
+    /**
+     * Verifica se faltam dados no livro importado
+     */
+    private boolean isIncompleto(Livro livro) {
+        return isTituloAusente(livro.getTitulo())
+                || livro.getEditora() == null
+                || livro.getAutores() == null || livro.getAutores().isEmpty();
+    }
+
+    /**
+     * Verifica se o título está vazio ou é o título provisório das estratégias de importação
+     */
+    private boolean isTituloAusente(String titulo) {
+        return titulo == null || titulo.trim().isEmpty() || titulo.startsWith(PREFIXO_TITULO_PROVISORIO);
+    }
+
+    /**
+     * Preenche os campos ausentes do livro importado com os dados da API
+     */
+    private void completarLivro(Livro livro, Livro dadosApi) {
+        if (isTituloAusente(livro.getTitulo()) && !isTituloAusente(dadosApi.getTitulo())) {
+            livro.setTitulo(dadosApi.getTitulo());
+        }
+
+        if ((livro.getDataPublicacao() == null || livro.getDataPublicacao().isEmpty())
+                && dadosApi.getDataPublicacao() != null && !dadosApi.getDataPublicacao().isEmpty()) {
+            livro.setDataPublicacao(dadosApi.getDataPublicacao());
+        }
+
+        if (livro.getEditora() == null) {
+            livro.setEditora(dadosApi.getEditora());
+        }
+
+        if (livro.getAutores() == null || livro.getAutores().isEmpty()) {
+            for (Autor autor : dadosApi.getAutores()) {
+                livro.adicionarAutor(new Autor(autor.getNome()));
+            }
+        }
+    }
+
     /**
      * Salva os livros importados no banco de dados
-     * Atualiza livros existentes se o ISBN já existir
+     * Atualiza livros existentes se o ISBN já existir.
+     * Cada livro é gravado em sua própria transação, de modo que um registro inválido
+     * não desfaz os demais e o contexto de persistência não cresce durante a importação.
      */
     private int salvarLivrosImportados(List<Livro> livros) {
         int contador = 0;
@@ -81,40 +173,46 @@ public class ImportService {
                     continue;
                 }
 
-                Optional<Livro> livroExistente = livroRepository.findByIsbn(livro.getIsbn());
+                JpaConfig.getInstance().inTransaction(em -> salvarLivroImportado(livro));
+                contador++;
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Erro ao salvar livro importado: " + livro.getIsbn(), e);
+            }
+        }
+
+        return contador;
+    }
 
-                if (livroExistente.isPresent()) {
-                    Livro existente = livroExistente.get();
+    /**
+     * Atualiza o livro existente com o mesmo ISBN ou cadastra um novo.
+     * Deve ser chamado dentro de uma unidade de trabalho.
+     */
+    private Livro salvarLivroImportado(Livro livro) {
+        Optional<Livro> livroExistente = livroRepository.findByIsbn(livro.getIsbn());
 
-                    if (livro.getTitulo() != null && !livro.getTitulo().isEmpty()) {
-                        existente.setTitulo(livro.getTitulo());
-                    }
+        if (livroExistente.isPresent()) {
+            Livro existente = livroExistente.get();
 
-                    if (livro.getDataPublicacao() != null) {
-                        existente.setDataPublicacao(livro.getDataPublicacao());
-                    }
+            if (livro.getTitulo() != null && !livro.getTitulo().isEmpty()) {
+                existente.setTitulo(livro.getTitulo());
+            }
 
-                    if (livro.getEditora() != null) {
-                        existente.setEditora(livro.getEditora());
-                    }
+            if (livro.getDataPublicacao() != null) {
+                existente.setDataPublicacao(livro.getDataPublicacao());
+            }
 
-                    if (livro.getAutores() != null) {
-                        for (Autor autor : livro.getAutores()) {
-                            existente.adicionarAutor(autor);
-                        }
-                    }
+            if (livro.getEditora() != null) {
+                existente.setEditora(livro.getEditora());
+            }
 
-                    livroRepository.save(existente);
-                } else {
-                    livroRepository.save(livro);
+            if (livro.getAutores() != null) {
+                for (Autor autor : livro.getAutores()) {
+                    existente.adicionarAutor(autor);
                 }
-
-                contador++;
-            } catch (Exception e) {
-                LOGGER.log(Level.WARNING, "Erro ao salvar livro importado: " + livro.getIsbn(), e);
             }
-        }
 
-        return contador;
+            return livroRepository.save(existente);
+        }
+        return livroRepository.save(livro);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+package br.com.hadryan.app.service.json;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Autor retornado por /authors/{key}.json.
+ * Campos não mapeados são ignorados durante a leitura.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class AutorDto {
+
+    @JsonProperty("name")
+    private String nome;
+
+    // Getters
+
+    public String getNome() {
+        return nome;
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.hadryan.app.service.json;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Autor listado em um work, no formato {"author": {"key": ...}}.
+ * Campos não mapeados são ignorados durante a leitura.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class AutorWorkDto {
+
+    @JsonProperty("author")
+    private ReferenciaDto autor;
+
+    @JsonProperty("key")
+    private String key;
+
+    // Getters
+
+    public ReferenciaDto getAutor() {
+        return autor;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.hadryan.app.service.json;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Documento retornado pela busca /search.json.
+ * Com o parâmetro fields=key,title,isbn,author_name, traz o suficiente para
+ * apresentar um livro sem consultar o work, as edições ou os autores.
+ * Campos não mapeados são ignorados durante a leitura.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class DocumentoBuscaDto {
+
+    @JsonProperty("key")
+    private String key;
+
+    @JsonProperty("title")
+    private String titulo;
+
+    @JsonProperty("isbn")
+    @JsonDeserialize(using = ListaToleranteDeserializer.class)
+    private List<String> isbns;
+
+    @JsonProperty("author_name")
+    @JsonDeserialize(using = ListaToleranteDeserializer.class)
+    private List<String> autores;
+
+    // Getters
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public List<String> getIsbns() {
+        return isbns != null ? isbns : Collections.emptyList();
+    }
+
+    public List<String> getAutores() {
+        return autores != null ? autores : Collections.emptyList();
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.hadryan.app.service.json;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Edição retornada por /isbn/{isbn}.json e /works/{key}/editions.json.
+ * Campos não mapeados são ignorados durante a leitura.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class EdicaoDto {
+
+    @JsonProperty("title")
+    private String titulo;
+
+    @JsonProperty("publish_date")
+    private String dataPublicacao;
+
+    @JsonProperty("publishers")
+    @JsonDeserialize(using = ListaToleranteDeserializer.class)
+    private List<String> editoras;
+
+    @JsonProperty("authors")
+    @JsonDeserialize(using = ListaToleranteDeserializer.class)
+    private List<ReferenciaDto> autores;
+
+    @JsonProperty("works")
+    @JsonDeserialize(using = ListaToleranteDeserializer.class)
+    private List<ReferenciaDto> works;
+
+    @JsonProperty("isbn_13")
+    @JsonDeserialize(using = ListaToleranteDeserializer.class)
+    private List<String> isbn13;
+
+    @JsonProperty("isbn_10")
+    @JsonDeserialize(using = ListaToleranteDeserializer.class)
+    private List<String> isbn10;
+
+    // Getters
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public String getDataPublicacao() {
+        return dataPublicacao;
+    }
+
+    public List<String> getEditoras() {
+        return editoras != null ? editoras : Collections.emptyList();
+    }
+
+    public List<ReferenciaDto> getAutores() {
+        return autores != null ? autores : Collections.emptyList();
+    }
+
+    public List<ReferenciaDto> getWorks() {
+        return works != null ? works : Collections.emptyList();
+    }
+
+    public List<String> getIsbn13() {
+        return isbn13 != null ? isbn13 : Collections.emptyList();
+    }
+
+    public List<String> getIsbn10() {
+        return isbn10 != null ? isbn10 : Collections.emptyList();
+    }
+}
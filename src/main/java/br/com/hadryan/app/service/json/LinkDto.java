@@ -0,0 +1,42 @@
+package br.com.hadryan.app.service.json;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Link externo listado em um work. O tipo pode vir como texto ou como referência ({"key": ...}).
+ * Campos não mapeados são ignorados durante a leitura.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class LinkDto {
+
+    @JsonProperty("title")
+    private String titulo;
+
+    @JsonProperty("url")
+    private String url;
+
+    @JsonProperty("type")
+    private JsonNode tipo;
+
+    // Getters
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getTipo() {
+        if (tipo == null) {
+            return "";
+        }
+        return tipo.isTextual() ? tipo.asText() : tipo.path("key").asText();
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.hadryan.app.service.json;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Lista de obras de um autor, série ou assunto, que pode vir nos campos entries, works ou matches.
+ * Campos não mapeados são ignorados durante a leitura.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class ListaObrasDto {
+
+    @JsonProperty("entries")
+    @JsonDeserialize(using = ListaToleranteDeserializer.class)
+    private List<ReferenciaDto> entries;
+
+    @JsonProperty("works")
+    @JsonDeserialize(using = ListaToleranteDeserializer.class)
+    private List<ReferenciaDto> works;
+
+    @JsonProperty("matches")
+    @JsonDeserialize(using = ListaToleranteDeserializer.class)
+    private List<ReferenciaDto> matches;
+
+    // Getters
+
+    public List<ReferenciaDto> getEntries() {
+        return entries != null ? entries : Collections.emptyList();
+    }
+
+    public List<ReferenciaDto> getWorks() {
+        return works != null ? works : Collections.emptyList();
+    }
+
+    public List<ReferenciaDto> getMatches() {
+        return matches != null ? matches : Collections.emptyList();
+    }
+}
@@ -0,0 +1,160 @@
+package br.com.hadryan.app.service.json;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Deserializador tolerante para as listas das respostas da API OpenLibrary, cujos elementos
+ * nem sempre seguem o mesmo formato. Cada elemento é lido separadamente, direto do parser,
+ * e um elemento em formato inesperado é descartado, sem invalidar o documento inteiro.
+ * Um valor único no lugar da lista é tratado como lista de um elemento, e em listas de textos
+ * um objeto é aceito pelo seu campo "name", "value" ou "key".
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public final class ListaToleranteDeserializer extends StdDeserializer<List<?>> implements ContextualDeserializer {
+
+    private static final long serialVersionUID = 1L;
+    private static final Logger LOGGER = Logger.getLogger(ListaToleranteDeserializer.class.getName());
+    private static final String[] CAMPOS_TEXTO = {"name", "value", "key"};
+
+    private final JavaType tipoElemento;
+    private final JsonDeserializer<Object> deserializadorElemento;
+
+    /**
+     * Construtor usado pela anotação @JsonDeserialize; o tipo do elemento é obtido do campo
+     */
+    public ListaToleranteDeserializer() {
+        this(null, null);
+    }
+
+    private ListaToleranteDeserializer(JavaType tipoElemento, JsonDeserializer<Object> deserializadorElemento) {
+        super(List.class);
+        this.tipoElemento = tipoElemento;
+        this.deserializadorElemento = deserializadorElemento;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property)
+            throws JsonMappingException {
+        JavaType tipo = property != null ? property.getType().getContentType() : null;
+        if (tipo == null) {
+            tipo = ctxt.constructType(Object.class);
+        }
+        return new ListaToleranteDeserializer(tipo, ctxt.findContextualValueDeserializer(tipo, property));
+    }
+
+    /**
+     * Lê a lista elemento a elemento, direto do parser. Apenas um valor único no lugar da lista
+     * e os objetos em listas de textos são montados em árvore.
+     */
+    @Override
+    public List<?> deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+        if (!parser.isExpectedStartArrayToken()) {
+            return lerValorUnico(parser, ctxt);
+        }
+
+        JsonStreamContext lista = parser.getParsingContext();
+        List<Object> elementos = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw ctxt.wrongTokenException(parser, List.class, JsonToken.END_ARRAY, "Lista incompleta");
+            }
+            if (token != JsonToken.VALUE_NULL) {
+                adicionar(elementos, parser, ctxt, lista);
+            }
+        }
+        return elementos;
+    }
+
+    @Override
+    public List<?> getNullValue(DeserializationContext ctxt) {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Lê o elemento atual e o acrescenta à lista. Um elemento em formato inesperado é descartado
+     * e o parser avança até o fim dele, voltando ao contexto da lista.
+     */
+    private void adicionar(List<Object> elementos, JsonParser parser, DeserializationContext ctxt,
+                           JsonStreamContext lista) throws IOException {
+        if (tipoElemento.hasRawClass(String.class)) {
+            String texto = parser.currentToken().isScalarValue()
+                    ? parser.getValueAsString()
+                    : lerTexto(parser.readValueAsTree());
+            if (texto != null) {
+                elementos.add(texto);
+            }
+            return;
+        }
+        try {
+            Object valor = deserializadorElemento.deserialize(parser, ctxt);
+            if (valor != null) {
+                elementos.add(valor);
+            }
+        } catch (JsonParseException e) {
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.FINE, "Elemento ignorado por estar em formato inesperado", e);
+            while (parser.getParsingContext() != lista) {
+                if (parser.nextToken() == null) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Trata um valor único no lugar da lista como lista de um elemento
+     */
+    private List<?> lerValorUnico(JsonParser parser, DeserializationContext ctxt) throws IOException {
+        JsonNode no = parser.readValueAsTree();
+        if (no == null || no.isNull() || no.isMissingNode()) {
+            return Collections.emptyList();
+        }
+        if (tipoElemento.hasRawClass(String.class)) {
+            String texto = lerTexto(no);
+            return texto != null ? Collections.singletonList(texto) : Collections.emptyList();
+        }
+        try {
+            Object valor = ctxt.readTreeAsValue(no, tipoElemento);
+            return valor != null ? Collections.singletonList(valor) : Collections.emptyList();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.FINE, "Elemento ignorado por estar em formato inesperado: " + no, e);
+            return Collections.emptyList();
+        }
+    }
+
+    private static String lerTexto(JsonNode elemento) {
+        if (elemento.isValueNode()) {
+            return elemento.asText();
+        }
+        for (String campo : CAMPOS_TEXTO) {
+            JsonNode valor = elemento.get(campo);
+            if (valor != null && valor.isValueNode()) {
+                return valor.asText();
+            }
+        }
+        LOGGER.fine("Elemento ignorado por estar em formato inesperado: " + elemento);
+        return null;
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.hadryan.app.service.json;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Livro retornado por /api/books?bibkeys=...&jscmd=data.
+ * Diferente de /isbn/{isbn}.json, já traz os nomes dos autores e das editoras.
+ * Campos não mapeados são ignorados durante a leitura.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class LivroApiDto {
+
+    @JsonProperty("title")
+    private String titulo;
+
+    @JsonProperty("publish_date")
+    private String dataPublicacao;
+
+    @JsonProperty("publishers")
+    @JsonDeserialize(using = ListaToleranteDeserializer.class)
+    private List<NomeDto> editoras;
+
+    @JsonProperty("authors")
+    @JsonDeserialize(using = ListaToleranteDeserializer.class)
+    private List<NomeDto> autores;
+
+    // Getters
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public String getDataPublicacao() {
+        return dataPublicacao;
+    }
+
+    public List<NomeDto> getEditoras() {
+        return editoras != null ? editoras : Collections.emptyList();
+    }
+
+    public List<NomeDto> getAutores() {
+        return autores != null ? autores : Collections.emptyList();
+    }
+}
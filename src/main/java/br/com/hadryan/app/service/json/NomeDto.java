@@ -0,0 +1,31 @@
+package br.com.hadryan.app.service.json;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Recurso nomeado embutido nas respostas de /api/books (autores e editoras).
+ * Campos não mapeados são ignorados durante a leitura.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class NomeDto {
+
+    @JsonProperty("name")
+    private String nome;
+
+    @JsonProperty("url")
+    private String url;
+
+    // Getters
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+}
@@ -1,16 +1,21 @@
 package br.com.hadryan.app.service.json;
 
-import br.com.hadryan.app.model.entity.Autor;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
+import java.io.IOException;
+import java.util.Map;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Parser JSON para extrair dados obtidos nas requisições feitas para a API.
+ * As respostas são lidas diretamente dos bytes recebidos para classes tipadas,
+ * sem montar a árvore JSON completa; campos não mapeados são ignorados.
+ * Os ObjectReaders são imutáveis e reaproveitados entre as chamadas.
  *
  * @author Hadryan Silva
  * @since 23-03-2025
@@ -19,71 +24,81 @@ public class OpenLibraryJsonParser {
 
     private static final Logger LOGGER = Logger.getLogger(OpenLibraryJsonParser.class.getName());
 
-    public static final String JSON_FIELD_TITLE = "title";
-    public static final String JSON_FIELD_PUBLISHERS = "publishers";
-    public static final String JSON_FIELD_PUBLISH_DATE = "publish_date";
-    public static final String JSON_FIELD_AUTHORS = "authors";
-    public static final String JSON_FIELD_AUTHOR = "author";
-    public static final String JSON_FIELD_WORKS = "works";
-    public static final String JSON_FIELD_KEY = "key";
-    public static final String JSON_FIELD_NAME = "name";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
 
-    private final ObjectMapper objectMapper;
+    private static final ObjectReader LEITOR_EDICAO = OBJECT_MAPPER.readerFor(EdicaoDto.class);
+    private static final ObjectReader LEITOR_WORK = OBJECT_MAPPER.readerFor(WorkDto.class);
+    private static final ObjectReader LEITOR_AUTOR = OBJECT_MAPPER.readerFor(AutorDto.class);
+    private static final ObjectReader LEITOR_BUSCA = OBJECT_MAPPER.readerFor(ResultadoBuscaDto.class);
+    private static final ObjectReader LEITOR_EDICOES = OBJECT_MAPPER.readerFor(PaginaEdicoesDto.class);
+    private static final ObjectReader LEITOR_OBRAS = OBJECT_MAPPER.readerFor(ListaObrasDto.class);
+    private static final ObjectReader LEITOR_LIVROS_API =
+            OBJECT_MAPPER.readerFor(new TypeReference<Map<String, LivroApiDto>>() { });
 
     /**
-     * Construtor padrão
+     * Lê uma edição (/isbn/{isbn}.json)
      */
-    public OpenLibraryJsonParser() {
-        this.objectMapper = new ObjectMapper();
+    public Optional<EdicaoDto> lerEdicao(byte[] json) {
+        return ler(json, LEITOR_EDICAO);
     }
 
     /**
-     * Converte uma string JSON para um JsonNode
+     * Lê um work (/works/{key}.json)
      */
-    public Optional<JsonNode> parseJsonToNode(String json) {
-        if (json == null || json.isEmpty()) {
-            return Optional.empty();
-        }
+    public Optional<WorkDto> lerWork(byte[] json) {
+        return ler(json, LEITOR_WORK);
+    }
 
-        try {
-            return Optional.of(objectMapper.readTree(json));
-        } catch (JsonProcessingException e) {
-            LOGGER.log(Level.SEVERE, "Erro ao fazer parsing do JSON", e);
-            return Optional.empty();
-        }
+    /**
+     * Lê um autor (/authors/{key}.json)
+     */
+    public Optional<AutorDto> lerAutor(byte[] json) {
+        return ler(json, LEITOR_AUTOR);
     }
 
     /**
-     * Extrai um autor de um JsonNode
+     * Lê o resultado de uma busca (/search.json)
      */
-    public Optional<Autor> extrairAutorDeNode(JsonNode authorNode) {
-        if (authorNode == null) {
-            return Optional.empty();
-        }
+    public Optional<ResultadoBuscaDto> lerBusca(byte[] json) {
+        return ler(json, LEITOR_BUSCA);
+    }
 
-        if (authorNode.has(JSON_FIELD_NAME)) {
-            String nomeAutor = authorNode.get(JSON_FIELD_NAME).asText();
-            return Optional.of(new Autor(nomeAutor));
-        }
+    /**
+     * Lê uma página de edições de um work (/works/{key}/editions.json)
+     */
+    public Optional<PaginaEdicoesDto> lerEdicoes(byte[] json) {
+        return ler(json, LEITOR_EDICOES);
+    }
 
-        return Optional.empty();
+    /**
+     * Lê uma lista de obras (obras de um autor, de uma série ou de um assunto)
+     */
+    public Optional<ListaObrasDto> lerObras(byte[] json) {
+        return ler(json, LEITOR_OBRAS);
     }
 
     /**
-     * Obtém o valor de um campo de texto do JsonNode
+     * Lê o resultado de /api/books?jscmd=data, indexado pela bibkey (ex.: "ISBN:9780140328721").
+     * ISBNs não encontrados simplesmente não aparecem no mapa.
      */
-    public String getTextFieldOrEmpty(JsonNode node, String fieldName) {
-        return node.has(fieldName) ? node.get(fieldName).asText() : "";
+    public Optional<Map<String, LivroApiDto>> lerLivrosApi(byte[] json) {
+        return ler(json, LEITOR_LIVROS_API);
     }
 
     /**
-     * Obtém um nó de array do JsonNode
+     * Converte os bytes da resposta para o tipo do leitor informado
      */
-    public JsonNode getArrayNodeOrEmpty(JsonNode node, String fieldName) {
-        if (node.has(fieldName) && node.get(fieldName).isArray()) {
-            return node.get(fieldName);
+    private <T> Optional<T> ler(byte[] json, ObjectReader leitor) {
+        if (json == null || json.length == 0) {
+            return Optional.empty();
         }
-        return objectMapper.createArrayNode();
-    }
 
+        try {
+            return Optional.ofNullable(leitor.readValue(json));
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Erro ao fazer parsing do JSON", e);
+            return Optional.empty();
+        }
+    }
 }
@@ -0,0 +1,29 @@
+package br.com.hadryan.app.service.json;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Página de edições de um work (/works/{key}/editions.json).
+ * Campos não mapeados são ignorados durante a leitura.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class PaginaEdicoesDto {
+
+    @JsonProperty("entries")
+    @JsonDeserialize(using = ListaToleranteDeserializer.class)
+    private List<EdicaoDto> edicoes;
+
+    // Getters
+
+    public List<EdicaoDto> getEdicoes() {
+        return edicoes != null ? edicoes : Collections.emptyList();
+    }
+}
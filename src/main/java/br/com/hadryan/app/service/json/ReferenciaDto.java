@@ -0,0 +1,36 @@
+package br.com.hadryan.app.service.json;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Referência a outro recurso da API OpenLibrary (ex.: {"key": "/works/OL45883W"}).
+ * Também aceita a key como texto simples, formato encontrado em registros antigos.
+ * Campos não mapeados são ignorados durante a leitura.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class ReferenciaDto {
+
+    @JsonProperty("key")
+    private String key;
+
+    /**
+     * Cria a referência a partir da key informada como texto
+     */
+    @JsonCreator
+    static ReferenciaDto deKey(String key) {
+        ReferenciaDto referencia = new ReferenciaDto();
+        referencia.key = key;
+        return referencia;
+    }
+
+    // Getters
+
+    public String getKey() {
+        return key;
+    }
+}
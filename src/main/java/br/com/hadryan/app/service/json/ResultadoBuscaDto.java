@@ -0,0 +1,29 @@
+package br.com.hadryan.app.service.json;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado da busca /search.json.
+ * Campos não mapeados são ignorados durante a leitura.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class ResultadoBuscaDto {
+
+    @JsonProperty("docs")
+    @JsonDeserialize(using = ListaToleranteDeserializer.class)
+    private List<DocumentoBuscaDto> documentos;
+
+    // Getters
+
+    public List<DocumentoBuscaDto> getDocumentos() {
+        return documentos != null ? documentos : Collections.emptyList();
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.hadryan.app.service.json;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Work retornado por /works/{key}.json. A série é mantida como nó JSON, pois pode vir como texto, objeto ou lista.
+ * Campos não mapeados são ignorados durante a leitura.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class WorkDto {
+
+    @JsonProperty("title")
+    private String titulo;
+
+    @JsonProperty("authors")
+    @JsonDeserialize(using = ListaToleranteDeserializer.class)
+    private List<AutorWorkDto> autores;
+
+    @JsonProperty("series")
+    private JsonNode series;
+
+    @JsonProperty("links")
+    @JsonDeserialize(using = ListaToleranteDeserializer.class)
+    private List<LinkDto> links;
+
+    @JsonProperty("subjects")
+    @JsonDeserialize(using = ListaToleranteDeserializer.class)
+    private List<String> subjects;
+
+    @JsonProperty("subject_people")
+    @JsonDeserialize(using = ListaToleranteDeserializer.class)
+    private List<String> subjectPeople;
+
+    @JsonProperty("subject_places")
+    @JsonDeserialize(using = ListaToleranteDeserializer.class)
+    private List<String> subjectPlaces;
+
+    @JsonProperty("subject_times")
+    @JsonDeserialize(using = ListaToleranteDeserializer.class)
+    private List<String> subjectTimes;
+
+    @JsonProperty("subject_works")
+    @JsonDeserialize(using = ListaToleranteDeserializer.class)
+    private List<ReferenciaDto> subjectWorks;
+
+    // Getters
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public List<AutorWorkDto> getAutores() {
+        return autores != null ? autores : Collections.emptyList();
+    }
+
+    public JsonNode getSeries() {
+        return series;
+    }
+
+    public List<LinkDto> getLinks() {
+        return links != null ? links : Collections.emptyList();
+    }
+
+    public List<String> getSubjects() {
+        return subjects != null ? subjects : Collections.emptyList();
+    }
+
+    public List<String> getSubjectPeople() {
+        return subjectPeople != null ? subjectPeople : Collections.emptyList();
+    }
+
+    public List<String> getSubjectPlaces() {
+        return subjectPlaces != null ? subjectPlaces : Collections.emptyList();
+    }
+
+    public List<String> getSubjectTimes() {
+        return subjectTimes != null ? subjectTimes : Collections.emptyList();
+    }
+
+    public List<ReferenciaDto> getSubjectWorks() {
+        return subjectWorks != null ? subjectWorks : Collections.emptyList();
+    }
+}
@@ -0,0 +1,239 @@
+package br.com.hadryan.app.service.relacionados;
+
+import br.com.hadryan.app.config.AppConfig;
+import br.com.hadryan.app.model.entity.Autor;
+import br.com.hadryan.app.model.entity.Livro;
+import br.com.hadryan.app.service.LivroBuilder;
+import br.com.hadryan.app.service.dicionario.ArquivoRegistros;
+import com.typesafe.config.Config;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache persistente do resultado final da busca de livros relacionados, por ISBN.
+ * Guarda a lista já ordenada de candidatos (ISBN, título, autores e work) e a mantém em memória.
+ * Uma busca completa sem resultados também é guardada, para não ser repetida a cada consulta.
+ * Depois do ttl a entrada fica vencida: continua sendo usada, mas deve ser recalculada
+ * em segundo plano (stale-while-revalidate). Entradas mais antigas que a retenção são
+ * descartadas ao carregar. O arquivo é o mesmo arquivo de registros do dicionário de autores
+ * ({@link ArquivoRegistros}), com o último registro de cada ISBN prevalecendo.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public class CacheRelacionados {
+
+    private static final int MAGICO = 0x4C425233;
+
+    private static CacheRelacionados instance;
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+    private final boolean habilitado;
+    private final long ttlMillis;
+    private final long retencaoMillis;
+    private final ArquivoRegistros<String, Entrada> arquivo;
+
+    /**
+     * Construtor privado - padrão Singleton
+     */
+    private CacheRelacionados() {
+        Config config = AppConfig.getInstance().getConfig("relacionados.cache");
+        this.habilitado = config.getBoolean("habilitado");
+        this.ttlMillis = config.getDuration("ttl", TimeUnit.MILLISECONDS);
+        this.retencaoMillis = config.getDuration("retencao", TimeUnit.MILLISECONDS);
+        this.arquivo = new ArquivoRegistros<>("cache de livros relacionados",
+                habilitado ? Paths.get(config.getString("arquivo")) : null,
+                MAGICO, 100, new FormatoEntrada(), entradas);
+        arquivo.abrir();
+    }
+
+    /**
+     * Retorna a instância única do cache
+     */
+    public static synchronized CacheRelacionados getInstance() {
+        if (instance == null) {
+            instance = new CacheRelacionados();
+        }
+        return instance;
+    }
+
+    /**
+     * Busca o resultado guardado para o ISBN, vencido ou não
+     */
+    public Optional<Entrada> buscar(String isbn) {
+        if (!habilitado || isbn == null) {
+            return Optional.empty();
+        }
+        Entrada entrada = entradas.get(isbn.trim());
+        if (entrada == null || entrada.getIdadeMillis() > retencaoMillis) {
+            return Optional.empty();
+        }
+        return Optional.of(entrada);
+    }
+
+    /**
+     * Guarda o resultado da busca para o ISBN, gravando-o no arquivo
+     */
+    public void armazenar(String isbn, int maxResultados, List<Livro> livros) {
+        if (!habilitado || isbn == null) {
+            return;
+        }
+
+        List<Candidato> candidatos = new ArrayList<>(livros.size());
+        for (Livro livro : livros) {
+            List<String> autores = new ArrayList<>();
+            for (Autor autor : livro.getAutores()) {
+                autores.add(autor.getNome());
+            }
+            candidatos.add(new Candidato(livro.getIsbn(), livro.getTitulo(), autores, livro.getWorkKey()));
+        }
+
+        Entrada entrada = new Entrada(isbn.trim(), System.currentTimeMillis(), maxResultados, candidatos);
+        entradas.put(entrada.isbn, entrada);
+        arquivo.gravar(entrada.isbn, entrada);
+    }
+
+    /**
+     * Retorna o número de ISBNs no cache
+     */
+    public int getQuantidade() {
+        return entradas.size();
+    }
+
+    /**
+     * Grava pendências em disco e fecha o arquivo
+     */
+    public void fechar() {
+        arquivo.fechar();
+    }
+
+    /**
+     * Registro do arquivo: o ISBN, o momento da busca, o número de resultados pedido e os candidatos
+     * (ISBN, título, autores e work, vazio quando desconhecido).
+     * Registros fora da retenção são lidos, mas não carregados.
+     */
+    private final class FormatoEntrada implements ArquivoRegistros.Formato<String, Entrada> {
+
+        @Override
+        public void escrever(DataOutput saida, String isbn, Entrada entrada) throws IOException {
+            saida.writeUTF(isbn);
+            saida.writeLong(entrada.armazenadaEm);
+            saida.writeShort(entrada.maxResultados);
+            saida.writeShort(entrada.candidatos.size());
+            for (Candidato candidato : entrada.candidatos) {
+                saida.writeUTF(candidato.isbn);
+                saida.writeUTF(candidato.titulo != null ? candidato.titulo : "");
+                saida.writeByte(Math.min(candidato.autores.size(), 255));
+                for (String autor : candidato.autores.subList(0, Math.min(candidato.autores.size(), 255))) {
+                    saida.writeUTF(autor);
+                }
+                saida.writeUTF(candidato.workKey != null ? candidato.workKey : "");
+            }
+        }
+
+        @Override
+        public void ler(DataInput entrada, Map<String, Entrada> destino) throws IOException {
+            String isbn = entrada.readUTF();
+            long armazenadaEm = entrada.readLong();
+            int maxResultados = entrada.readUnsignedShort();
+            int quantidade = entrada.readUnsignedShort();
+            List<Candidato> candidatos = new ArrayList<>(quantidade);
+            for (int i = 0; i < quantidade; i++) {
+                String isbnCandidato = entrada.readUTF();
+                String titulo = entrada.readUTF();
+                int quantidadeAutores = entrada.readUnsignedByte();
+                List<String> autores = new ArrayList<>(quantidadeAutores);
+                for (int j = 0; j < quantidadeAutores; j++) {
+                    autores.add(entrada.readUTF());
+                }
+                String workKey = entrada.readUTF();
+                candidatos.add(new Candidato(isbnCandidato, titulo, autores, workKey.isEmpty() ? null : workKey));
+            }
+            Entrada lida = new Entrada(isbn, armazenadaEm, maxResultados, candidatos);
+            if (lida.getIdadeMillis() <= retencaoMillis) {
+                destino.put(isbn, lida);
+            }
+        }
+    }
+
+    /**
+     * Livro relacionado guardado no cache
+     */
+    private static final class Candidato {
+
+        private final String isbn;
+        private final String titulo;
+        private final List<String> autores;
+        private final String workKey;
+
+        private Candidato(String isbn, String titulo, List<String> autores, String workKey) {
+            this.isbn = isbn;
+            this.titulo = titulo;
+            this.autores = autores;
+            this.workKey = workKey;
+        }
+    }
+
+    /**
+     * Resultado guardado para um ISBN
+     */
+    public final class Entrada {
+
+        private final String isbn;
+        private final long armazenadaEm;
+        private final int maxResultados;
+        private final List<Candidato> candidatos;
+
+        private Entrada(String isbn, long armazenadaEm, int maxResultados, List<Candidato> candidatos) {
+            this.isbn = isbn;
+            this.armazenadaEm = armazenadaEm;
+            this.maxResultados = maxResultados;
+            this.candidatos = Collections.unmodifiableList(candidatos);
+        }
+
+        /**
+         * Número de resultados pedido na busca que gerou a entrada
+         */
+        public int getMaxResultados() {
+            return maxResultados;
+        }
+
+        /**
+         * Indica se a entrada passou do ttl e deve ser recalculada
+         */
+        public boolean isVencida() {
+            return getIdadeMillis() > ttlMillis;
+        }
+
+        /**
+         * Cria novos livros (não persistidos) com os primeiros candidatos da entrada
+         */
+        public List<Livro> getLivros(int limite) {
+            List<Livro> livros = new ArrayList<>();
+            for (Candidato candidato : candidatos.subList(0, Math.min(limite, candidatos.size()))) {
+                LivroBuilder builder = new LivroBuilder()
+                        .comIsbn(candidato.isbn)
+                        .comTitulo(candidato.titulo)
+                        .comWorkKey(candidato.workKey);
+                for (String autor : candidato.autores) {
+                    builder.comAutor(autor);
+                }
+                livros.add(builder.build());
+            }
+            return livros;
+        }
+
+        private long getIdadeMillis() {
+            return System.currentTimeMillis() - armazenadaEm;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.hadryan.app.util;
+
+import java.util.Arrays;
+
+/**
+ * Janela deslizante com as últimas amostras de latência, usada para calcular percentis.
+ * As amostras são mantidas em um buffer circular de tamanho fixo.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+public class JanelaLatencias {
+
+    private final long[] amostras;
+    private int proxima;
+    private int quantidade;
+    private long total;
+
+    /**
+     * Construtor que define quantas amostras recentes são mantidas
+     */
+    public JanelaLatencias(int capacidade) {
+        this.amostras = new long[capacidade];
+    }
+
+    /**
+     * Registra uma nova amostra, em nanossegundos
+     */
+    public synchronized void registrar(long nanos) {
+        amostras[proxima] = nanos;
+        proxima = (proxima + 1) % amostras.length;
+        if (quantidade < amostras.length) {
+            quantidade++;
+        }
+        total++;
+    }
+
+    /**
+     * Retorna o percentil informado (0 a 100), em nanossegundos, ou -1 se não houver amostras
+     */
+    public long percentil(double percentil) {
+        long[] copia;
+        synchronized (this) {
+            if (quantidade == 0) {
+                return -1;
+            }
+            copia = Arrays.copyOf(amostras, quantidade);
+        }
+        Arrays.sort(copia);
+        int indice = (int) Math.ceil(percentil / 100.0 * copia.length) - 1;
+        return copia[Math.max(0, Math.min(indice, copia.length - 1))];
+    }
+
+    /**
+     * Retorna o total de amostras registradas desde a criação
+     */
+    public synchronized long getTotal() {
+        return total;
+    }
+}
@@ -25,7 +25,8 @@ public class LivrosSimilaresSelector extends JPanel {
     private JButton selecionarButton;
     private JButton sugerirButton;
 
-    private final Map<String, String> isbnToTitleMap = new HashMap<>();
+    // Mantém a ordem em que os livros foram adicionados, que é a ordem exibida
+    private final Map<String, String> isbnToTitleMap = new LinkedHashMap<>();
     private final LivroController livroController;
     private final Window parentWindow;
     private Livro livroAtual;
@@ -243,12 +244,12 @@ public class LivrosSimilaresSelector extends JPanel {
     }
 
     /**
-     * Atualiza a área de texto com os livros selecionados no formato {isbn} - {name}
+     * Atualiza a área de texto com os livros selecionados no formato {isbn} - {name},
+     * na ordem em que foram adicionados
      */
     private void atualizarAreaLivrosSelecionados() {
         StringBuilder sb = new StringBuilder();
         List<String> isbns = new ArrayList<>(isbnToTitleMap.keySet());
-        Collections.sort(isbns);
 
         for (String isbn : isbns) {
             if (sb.length() > 0) {
@@ -354,5 +355,19 @@ public class LivrosSimilaresSelector extends JPanel {
             atualizarAreaLivrosSelecionados();
         }
     }
+
+    /**
+     * Adiciona os livros ao fim da lista de similares na ordem informada, reposicionando os que
+     * já estavam nela; os demais livros selecionados mantêm sua posição
+     */
+    public void adicionarLivrosEmOrdem(List<Livro> livros) {
+        for (Livro livro : livros) {
+            if (livro != null && livro.getIsbn() != null) {
+                isbnToTitleMap.remove(livro.getIsbn());
+                isbnToTitleMap.put(livro.getIsbn(), livro.getTitulo());
+            }
+        }
+        atualizarAreaLivrosSelecionados();
+    }
 }
 
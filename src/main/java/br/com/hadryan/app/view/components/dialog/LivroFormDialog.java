@@ -4,6 +4,8 @@ import br.com.hadryan.app.controller.LivroController;
 import br.com.hadryan.app.model.entity.Autor;
 import br.com.hadryan.app.model.entity.Editora;
 import br.com.hadryan.app.model.entity.Livro;
+import br.com.hadryan.app.service.execucao.AgendadorIO;
+import br.com.hadryan.app.service.execucao.AgendadorIO.Via;
 import br.com.hadryan.app.view.components.LivrosSimilaresSelector;
 import br.com.hadryan.app.view.components.base.BaseDialog;
 import br.com.hadryan.app.view.components.base.FormPanel;
@@ -40,6 +42,7 @@ public class LivroFormDialog extends BaseDialog {
     private FormPanel formPanel;
     private LivrosSimilaresSelector livrosSimilaresSelector;
     private JButton buscarButton;
+    private JButton salvarButton;
     private JLabel statusLabel;
     private JProgressBar progressBar;
     private FormValidator validator;
@@ -128,7 +131,7 @@ public class LivroFormDialog extends BaseDialog {
         mainPanel.add(formPanel, BorderLayout.CENTER);
         setMainComponent(mainPanel);
 
-        addButton(isModoEdicao ? "Atualizar" : "Salvar", e -> salvarLivro());
+        salvarButton = addButton(isModoEdicao ? "Atualizar" : "Salvar", e -> salvarLivro());
         addButton("Cancelar", e -> cancel());
     }
 
@@ -212,16 +215,36 @@ public class LivroFormDialog extends BaseDialog {
         }
         livro.setAutores(autores);
 
-        try {
-            Livro livroSalvo = livroController.salvar(livro);
+        List<String> isbnsSimilares = livrosSimilaresSelector.getIsbnsSelcionados();
 
-            List<String> isbnsSimilares = livrosSimilaresSelector.getIsbnsSelcionados();
-            livroController.atualizarLivrosSimilares(livroSalvo, isbnsSimilares);
+        salvarButton.setEnabled(false);
+        progressBar.setVisible(true);
+        statusLabel.setText("Salvando livro...");
+        SwingWorker<Void, Void> worker = new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                Livro livroSalvo = livroController.salvar(livro);
+                livroController.atualizarLivrosSimilares(livroSalvo, isbnsSimilares);
+                return null;
+            }
 
-            confirm();
-        } catch (Exception ex) {
-            showError("Erro ao salvar livro: " + ex.getMessage());
-        }
+            @Override
+            protected void done() {
+                salvarButton.setEnabled(true);
+                progressBar.setVisible(false);
+                statusLabel.setText("");
+                try {
+                    get();
+                    confirm();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    showError("Salvamento interrompido");
+                } catch (ExecutionException e) {
+                    showError("Erro ao salvar livro: " + e.getCause().getMessage());
+                }
+            }
+        };
+        AgendadorIO.getInstance().getExecutor(Via.INTERATIVA).execute(worker);
     }
 
     /**
@@ -242,7 +265,7 @@ public class LivroFormDialog extends BaseDialog {
         buscarButton.setText("Buscando...");
         progressBar.setVisible(true);
         statusLabel.setText("Buscando informações do livro...");
-        new SwingWorker<Livro, String>() {
+        SwingWorker<Livro, String> worker = new SwingWorker<Livro, String>() {
             @Override
             protected Livro doInBackground() {
                 publish("Buscando informações do livro...");
@@ -299,19 +322,34 @@ public class LivroFormDialog extends BaseDialog {
                     showError("Erro na busca por ISBN: " + e.getCause().getMessage());
                 }
             }
-        }.execute();
+        };
+        AgendadorIO.getInstance().getExecutor(Via.INTERATIVA).execute(worker);
     }
 
     /**
-     * Busca livros relacionados por subjects
+     * Busca livros relacionados por subjects, adicionando cada livro à lista
+     * assim que ele é encontrado
      */
     private void buscarLivrosRelacionados(String isbn) {
         statusLabel.setText("Buscando livros relacionados...");
 
-        new SwingWorker<List<Livro>, Void>() {
+        SwingWorker<List<Livro>, Livro> worker = new SwingWorker<List<Livro>, Livro>() {
+            private int recebidos;
+
             @Override
             protected List<Livro> doInBackground() {
-                return livroController.buscarLivrosRelacionadosPorSubjects(isbn, 5);
+                return livroController.buscarLivrosRelacionadosPorSubjects(isbn, 5, livro -> publish(livro));
+            }
+
+            @Override
+            protected void process(List<Livro> livros) {
+                for (Livro livroRel : livros) {
+                    livrosSimilaresSelector.adicionarLivro(livroRel);
+                }
+                recebidos += livros.size();
+                if (!isDone()) {
+                    statusLabel.setText("Buscando livros relacionados... " + recebidos + " encontrado(s)");
+                }
             }
 
             @Override
@@ -323,11 +361,10 @@ public class LivroFormDialog extends BaseDialog {
                         finalizarBusca("Nenhum livro relacionado encontrado");
                         showInfo("Livro encontrado com sucesso, mas nenhum livro relacionado foi identificado.");
                     } else {
-                        int contador = 0;
-                        for (Livro livroRel : livrosRelacionados) {
-                            livrosSimilaresSelector.adicionarLivro(livroRel);
-                            contador++;
-                        }
+                        // Durante a busca os livros aparecem na ordem de chegada; o resultado final
+                        // vem na ordem de prioridade das estratégias e reposiciona a lista
+                        livrosSimilaresSelector.adicionarLivrosEmOrdem(livrosRelacionados);
+                        int contador = livrosRelacionados.size();
 
                         finalizarBusca("Encontrados " + contador + " livros relacionados");
                         showInfo("Livro encontrado e " + contador + " livros relacionados adicionados.");
@@ -340,7 +377,8 @@ public class LivroFormDialog extends BaseDialog {
                     showError("Erro ao buscar livros relacionados: " + e.getCause().getMessage());
                 }
             }
-        }.execute();
+        };
+        AgendadorIO.getInstance().getExecutor(Via.INTERATIVA).execute(worker);
     }
 
     /**
@@ -1,5 +1,7 @@
 package br.com.hadryan.app.view.components.panel;
 
+import br.com.hadryan.app.service.execucao.AgendadorIO;
+import br.com.hadryan.app.service.execucao.AgendadorIO.Via;
 import br.com.hadryan.app.service.importacao.ImportService;
 import br.com.hadryan.app.view.MainFrame;
 import br.com.hadryan.app.view.components.base.BaseCrudPanel;
@@ -190,7 +192,7 @@ public class ImportacaoPanel extends BaseCrudPanel {
         importarButton.setEnabled(false);
         logArea.setText("Iniciando importação...\n");
 
-        new SwingWorker<Integer, String>() {
+        SwingWorker<Integer, String> worker = new SwingWorker<Integer, String>() {
             @Override
             protected Integer doInBackground() throws Exception {
                 publish("Importando arquivo: " + arquivoImportacao.getName());
@@ -228,7 +230,8 @@ public class ImportacaoPanel extends BaseCrudPanel {
                     importarButton.setEnabled(true);
                 }
             }
-        }.execute();
+        };
+        AgendadorIO.getInstance().getExecutor(Via.SEGUNDO_PLANO).execute(worker);
     }
 
     /**
@@ -26,6 +26,7 @@ import java.util.stream.Collectors;
 public class LivroPesquisaPanel extends BaseCrudPanel {
 
     private static final long serialVersionUID = 1L;
+    private static final int MAX_RESULTADOS = 1000;
 
     private final MainFrame janelaPrincipal;
     private final LivroController livroController;
@@ -346,21 +347,29 @@ public class LivroPesquisaPanel extends BaseCrudPanel {
         }
 
         try {
-            List<Livro> resultados = livroController.pesquisar(filtro);
+            // Um livro além do limite indica que a pesquisa tem mais resultados do que os exibidos
+            List<Livro> resultados = livroController.pesquisar(filtro, MAX_RESULTADOS + 1);
+            boolean limitada = resultados.size() > MAX_RESULTADOS;
+            if (limitada) {
+                resultados = resultados.subList(0, MAX_RESULTADOS);
+            }
             resultadoTable.setData(resultados, this::livroParaLinha);
-            atualizarLabelResultados(resultados.size());
+            atualizarLabelResultados(resultados.size(), limitada);
         } catch (Exception e) {
             showError("Erro ao realizar pesquisa: " + e.getMessage());
         }
     }
 
     /**
-     * Atualiza o label com a quantidade de resultados
+     * Atualiza o label com a quantidade de resultados, avisando quando a pesquisa foi limitada
      */
-    private void atualizarLabelResultados(int quantidade) {
+    private void atualizarLabelResultados(int quantidade, boolean limitada) {
         if (quantidade == 0) {
             resultadosLabel.setText("Nenhum resultado encontrado");
             resultadosLabel.setForeground(Color.RED);
+        } else if (limitada) {
+            resultadosLabel.setText("Exibindo os primeiros " + quantidade + " livros encontrados. Refine a pesquisa para ver os demais.");
+            resultadosLabel.setForeground(new Color(200, 100, 0)); // Laranja
         } else {
             resultadosLabel.setText(quantidade + " livro(s) encontrado(s)");
             resultadosLabel.setForeground(new Color(0, 100, 0)); // Verde escuro
@@ -0,0 +1,15 @@
+-- Estruturas de apoio à busca textual de livros (executado após a criação do schema pelo Hibernate).
+-- Cada comando deve ocupar uma única linha.
+CREATE EXTENSION IF NOT EXISTS unaccent WITH SCHEMA public;
+CREATE EXTENSION IF NOT EXISTS pg_trgm WITH SCHEMA public;
+CREATE OR REPLACE FUNCTION f_unaccent(text) RETURNS text LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT AS 'SELECT public.unaccent(''public.unaccent''::regdictionary, $1)';
+CREATE INDEX IF NOT EXISTS idx_livro_titulo_fts ON livro USING gin (to_tsvector('portuguese', f_unaccent(titulo)));
+CREATE INDEX IF NOT EXISTS idx_livro_titulo_trgm ON livro USING gin (f_unaccent(lower(titulo)) public.gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_livro_isbn_trgm ON livro USING gin (isbn public.gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_livro_data_publicacao_trgm ON livro USING gin (lower(data_publicacao) public.gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_livro_editora_id ON livro (editora_id);
+CREATE INDEX IF NOT EXISTS idx_autor_nome_fts ON autor USING gin (to_tsvector('portuguese', f_unaccent(nome)));
+CREATE INDEX IF NOT EXISTS idx_autor_nome_trgm ON autor USING gin (f_unaccent(lower(nome)) public.gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_livro_autor_autor_id ON livro_autor (autor_id, livro_id);
+CREATE INDEX IF NOT EXISTS idx_editora_nome_fts ON editora USING gin (to_tsvector('portuguese', f_unaccent(nome)));
+CREATE INDEX IF NOT EXISTS idx_editora_nome_trgm ON editora USING gin (f_unaccent(lower(nome)) public.gin_trgm_ops);
@@ -0,0 +1,15 @@
+-- Tabelas do espelho local do OpenLibrary, preenchidas a partir dos dumps por IngestaoDumps.
+-- Não são mapeadas pelo Hibernate e, portanto, são preservadas entre execuções da aplicação.
+-- Cada comando deve ocupar uma única linha.
+-- Espelhos criados no formato antigo (uma linha de ol_edicao por ISBN) são descartados e devem ser reimportados.
+DO $$ BEGIN IF EXISTS (SELECT 1 FROM information_schema.columns WHERE table_name = 'ol_edicao' AND column_name = 'isbn') THEN DROP TABLE ol_edicao; END IF; END $$;
+CREATE TABLE IF NOT EXISTS ol_edicao (edition_key varchar(32) PRIMARY KEY, work_key varchar(32), json text NOT NULL);
+CREATE INDEX IF NOT EXISTS idx_ol_edicao_work_key ON ol_edicao (work_key, edition_key);
+CREATE TABLE IF NOT EXISTS ol_edicao_isbn (isbn varchar(13) PRIMARY KEY, edition_key varchar(32) NOT NULL);
+CREATE INDEX IF NOT EXISTS idx_ol_edicao_isbn_edition_key ON ol_edicao_isbn (edition_key);
+CREATE TABLE IF NOT EXISTS ol_work (work_key varchar(32) PRIMARY KEY, json text NOT NULL);
+CREATE TABLE IF NOT EXISTS ol_autor (author_key varchar(32) PRIMARY KEY, json text NOT NULL);
+CREATE TABLE IF NOT EXISTS ol_work_autor (author_key varchar(32) NOT NULL, work_key varchar(32) NOT NULL, PRIMARY KEY (author_key, work_key));
+CREATE INDEX IF NOT EXISTS idx_ol_work_autor_work_key ON ol_work_autor (work_key);
+CREATE TABLE IF NOT EXISTS ol_assunto (assunto varchar(255) NOT NULL, work_key varchar(32) NOT NULL, PRIMARY KEY (assunto, work_key));
+CREATE INDEX IF NOT EXISTS idx_ol_assunto_work_key ON ol_assunto (work_key);
@@ -0,0 +1,44 @@
+package br.com.hadryan.app.ferramentas;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do nome das fixtures do simulador: legível para caminhos simples e com hash
+ * para recursos com parâmetros ou caminhos longos.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+class SimuladorOpenLibraryTest {
+
+    @Test
+    void usaOCaminhoLegivelSemParametros() {
+        assertEquals("isbn_9780140328721.json", SimuladorOpenLibrary.nomeFixture("/isbn/9780140328721.json"));
+        assertEquals("works_OL45804W.json", SimuladorOpenLibrary.nomeFixture("/works/OL45804W"));
+        assertEquals("authors_OL1A_Nome_com_espa_o.json", SimuladorOpenLibrary.nomeFixture("/authors/OL1A/Nome com espaço"));
+    }
+
+    @Test
+    void acrescentaHashQuandoHaParametros() {
+        String nome = SimuladorOpenLibrary.nomeFixture("/search.json?q=dom+casmurro&limit=5");
+
+        assertTrue(nome.matches("search\\.json__[0-9a-f]{16}\\.json"), nome);
+        assertEquals(nome, SimuladorOpenLibrary.nomeFixture("/search.json?q=dom+casmurro&limit=5"));
+        assertNotEquals(nome, SimuladorOpenLibrary.nomeFixture("/search.json?q=dom+casmurro&limit=6"));
+    }
+
+    @Test
+    void encurtaCaminhosLongos() {
+        StringBuilder caminho = new StringBuilder("/works");
+        for (int i = 0; i < 30; i++) {
+            caminho.append("/OL").append(i).append('W');
+        }
+        String nome = SimuladorOpenLibrary.nomeFixture(caminho.toString());
+
+        assertTrue(nome.matches("works_OL0W_OL1W_.*__[0-9a-f]{16}\\.json"), nome);
+        assertEquals(120 + "__".length() + 16 + ".json".length(), nome.length());
+        assertNotEquals(nome, SimuladorOpenLibrary.nomeFixture(caminho + "/OL30W"));
+    }
+}
@@ -0,0 +1,293 @@
+package br.com.hadryan.app.service;
+
+import br.com.hadryan.app.model.entity.Livro;
+import br.com.hadryan.app.service.dicionario.IndiceWorks;
+import br.com.hadryan.app.service.relacionados.CacheRelacionados;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da busca de livros relacionados com a API simulada: remoção de duplicados, limites
+ * por estratégia e do resultado, ordem de prioridade, prazo, encerramento antecipado,
+ * cancelamento e cache somente das buscas completas.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+class WorkSubjectServiceTest {
+
+    private static final Executor DIRETO = Runnable::run;
+    private static final long PRAZO_MS = 10_000;
+
+    private static final String ROTA_AUTOR = "q=author_key:OL1A";
+    private static final String ROTA_OBRAS_LIGADAS = "q=key:(/works/OL10W)";
+    private static final String ROTA_ASSUNTO = "q=subject:\"Ficção científica\"";
+
+    private final ExecutorService pool = Executors.newCachedThreadPool();
+    private final String isbn = "teste-" + UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void removeDuplicadosEntreEstrategias() {
+        ApiFalsa api = new ApiFalsa(isbn)
+                .rota(ROTA_AUTOR, busca(documento("/works/OL2W", "A"), documento("/works/OL3W", "B")))
+                .rota(ROTA_OBRAS_LIGADAS, busca(documento("/works/OL10W", "A")))
+                .rota(ROTA_ASSUNTO, busca(documento("/works/OL2W", "A"), documento("/works/OL4W", isbn),
+                        documento("/works/OL5W", "0140328726", "9780140328721")));
+
+        List<Livro> livros = servico(api, DIRETO, PRAZO_MS).buscarLivrosRelacionados(isbn, 10);
+
+        assertEquals(Arrays.asList("A", "B", "9780140328721"), isbns(livros));
+        assertEquals("/works/OL5W", livros.get(2).getWorkKey());
+    }
+
+    @Test
+    void respeitaOLimiteDeCadaEstrategiaEOMaximoDeResultados() {
+        ApiFalsa api = new ApiFalsa(isbn)
+                .rota(ROTA_AUTOR, busca(documento("/works/OL2W", "A"), documento("/works/OL3W", "B"),
+                        documento("/works/OL4W", "C"), documento("/works/OL5W", "D")))
+                .rota(ROTA_ASSUNTO, busca(documento("/works/OL6W", "E"), documento("/works/OL7W", "F"),
+                        documento("/works/OL8W", "G")));
+
+        assertEquals(Arrays.asList("A", "B", "E", "F"),
+                isbns(servico(api, DIRETO, PRAZO_MS).buscarLivrosRelacionados(isbn, 10)));
+
+        String outroIsbn = "teste-" + UUID.randomUUID();
+        ApiFalsa outraApi = new ApiFalsa(outroIsbn).copiarRotas(api);
+        assertEquals(Arrays.asList("A", "B", "E"),
+                isbns(servico(outraApi, DIRETO, PRAZO_MS).buscarLivrosRelacionados(outroIsbn, 3)));
+    }
+
+    @Test
+    void ordenaPelaPrioridadeDasEstrategias() {
+        CountDownLatch assuntoEntregue = new CountDownLatch(1);
+        ApiFalsa api = new ApiFalsa(isbn)
+                .rota(ROTA_AUTOR, url -> {
+                    aguardar(assuntoEntregue);
+                    return busca(documento("/works/OL2W", "A"));
+                })
+                .rota(ROTA_ASSUNTO, busca(documento("/works/OL6W", "E")));
+
+        List<String> chegada = Collections.synchronizedList(new ArrayList<>());
+        List<Livro> livros = servico(api, pool, PRAZO_MS).buscarLivrosRelacionados(isbn, 10, livro -> {
+            chegada.add(livro.getIsbn());
+            if ("E".equals(livro.getIsbn())) {
+                assuntoEntregue.countDown();
+            }
+        });
+
+        assertEquals(Arrays.asList("E", "A"), chegada);
+        assertEquals(Arrays.asList("A", "E"), isbns(livros));
+    }
+
+    @Test
+    void guardaNoCacheSomenteBuscasCompletas() {
+        ApiFalsa api = new ApiFalsa(isbn)
+                .rota(ROTA_AUTOR, busca(documento("/works/OL2W", "A")));
+        WorkSubjectService servico = servico(api, DIRETO, PRAZO_MS);
+
+        assertEquals(Collections.singletonList("A"), isbns(servico.buscarLivrosRelacionados(isbn, 5)));
+        int requisicoes = api.requisicoes.get();
+        assertEquals(Collections.singletonList("A"), isbns(servico.buscarLivrosRelacionados(isbn, 5)));
+        assertEquals(requisicoes, api.requisicoes.get());
+        assertTrue(CacheRelacionados.getInstance().buscar(isbn).isPresent());
+    }
+
+    @Test
+    void naoGuardaNoCacheBuscaComFalha() {
+        ApiFalsa api = new ApiFalsa(isbn)
+                .rota(ROTA_AUTOR, busca(documento("/works/OL2W", "A"), documento("/works/OL3W", "B")))
+                .rota(ROTA_ASSUNTO, url -> {
+                    throw new IOException("falha simulada");
+                });
+        WorkSubjectService servico = servico(api, DIRETO, PRAZO_MS);
+
+        assertEquals(Arrays.asList("A", "B"), isbns(servico.buscarLivrosRelacionados(isbn, 10)));
+        assertFalse(CacheRelacionados.getInstance().buscar(isbn).isPresent());
+
+        int requisicoes = api.requisicoes.get();
+        servico.buscarLivrosRelacionados(isbn, 10);
+        assertTrue(api.requisicoes.get() > requisicoes);
+    }
+
+    @Test
+    void encerraPeloPrazoECancelaAsTarefasPendentes() throws InterruptedException {
+        CountDownLatch cancelada = new CountDownLatch(1);
+        ApiFalsa api = new ApiFalsa(isbn)
+                .rota(ROTA_AUTOR, busca(documento("/works/OL2W", "A"), documento("/works/OL3W", "B")))
+                .rota(ROTA_ASSUNTO, url -> bloquear(cancelada));
+
+        long inicio = System.nanoTime();
+        List<Livro> livros = servico(api, pool, 300).buscarLivrosRelacionados(isbn, 10);
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio) < 5_000);
+        assertEquals(Arrays.asList("A", "B"), isbns(livros));
+        assertTrue(cancelada.await(5, TimeUnit.SECONDS));
+        assertFalse(CacheRelacionados.getInstance().buscar(isbn).isPresent());
+    }
+
+    @Test
+    void encerraAoAtingirOMaximoDeResultados() throws InterruptedException {
+        CountDownLatch iniciada = new CountDownLatch(1);
+        CountDownLatch cancelada = new CountDownLatch(1);
+        // A busca por autor só responde depois que a busca por assunto está em andamento
+        ApiFalsa api = new ApiFalsa(isbn)
+                .rota(ROTA_AUTOR, url -> {
+                    aguardar(iniciada);
+                    return busca(documento("/works/OL2W", "A"), documento("/works/OL3W", "B"));
+                })
+                .rota(ROTA_ASSUNTO, url -> {
+                    iniciada.countDown();
+                    return bloquear(cancelada);
+                });
+
+        long inicio = System.nanoTime();
+        List<Livro> livros = servico(api, pool, PRAZO_MS).buscarLivrosRelacionados(isbn, 2);
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio) < 5_000);
+        assertEquals(Arrays.asList("A", "B"), isbns(livros));
+        assertTrue(cancelada.await(5, TimeUnit.SECONDS));
+        assertTrue(CacheRelacionados.getInstance().buscar(isbn).isPresent());
+    }
+
+    @Test
+    void interrupcaoDeQuemAguardaCancelaABusca() throws InterruptedException {
+        CountDownLatch iniciada = new CountDownLatch(1);
+        CountDownLatch cancelada = new CountDownLatch(1);
+        ApiFalsa api = new ApiFalsa(isbn)
+                .rota(ROTA_AUTOR, busca(documento("/works/OL2W", "A")))
+                .rota(ROTA_ASSUNTO, url -> {
+                    iniciada.countDown();
+                    return bloquear(cancelada);
+                });
+        WorkSubjectService servico = servico(api, pool, PRAZO_MS);
+
+        AtomicReference<List<Livro>> resultado = new AtomicReference<>();
+        AtomicReference<Boolean> interrompida = new AtomicReference<>();
+        Thread chamador = new Thread(() -> {
+            resultado.set(servico.buscarLivrosRelacionados(isbn, 10));
+            interrompida.set(Thread.currentThread().isInterrupted());
+        });
+        chamador.start();
+        assertTrue(iniciada.await(5, TimeUnit.SECONDS));
+        chamador.interrupt();
+        chamador.join(5_000);
+
+        assertFalse(chamador.isAlive());
+        assertTrue(interrompida.get());
+        assertTrue(cancelada.await(5, TimeUnit.SECONDS));
+        assertFalse(CacheRelacionados.getInstance().buscar(isbn).isPresent());
+    }
+
+    private static WorkSubjectService servico(ApiFalsa api, Executor executor, long prazoMs) {
+        return new WorkSubjectService(api, CacheRelacionados.getInstance(), IndiceWorks.getInstance(), executor, prazoMs);
+    }
+
+    private static List<String> isbns(List<Livro> livros) {
+        return livros.stream().map(Livro::getIsbn).collect(Collectors.toList());
+    }
+
+    private static String documento(String workKey, String... isbns) {
+        return "{\"key\":\"" + workKey + "\",\"title\":\"Livro " + workKey + "\",\"author_name\":[\"Autor\"],"
+                + "\"isbn\":[\"" + String.join("\",\"", isbns) + "\"]}";
+    }
+
+    private static byte[] busca(String... documentos) {
+        return ("{\"docs\":[" + String.join(",", documentos) + "]}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void aguardar(CountDownLatch latch) throws InterruptedIOException {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException();
+        }
+    }
+
+    /**
+     * Bloqueia a requisição até ela ser cancelada, registrando o cancelamento
+     */
+    private static byte[] bloquear(CountDownLatch cancelada) throws InterruptedIOException {
+        try {
+            new CountDownLatch(1).await();
+            return busca();
+        } catch (InterruptedException e) {
+            cancelada.countDown();
+            throw new InterruptedIOException();
+        }
+    }
+
+    /**
+     * API do OpenLibrary simulada: o livro pesquisado pertence ao work OL1W, do autor OL1A,
+     * ligado ao work OL10W e com o assunto "Ficção científica". As respostas das buscas de
+     * cada estratégia são definidas por rota; buscas sem rota não retornam nada.
+     */
+    private static final class ApiFalsa implements WorkSubjectService.Requisicao {
+
+        private final Map<String, WorkSubjectService.Requisicao> rotas = new LinkedHashMap<>();
+        private final AtomicInteger requisicoes = new AtomicInteger();
+
+        private ApiFalsa(String isbn) {
+            rota("/isbn/" + isbn + ".json", "{\"works\":[{\"key\":\"/works/OL1W\"}]}".getBytes(StandardCharsets.UTF_8));
+            rota("/works/OL1W.json", ("{\"title\":\"Original\",\"authors\":[{\"author\":{\"key\":\"/authors/OL1A\"}}],"
+                    + "\"links\":[{\"title\":\"Continuação\",\"url\":\"https://openlibrary.org/works/OL10W\",\"type\":\"related\"}],"
+                    + "\"subjects\":[\"Ficção científica\"]}").getBytes(StandardCharsets.UTF_8));
+        }
+
+        private ApiFalsa rota(String trecho, byte[] resposta) {
+            return rota(trecho, url -> resposta);
+        }
+
+        private ApiFalsa rota(String trecho, WorkSubjectService.Requisicao resposta) {
+            rotas.put(trecho, resposta);
+            return this;
+        }
+
+        private ApiFalsa copiarRotas(ApiFalsa outra) {
+            for (Map.Entry<String, WorkSubjectService.Requisicao> rota : outra.rotas.entrySet()) {
+                if (!rota.getKey().startsWith("/isbn/")) {
+                    rotas.putIfAbsent(rota.getKey(), rota.getValue());
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public byte[] executar(String url) throws IOException {
+            requisicoes.incrementAndGet();
+            String decodificada = URLDecoder.decode(url, StandardCharsets.UTF_8.name());
+            for (Map.Entry<String, WorkSubjectService.Requisicao> rota : rotas.entrySet()) {
+                if (decodificada.contains(rota.getKey())) {
+                    return rota.getValue().executar(decodificada);
+                }
+            }
+            return "{}".getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
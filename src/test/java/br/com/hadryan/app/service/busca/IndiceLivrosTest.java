@@ -0,0 +1,166 @@
+package br.com.hadryan.app.service.busca;
+
+import br.com.hadryan.app.model.entity.Autor;
+import br.com.hadryan.app.model.entity.Editora;
+import br.com.hadryan.app.model.entity.Livro;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do índice de livros em memória: correspondência exata, por substring e aproximada,
+ * atualização e remoção das posting lists e reaplicação de alterações durante a reconstrução.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+class IndiceLivrosTest {
+
+    private IndiceLivros indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceLivros();
+        indice.reconstruir(() -> Arrays.asList(
+                livro(1L, "Dom Casmurro", "Machado de Assis", "Garnier"),
+                livro(2L, "Memórias Póstumas de Brás Cubas", "Machado de Assis", "Tipografia Nacional"),
+                livro(3L, "O Cortiço", "Aluísio Azevedo", "Garnier"),
+                livro(4L, "Vidas Secas", "Graciliano Ramos", "José Olympio")
+        ));
+    }
+
+    @Test
+    void pesquisaPorTermoExatoSemAcentos() {
+        assertTrue(indice.isPronto());
+        assertEquals(Collections.singletonList(2L), indice.pesquisar(filtro("memorias postumas", null, null), 10));
+        assertEquals(Collections.singletonList(3L), indice.pesquisar(filtro("CORTIÇO", null, null), 10));
+    }
+
+    @Test
+    void pesquisaPorSubstring() {
+        assertEquals(Collections.singletonList(1L), indice.pesquisar(filtro("casm", null, null), 10));
+        assertEquals(Arrays.asList(1L, 2L), ordenar(indice.pesquisar(filtro(null, "mach", null), 10)));
+    }
+
+    @Test
+    void pesquisaAproximadaToleraErrosDeDigitacao() {
+        assertEquals(Collections.singletonList(1L), indice.pesquisar(filtro("casmuro", null, null), 10));
+        assertEquals(Collections.singletonList(4L), indice.pesquisar(filtro(null, "graciliamo", null), 10));
+        assertTrue(indice.pesquisar(filtro("xyzwvu", null, null), 10).isEmpty());
+    }
+
+    @Test
+    void exigeTodosOsCriterios() {
+        assertEquals(Collections.singletonList(1L), indice.pesquisar(filtro(null, "machado", "garnier"), 10));
+        assertTrue(indice.pesquisar(filtro("secas", "machado", null), 10).isEmpty());
+    }
+
+    @Test
+    void ordenaPorRelevanciaERespeitaLimite() {
+        indice.indexar(livro(5L, "Casmurrice", "Outro Autor", "Outra"));
+
+        List<Long> ids = indice.pesquisar(filtro("casmurro", null, null), 10);
+        assertEquals(Collections.singletonList(1L), ids);
+
+        ids = indice.pesquisar(filtro("casmurr", null, null), 10);
+        assertEquals(Arrays.asList(1L, 5L), ordenar(ids));
+        assertEquals(1, indice.pesquisar(filtro("casmurr", null, null), 1).size());
+    }
+
+    @Test
+    void reindexacaoSubstituiTermosAnteriores() {
+        indice.indexar(livro(1L, "Quincas Borba", "Machado de Assis", "Garnier"));
+
+        assertTrue(indice.pesquisar(filtro("casmurro", null, null), 10).isEmpty());
+        assertEquals(Collections.singletonList(1L), indice.pesquisar(filtro("quincas", null, null), 10));
+        assertEquals(Arrays.asList(1L, 2L), ordenar(indice.pesquisar(filtro(null, "machado", null), 10)));
+    }
+
+    @Test
+    void remocaoRetiraDasPostingsEReutilizaDocumento() {
+        indice.remover(3L);
+
+        assertTrue(indice.pesquisar(filtro("cortico", null, null), 10).isEmpty());
+        assertEquals(Collections.singletonList(1L), indice.pesquisar(filtro(null, null, "garnier"), 10));
+
+        indice.indexar(livro(6L, "Iracema", "José de Alencar", "Garnier"));
+        assertEquals(Arrays.asList(1L, 6L), ordenar(indice.pesquisar(filtro(null, null, "garnier"), 10)));
+        assertEquals(Collections.singletonList(6L), indice.pesquisar(filtro("iracema", null, null), 10));
+    }
+
+    @Test
+    void filtraPorIsbnEData() {
+        Livro filtro = filtro(null, "machado", null);
+        filtro.setIsbn("0002");
+        assertEquals(Collections.singletonList(2L), indice.pesquisar(filtro, 10));
+
+        filtro = filtro(null, "machado", null);
+        filtro.setDataPublicacao("1899");
+        assertEquals(Collections.singletonList(1L), indice.pesquisar(filtro, 10));
+    }
+
+    @Test
+    void suportaApenasCriteriosTextuais() {
+        Livro filtro = new Livro();
+        filtro.setIsbn("123");
+        assertFalse(indice.suporta(filtro));
+        assertTrue(indice.suporta(filtro("casmurro", null, null)));
+    }
+
+    @Test
+    void reconstrucaoReaplicaAlteracoesConcorrentes() {
+        IndiceLivros novo = new IndiceLivros();
+        novo.reconstruir(() -> {
+            // Commits confirmados enquanto o snapshot é carregado do banco
+            novo.indexar(livro(1L, "Quincas Borba", "Machado de Assis", "Garnier"));
+            novo.remover(2L);
+            return Arrays.asList(
+                    livro(1L, "Dom Casmurro", "Machado de Assis", "Garnier"),
+                    livro(2L, "Memórias Póstumas de Brás Cubas", "Machado de Assis", "Tipografia Nacional"));
+        });
+
+        assertTrue(novo.pesquisar(filtro("casmurro", null, null), 10).isEmpty());
+        assertEquals(Collections.singletonList(1L), novo.pesquisar(filtro("quincas", null, null), 10));
+        assertTrue(novo.pesquisar(filtro("memorias", null, null), 10).isEmpty());
+    }
+
+    @Test
+    void tokenizarRemoveAcentosEPontuacao() {
+        assertEquals(Arrays.asList("memorias", "postumas", "de", "bras", "cubas"),
+                IndiceLivros.tokenizar("Memórias Póstumas de Brás-Cubas!"));
+        assertTrue(IndiceLivros.tokenizar("  ").isEmpty());
+    }
+
+    private static Livro livro(Long id, String titulo, String autor, String editora) {
+        Livro livro = new Livro(titulo, String.format("978000000%04d", id));
+        livro.setId(id);
+        livro.setDataPublicacao(id == 1L ? "1899" : "1900");
+        livro.adicionarAutor(new Autor(autor));
+        livro.setEditora(new Editora(editora));
+        return livro;
+    }
+
+    private static Livro filtro(String titulo, String autor, String editora) {
+        Livro filtro = new Livro();
+        filtro.setTitulo(titulo);
+        if (autor != null) {
+            filtro.adicionarAutor(new Autor(autor));
+        }
+        if (editora != null) {
+            filtro.setEditora(new Editora(editora));
+        }
+        return filtro;
+    }
+
+    private static List<Long> ordenar(List<Long> ids) {
+        List<Long> ordenados = new ArrayList<>(ids);
+        Collections.sort(ordenados);
+        return ordenados;
+    }
+}
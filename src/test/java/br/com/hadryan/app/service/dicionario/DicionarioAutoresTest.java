@@ -0,0 +1,33 @@
+package br.com.hadryan.app.service.dicionario;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da extração do número da key do autor, usado como chave do dicionário.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+class DicionarioAutoresTest {
+
+    @Test
+    void extraiNumeroDaKey() {
+        assertEquals(23919, DicionarioAutores.extrairNumero("/authors/OL23919A"));
+    }
+
+    @Test
+    void extraiNumeroDaKeyDentroDeUrl() {
+        assertEquals(23919, DicionarioAutores.extrairNumero("https://openlibrary.org/authors/OL23919A/J._K._Rowling"));
+    }
+
+    @Test
+    void rejeitaKeysForaDoFormato() {
+        assertEquals(-1, DicionarioAutores.extrairNumero(null));
+        assertEquals(-1, DicionarioAutores.extrairNumero(""));
+        assertEquals(-1, DicionarioAutores.extrairNumero("OL23919A"));
+        assertEquals(-1, DicionarioAutores.extrairNumero("/works/OL23919W"));
+        assertEquals(-1, DicionarioAutores.extrairNumero("/authors/OL99999999999999999999A"));
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.hadryan.app.service.dicionario;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da conversão das chaves do índice de works: ISBN-10 e ISBN-13 do mesmo livro
+ * resultam no mesmo número, e keys de work são reduzidas ao seu número.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+class IndiceWorksTest {
+
+    @Test
+    void converteIsbn13IgnorandoSeparadores() {
+        assertEquals(9780140328721L, IndiceWorks.converterIsbn("9780140328721"));
+        assertEquals(9780140328721L, IndiceWorks.converterIsbn("978-0-14-032872-1"));
+        assertEquals(9780140328721L, IndiceWorks.converterIsbn(" 978 0140328721 "));
+    }
+
+    @Test
+    void converteIsbn10ParaOIsbn13Equivalente() {
+        assertEquals(9780140328721L, IndiceWorks.converterIsbn("0140328726"));
+        assertEquals(9780140328721L, IndiceWorks.converterIsbn("0-14-032872-6"));
+    }
+
+    @Test
+    void aceitaDigitoVerificadorXMinusculo() {
+        assertEquals(9780804429573L, IndiceWorks.converterIsbn("080442957X"));
+        assertEquals(9780804429573L, IndiceWorks.converterIsbn("080442957x"));
+    }
+
+    @Test
+    void rejeitaValoresQueNaoSaoIsbn() {
+        assertEquals(-1, IndiceWorks.converterIsbn(null));
+        assertEquals(-1, IndiceWorks.converterIsbn(""));
+        assertEquals(-1, IndiceWorks.converterIsbn("12345"));
+        assertEquals(-1, IndiceWorks.converterIsbn("97801403287210"));
+        assertEquals(-1, IndiceWorks.converterIsbn("X140328726"));
+        assertEquals(-1, IndiceWorks.converterIsbn("978014032872X"));
+    }
+
+    @Test
+    void extraiNumeroDaKeyDoWork() {
+        assertEquals(45804, IndiceWorks.extrairNumero("/works/OL45804W"));
+        assertEquals(45804, IndiceWorks.extrairNumero("https://openlibrary.org/works/OL45804W/Fantastic_Mr_Fox"));
+        assertEquals(-1, IndiceWorks.extrairNumero("/authors/OL45804A"));
+        assertEquals(-1, IndiceWorks.extrairNumero("/works/OL99999999999999999999W"));
+        assertEquals(-1, IndiceWorks.extrairNumero(null));
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.hadryan.app.service.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do circuit breaker: abertura após falhas consecutivas, chamada de teste única
+ * no estado meio aberto e liberação do teste abandonado sem resultado.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+class CircuitBreakerTest {
+
+    @Test
+    void abreAposFalhasConsecutivasERecusaChamadas() {
+        CircuitBreaker circuito = new CircuitBreaker("teste", 2, 60_000);
+        assertTrue(circuito.permitir());
+        circuito.registrarFalha();
+        assertEquals(CircuitBreaker.Estado.FECHADO, circuito.getEstado());
+
+        circuito.registrarFalha();
+        assertEquals(CircuitBreaker.Estado.ABERTO, circuito.getEstado());
+        assertFalse(circuito.permitir());
+    }
+
+    @Test
+    void meioAbertoLiberaUmaUnicaChamadaDeTeste() {
+        CircuitBreaker circuito = abrir();
+
+        assertTrue(circuito.permitir());
+        assertEquals(CircuitBreaker.Estado.MEIO_ABERTO, circuito.getEstado());
+        assertFalse(circuito.permitir());
+
+        circuito.registrarSucesso();
+        assertEquals(CircuitBreaker.Estado.FECHADO, circuito.getEstado());
+        assertTrue(circuito.permitir());
+    }
+
+    @Test
+    void falhaNoTesteReabreOCircuito() {
+        CircuitBreaker circuito = new CircuitBreaker("teste", 1, 60_000);
+        circuito.registrarFalha();
+        assertFalse(circuito.permitir());
+
+        CircuitBreaker imediato = abrir();
+        assertTrue(imediato.permitir());
+        imediato.registrarFalha();
+        assertEquals(CircuitBreaker.Estado.ABERTO, imediato.getEstado());
+    }
+
+    @Test
+    void testeInterrompidoLiberaAProximaChamada() {
+        CircuitBreaker circuito = abrir();
+        assertTrue(circuito.permitir());
+        assertFalse(circuito.permitir());
+
+        // A chamada de teste foi interrompida antes de registrar sucesso ou falha
+        circuito.liberarTeste();
+
+        assertEquals(CircuitBreaker.Estado.MEIO_ABERTO, circuito.getEstado());
+        assertTrue(circuito.permitir());
+    }
+
+    @Test
+    void liberarTesteDeOutraThreadNaoAfetaOTesteEmAndamento() throws InterruptedException {
+        CircuitBreaker circuito = abrir();
+        assertTrue(circuito.permitir());
+
+        Thread outra = new Thread(circuito::liberarTeste);
+        outra.start();
+        outra.join();
+
+        assertFalse(circuito.permitir());
+    }
+
+    @Test
+    void liberarTesteAposResultadoNaoTemEfeito() throws InterruptedException {
+        CircuitBreaker circuito = abrir();
+        assertTrue(circuito.permitir());
+        circuito.registrarFalha();
+        circuito.liberarTeste();
+        assertEquals(CircuitBreaker.Estado.ABERTO, circuito.getEstado());
+
+        CircuitBreaker fechado = new CircuitBreaker("teste", 3, 0);
+        AtomicBoolean permitido = new AtomicBoolean();
+        Thread outra = new Thread(() -> permitido.set(fechado.permitir()));
+        outra.start();
+        outra.join();
+        fechado.liberarTeste();
+        assertTrue(permitido.get());
+        assertEquals(CircuitBreaker.Estado.FECHADO, fechado.getEstado());
+    }
+
+    /**
+     * Cria um circuito aberto cujo tempo de espera já terminou
+     */
+    private static CircuitBreaker abrir() {
+        CircuitBreaker circuito = new CircuitBreaker("teste", 1, 0);
+        circuito.registrarFalha();
+        return circuito;
+    }
+}
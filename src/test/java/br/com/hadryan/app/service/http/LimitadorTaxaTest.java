@@ -0,0 +1,82 @@
+package br.com.hadryan.app.service.http;
+
+import br.com.hadryan.app.service.execucao.AgendadorIO.Via;
+import org.junit.jupiter.api.Test;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do limitador de taxa: rajada inicial, reserva da via interativa,
+ * espera pelo reabastecimento e interrupção da espera.
+ *
+ * @author Hadryan Silva
+ * @since 19-10-2026
+ */
+class LimitadorTaxaTest {
+
+    @Test
+    void viaInterativaConsomeARajadaInteira() {
+        LimitadorTaxa limitador = new LimitadorTaxa(0.001, 4);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limitador.tentarAdquirir(Via.INTERATIVA));
+        }
+        assertFalse(limitador.tentarAdquirir(Via.INTERATIVA));
+    }
+
+    @Test
+    void segundoPlanoNaoConsomeAReservaInterativa() {
+        LimitadorTaxa limitador = new LimitadorTaxa(0.001, 4);
+
+        // Metade da rajada fica reservada para a via interativa
+        assertTrue(limitador.tentarAdquirir(Via.SEGUNDO_PLANO));
+        assertTrue(limitador.tentarAdquirir(Via.SEGUNDO_PLANO));
+        assertFalse(limitador.tentarAdquirir(Via.SEGUNDO_PLANO));
+
+        assertTrue(limitador.tentarAdquirir(Via.INTERATIVA));
+        assertTrue(limitador.tentarAdquirir(Via.INTERATIVA));
+        assertFalse(limitador.tentarAdquirir(Via.INTERATIVA));
+    }
+
+    @Test
+    void aguardaOReabastecimentoQuandoOBaldeEstaVazio() throws InterruptedIOException {
+        LimitadorTaxa limitador = new LimitadorTaxa(20, 1);
+        limitador.adquirir(Via.INTERATIVA);
+
+        long inicio = System.nanoTime();
+        limitador.adquirir(Via.INTERATIVA);
+        long esperaMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        assertTrue(esperaMs >= 30, "espera de " + esperaMs + " ms");
+    }
+
+    @Test
+    void segundoPlanoAguardaAteSobrarAlemDaReserva() throws InterruptedIOException {
+        LimitadorTaxa limitador = new LimitadorTaxa(50, 2);
+        limitador.adquirir(Via.INTERATIVA);
+
+        // Com rajada 2 a reserva é de uma ficha: o segundo plano espera o balde voltar a 2
+        long inicio = System.nanoTime();
+        limitador.adquirir(Via.SEGUNDO_PLANO);
+        long esperaMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        assertTrue(esperaMs >= 10, "espera de " + esperaMs + " ms");
+    }
+
+    @Test
+    void interrupcaoEncerraAEspera() {
+        LimitadorTaxa limitador = new LimitadorTaxa(0.001, 1);
+        assertTrue(limitador.tentarAdquirir(Via.INTERATIVA));
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(InterruptedIOException.class, () -> limitador.adquirir(Via.INTERATIVA));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}